@@ -1,19 +1,24 @@
 package com.misacordes.application.config;
 
+import com.misacordes.application.config.security.BoundedPasswordEncoder;
 import com.misacordes.application.repositories.UserRepository;
 import com.misacordes.application.entities.User;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.concurrent.Executor;
+
 @RequiredArgsConstructor
 @Configuration
 public class ApplicationConfig {
@@ -25,15 +30,30 @@ public class ApplicationConfig {
         return config.getAuthenticationManager();
     }
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
         authenticationProvider.setUserDetailsService(userDetailsService());
-        authenticationProvider.setPasswordEncoder(passwordEncoder());
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+        // Tras un login correcto rehace el hash si su coste no es el configurado
+        authenticationProvider.setUserDetailsPasswordService(userDetailsPasswordService());
         return authenticationProvider;
     }
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Qualifier("passwordHashExecutor") Executor passwordHashExecutor,
+            @Value("${security.password.bcrypt-strength:10}") int bcryptStrength) {
+        return new BoundedPasswordEncoder(bcryptStrength, passwordHashExecutor);
+    }
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (userDetails, newPassword) -> {
+            userRepository.updatePassword(userDetails.getUsername(), newPassword);
+            if (userDetails instanceof User user) {
+                user.setPassword(newPassword);
+                return user;
+            }
+            return userDetails;
+        };
     }
     @Bean
     public UserDetailsService userDetailsService() {
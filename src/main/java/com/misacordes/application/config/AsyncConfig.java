@@ -1,14 +1,19 @@
 package com.misacordes.application.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
+@EnableScheduling
 public class AsyncConfig {
 
     @Bean(name = "songAnalyticsExecutor")
@@ -21,4 +26,61 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    @Bean(name = "playlistTransposeExecutor")
+    public Executor playlistTransposeExecutor(
+            @Value("${playlist.transpose-threads:0}") int threads,
+            @Value("${playlist.transpose-queue:32}") int queueCapacity) {
+        // core = max: el pool solo crece por encima del core con la cola llena, así que un max mayor no se usaría
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("PlaylistTranspose-");
+        // Con la cola llena (corta) la canción se transpone en el hilo de la petición en lugar de fallar
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "passwordHashExecutor")
+    public Executor passwordHashExecutor(
+            @Value("${security.password.hash-threads:0}") int threads,
+            @Value("${security.password.hash-queue:32}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("PasswordHash-");
+        // Con la cola llena se rechaza (TaskRejectedException) y el encoder responde 503
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "tunerDspExecutor")
+    public Executor tunerDspExecutor(
+            @Value("${tuner.dsp-threads:0}") int threads,
+            @Value("${tuner.dsp-queue:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("TunerDsp-");
+        // Con la cola llena se rechaza y la sesión pierde sus tramas pendientes
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "tunerSendExecutor")
+    public Executor tunerSendExecutor() {
+        // Un hilo virtual por envío: un cliente lento bloquea su hilo virtual, no el pool de DSP
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("TunerSend-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
 }
@@ -0,0 +1,142 @@
+package com.misacordes.application.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.misacordes.application.dto.response.PlaylistSummaryResponse;
+import com.misacordes.application.entities.User;
+import com.misacordes.application.services.JdbcRateLimitBackend;
+import com.misacordes.application.services.RateLimitService;
+import com.misacordes.application.services.SongLyricsService;
+import io.github.bucket4j.Bucket;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cachés en memoria de la aplicación. Todas registran estadísticas y se
+ * publican automáticamente en GET /api/admin/caches.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public Cache<SongLyricsService.SongVersionKey, SongLyricsService.CachedLyrics> songLyricsCache(
+            @Value("${cache.song-lyrics.max-weight-bytes:67108864}") long maxWeightBytes) {
+        // Letras ya decodificadas; el peso es una estimación de su tamaño en memoria
+        return Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((SongLyricsService.SongVersionKey key, SongLyricsService.CachedLyrics value) -> value.weight())
+                .recordStats()
+                .build();
+    }
+
+    @Bean
+    public Cache<SongLyricsService.TransposedKey, SongLyricsService.TransposedLyrics> songTranspositionCache(
+            @Value("${cache.song-transpositions.max-entries:5000}") long maxEntries) {
+        // Letras transpuestas de las canciones más pedidas; valores blandos para que el GC pueda liberarlas
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .softValues()
+                .recordStats()
+                .build();
+    }
+
+    @Bean
+    public Cache<String, Claims> verifiedTokenCache(
+            @Value("${cache.verified-tokens.max-entries:10000}") long maxEntries) {
+        // Tokens JWT ya verificados; cada entrada vive hasta el exp de su token
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, claims, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    @Bean
+    public Cache<Long, User> userCache(
+            @Value("${cache.users.max-entries:10000}") long maxEntries,
+            @Value("${cache.users.ttl-seconds:60}") long ttlSeconds) {
+        // Usuarios por id; el TTL acota cuánto tarda otra instancia en ver un cambio de credenciales
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    @Bean
+    public Cache<String, List<PlaylistSummaryResponse>> publicPlaylistsCache(
+            @Value("${cache.public-playlists.ttl-seconds:60}") long ttlSeconds) {
+        // Playlists públicas más recientes (primera página); se invalida al cambiar una playlist pública y el TTL
+        // cubre lo que no pasa por PlaylistService, como el cambio de nombre de un usuario
+        return Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    @Bean
+    public Cache<RateLimitService.BucketKey, Bucket> rateLimitBuckets(
+            @Value("${rate-limit.max-buckets:100000}") long maxBuckets) {
+        // Un bucket sin uso durante su periodo de recarga ya estaría lleno: caduca tras ese tiempo de inactividad
+        return Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfter(CacheConfig.<Bucket>idleForScopePeriod())
+                .recordStats()
+                .build();
+    }
+
+    @Bean
+    public Cache<RateLimitService.BucketKey, JdbcRateLimitBackend.Lease> rateLimitLeases(
+            @Value("${rate-limit.max-buckets:100000}") long maxBuckets) {
+        // Lotes locales de tokens del backend jdbc; solo se llena con rate-limit.backend=jdbc
+        return Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfter(CacheConfig.<JdbcRateLimitBackend.Lease>idleForScopePeriod())
+                .recordStats()
+                .build();
+    }
+
+    private static <V> Expiry<RateLimitService.BucketKey, V> idleForScopePeriod() {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(RateLimitService.BucketKey key, V value, long currentTime) {
+                return key.scope().period().toNanos();
+            }
+
+            @Override
+            public long expireAfterUpdate(RateLimitService.BucketKey key, V value, long currentTime,
+                                          long currentDuration) {
+                return key.scope().period().toNanos();
+            }
+
+            @Override
+            public long expireAfterRead(RateLimitService.BucketKey key, V value, long currentTime,
+                                        long currentDuration) {
+                return key.scope().period().toNanos();
+            }
+        };
+    }
+}
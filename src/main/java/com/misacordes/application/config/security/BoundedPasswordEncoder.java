@@ -0,0 +1,86 @@
+package com.misacordes.application.config.security;
+
+import com.misacordes.application.config.GlobalExceptionHandler.ServiceBusyException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * BCrypt ejecutado en un pool propio y acotado (passwordHashExecutor) en lugar de en el hilo de la petición.
+ *
+ * El pool tiene tantos hilos como núcleos y una cola corta: en un pico de logins el trabajo de CPU no pasa de
+ * lo que la máquina puede hacer, y cuando la cola se llena la petición falla enseguida con 503 en vez de
+ * esperar detrás de cientos de hashes. upgradeEncoding pide rehacer el hash cuando su coste no coincide con
+ * el configurado, así que cambiar security.password.bcrypt-strength migra las contraseñas en el siguiente login.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final BCryptPasswordEncoder delegate;
+    private final Executor executor;
+    private final int strength;
+
+    public BoundedPasswordEncoder(int strength, Executor executor) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.executor = executor;
+        this.strength = strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int cost = cost(encodedPassword);
+        return cost > 0 && cost != strength;
+    }
+
+    /**
+     * Coste de un hash con formato $2a$NN$..., o -1 si no lo tiene.
+     */
+    static int cost(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7
+                || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(3) != '$'
+                || encodedPassword.charAt(6) != '$') {
+            return -1;
+        }
+        char tens = encodedPassword.charAt(4);
+        char units = encodedPassword.charAt(5);
+        if (tens < '0' || tens > '9' || units < '0' || units > '9') {
+            return -1;
+        }
+        return (tens - '0') * 10 + (units - '0');
+    }
+
+    private <T> T run(Supplier<T> task) {
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceBusyException("Servidor ocupado verificando credenciales. Intenta de nuevo en unos segundos.");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrumpido mientras se calculaba el hash de la contraseña", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
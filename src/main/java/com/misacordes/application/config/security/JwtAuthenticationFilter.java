@@ -1,7 +1,11 @@
 package com.misacordes.application.config.security;
 
 // import ch.qos.logback.core.util.StringUtil; // No utilizado
+import com.misacordes.application.entities.User;
 import com.misacordes.application.services.auth.JwtService;
+import com.misacordes.application.services.auth.UserCacheService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,6 +23,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 import org.springframework.http.HttpHeaders;
 @RequiredArgsConstructor
 @Component
@@ -26,6 +31,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final UserCacheService userCacheService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -38,31 +44,54 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         final String token = getTokenFromRequest(request);
-        final String username;
 
-        if (token == null) {
+        if (token == null || SecurityContextHolder.getContext().getAuthentication() != null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        username = jwtService.getUsernameFromToken(token);
+        // Una sola verificación por petición (y ninguna si el token ya está en la caché de verificados)
+        final Claims claims;
+        try {
+            claims = jwtService.verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            // Token inválido o caducado: la petición sigue sin autenticar
+            filterChain.doFilter(request, response);
+            return;
+        }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication()==null) {
-            UserDetails userDetails= userDetailsService.loadUserByUsername(username);
+        User principal = jwtService.principalFromClaims(claims);
+        if (principal != null) {
+            // El principal sale de los claims, pero nombre, rol y versión de credenciales se comprueban contra la caché
+            // de usuarios: un cambio de rol en base de datos invalida el token en cuanto caduca la entrada cacheada
+            Optional<User> stored = userCacheService.findById(principal.getId());
+            if (stored.isPresent()
+                    && stored.get().getUsername().equals(principal.getUsername())
+                    && stored.get().getRole() == principal.getRole()
+                    && stored.get().currentCredentialVersion() == principal.currentCredentialVersion()) {
+                authenticate(principal, request);
+            }
+        } else if (claims.getSubject() != null) {
+            // Tokens emitidos antes de incluir id y versión de credenciales
+            UserDetails userDetails= userDetailsService.loadUserByUsername(claims.getSubject());
 
-            if (jwtService.isTokenValid(token, userDetails)){
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+            if (jwtService.isTokenValid(claims, userDetails)){
+                authenticate(userDetails, request);
             }
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private void authenticate(UserDetails userDetails, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities());
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
+
     private String getTokenFromRequest(HttpServletRequest request) {
         final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
         if (StringUtils.hasText(authHeader) && authHeader.startsWith("Bearer ")){
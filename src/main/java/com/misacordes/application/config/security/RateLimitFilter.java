@@ -0,0 +1,59 @@
+package com.misacordes.application.config.security;
+
+import com.misacordes.application.services.RateLimitService;
+import com.misacordes.application.utils.ClientIp;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Aplica el límite de peticiones por IP a /api/**. Va en la cadena de seguridad después de CORS
+ * (para que el 429 llegue al navegador) y antes de verificar el JWT.
+ * /api/auth/** tiene sus propios límites en AuthController y /api/uploads/** sirve imágenes estáticas.
+ */
+@RequiredArgsConstructor
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String TOO_MANY_REQUESTS_BODY =
+            "{\"error\":\"Too Many Requests\",\"message\":\"Demasiadas peticiones. Por favor espera un momento.\"}";
+
+    private final RateLimitService rateLimitService;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith("/api/")
+                || path.startsWith("/api/auth/")
+                || path.startsWith("/api/uploads/")
+                || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!rateLimitService.isApiRequestAllowed(ClientIp.resolve(request))) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(RateLimitService.Scope.API.period().toSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write(TOO_MANY_REQUESTS_BODY);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -1,10 +1,17 @@
 package com.misacordes.application.controller;
 
 
+import com.misacordes.application.dto.request.BulkApproveSongsRequest;
 import com.misacordes.application.dto.request.RejectSongRequest;
 import com.misacordes.application.dto.response.AdminStatsResponse;
+import com.misacordes.application.dto.response.BulkApproveSongsResponse;
+import com.misacordes.application.dto.response.CacheStatsResponse;
 import com.misacordes.application.dto.response.PageResponse;
+import com.misacordes.application.dto.response.RateLimitStatsResponse;
+import com.misacordes.application.dto.response.SongSummaryResponse;
 import com.misacordes.application.dto.response.SongWithChordsResponse;
+import com.misacordes.application.services.CacheMetricsService;
+import com.misacordes.application.services.RateLimitService;
 import com.misacordes.application.services.SongService;
 import com.misacordes.application.services.SongAnalyticsAsyncService;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +22,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/admin")
 @RequiredArgsConstructor
@@ -23,6 +32,8 @@ public class AdminController {
 
     private final SongService songService;
     private final SongAnalyticsAsyncService songAnalyticsAsyncService;
+    private final CacheMetricsService cacheMetricsService;
+    private final RateLimitService rateLimitService;
 
 
     @PutMapping("/songs/{id}/approve")
@@ -35,6 +46,11 @@ public class AdminController {
         }
     }
 
+    @PutMapping("/songs/approve")
+    public ResponseEntity<BulkApproveSongsResponse> approveSongs(@RequestBody BulkApproveSongsRequest request) {
+        return ResponseEntity.ok(songService.approveSongs(request.getSongIds()));
+    }
+
     @PutMapping("/songs/{id}/reject")
     public ResponseEntity<SongWithChordsResponse> rejectSong(
             @PathVariable Long id,
@@ -69,6 +85,16 @@ public class AdminController {
         return ResponseEntity.ok(stats);
     }
 
+    @GetMapping("/caches")
+    public ResponseEntity<List<CacheStatsResponse>> getCacheStats() {
+        return ResponseEntity.ok(cacheMetricsService.getCacheStats());
+    }
+
+    @GetMapping("/rate-limits")
+    public ResponseEntity<RateLimitStatsResponse> getRateLimitStats() {
+        return ResponseEntity.ok(rateLimitService.getStats());
+    }
+
     @PostMapping("/analytics/process-all")
     public ResponseEntity<String> processAllSongsAnalytics() {
         try {
@@ -80,13 +106,13 @@ public class AdminController {
     }
 
     @GetMapping("/songs/pending")
-    public ResponseEntity<PageResponse<SongWithChordsResponse>> getPendingSongsPaginated(
+    public ResponseEntity<PageResponse<SongSummaryResponse>> getPendingSongsPaginated(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt,desc") String[] sort) {
         try {
             Pageable pageable = createPageable(page, size, sort);
-            PageResponse<SongWithChordsResponse> response = songService.getPendingSongsPaginated(pageable);
+            PageResponse<SongSummaryResponse> response = songService.getPendingSongsPaginated(pageable);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             throw new RuntimeException("Failed to obtain pending songs: " + e.getMessage());
@@ -94,13 +120,13 @@ public class AdminController {
     }
 
     @GetMapping("/songs")
-    public ResponseEntity<PageResponse<SongWithChordsResponse>> getAllSongsPaginated(
+    public ResponseEntity<PageResponse<SongSummaryResponse>> getAllSongsPaginated(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt,desc") String[] sort) {
         try {
             Pageable pageable = createPageable(page, size, sort);
-            PageResponse<SongWithChordsResponse> response = songService.getAllSongsAdminPaginated(pageable);
+            PageResponse<SongSummaryResponse> response = songService.getAllSongsAdminPaginated(pageable);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             throw new RuntimeException("Failed to obtain songs: " + e.getMessage());
@@ -1,17 +1,28 @@
 package com.misacordes.application.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.misacordes.application.dto.request.AddSongToPlaylistRequest;
 import com.misacordes.application.dto.request.CreatePlaylistRequest;
+import com.misacordes.application.dto.request.PlaylistSongsPatchRequest;
+import com.misacordes.application.dto.request.TransposePlaylistRequest;
 import com.misacordes.application.dto.request.UpdatePlaylistRequest;
+import com.misacordes.application.dto.response.CursorPageResponse;
+import com.misacordes.application.dto.response.PlaylistSongChangeResponse;
+import com.misacordes.application.dto.response.PlaylistSongsPatchResponse;
 import com.misacordes.application.dto.response.PlaylistResponse;
 import com.misacordes.application.dto.response.PlaylistSummaryResponse;
+import com.misacordes.application.dto.response.SongWithChordsResponse;
 import com.misacordes.application.services.PlaylistService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/playlists")
@@ -19,6 +30,7 @@ import java.util.List;
 public class PlaylistController {
 
     private final PlaylistService playlistService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<PlaylistResponse> createPlaylist(@RequestBody CreatePlaylistRequest request) {
@@ -41,9 +53,13 @@ public class PlaylistController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<PlaylistResponse> getPlaylistById(@PathVariable Long id) {
+    public ResponseEntity<PlaylistResponse> getPlaylistById(
+            @PathVariable Long id,
+            @RequestParam(required = false) List<String> include) {
         try {
-            PlaylistResponse playlist = playlistService.getPlaylistById(id);
+            // Sin ?include=lyrics las canciones se devuelven sin letra
+            boolean includeLyrics = include != null && include.stream().anyMatch("lyrics"::equalsIgnoreCase);
+            PlaylistResponse playlist = playlistService.getPlaylistById(id, includeLyrics);
             return ResponseEntity.ok(playlist);
         } catch (Exception e) {
             throw new RuntimeException("Error al obtener playlist: " + e.getMessage());
@@ -73,11 +89,11 @@ public class PlaylistController {
     }
 
     @PostMapping("/{id}/songs")
-    public ResponseEntity<PlaylistResponse> addSongToPlaylist(
+    public ResponseEntity<PlaylistSongChangeResponse> addSongToPlaylist(
             @PathVariable Long id,
             @RequestBody AddSongToPlaylistRequest request) {
         try {
-            PlaylistResponse response = playlistService.addSongToPlaylist(id, request);
+            PlaylistSongChangeResponse response = playlistService.addSongToPlaylist(id, request);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             throw new RuntimeException("Error al añadir canción a playlist: " + e.getMessage());
@@ -85,34 +101,73 @@ public class PlaylistController {
     }
 
     @DeleteMapping("/{id}/songs/{songId}")
-    public ResponseEntity<PlaylistResponse> removeSongFromPlaylist(
+    public ResponseEntity<PlaylistSongChangeResponse> removeSongFromPlaylist(
             @PathVariable Long id,
             @PathVariable Long songId) {
         try {
-            PlaylistResponse response = playlistService.removeSongFromPlaylist(id, songId);
+            PlaylistSongChangeResponse response = playlistService.removeSongFromPlaylist(id, songId);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             throw new RuntimeException("Error al eliminar canción de playlist: " + e.getMessage());
         }
     }
 
-    @GetMapping("/public")
-    public ResponseEntity<List<PlaylistSummaryResponse>> getPublicPlaylists() {
+    @PatchMapping("/{id}/songs")
+    public ResponseEntity<PlaylistSongsPatchResponse> patchPlaylistSongs(
+            @PathVariable Long id,
+            @RequestBody PlaylistSongsPatchRequest request) {
+        return ResponseEntity.ok(playlistService.patchSongs(id, request));
+    }
+
+    @GetMapping("/{id}/transpose")
+    public ResponseEntity<StreamingResponseBody> transposePlaylist(
+            @PathVariable Long id,
+            @RequestParam int semitones) {
         try {
-            List<PlaylistSummaryResponse> playlists = playlistService.getPublicPlaylists();
-            return ResponseEntity.ok(playlists);
+            return streamSongs(playlistService.transposePlaylist(id, semitones, Map.of()));
         } catch (Exception e) {
-            throw new RuntimeException("Error al obtener playlists públicas: " + e.getMessage());
+            throw new RuntimeException("Error al transponer playlist: " + e.getMessage());
         }
     }
 
-    @GetMapping("/search")
-    public ResponseEntity<List<PlaylistSummaryResponse>> searchPublicPlaylists(@RequestParam String q) {
+    @PostMapping("/{id}/transpose")
+    public ResponseEntity<StreamingResponseBody> transposePlaylistPerSong(
+            @PathVariable Long id,
+            @RequestBody TransposePlaylistRequest request) {
         try {
-            List<PlaylistSummaryResponse> playlists = playlistService.searchPublicPlaylists(q);
-            return ResponseEntity.ok(playlists);
+            int semitones = request.getSemitones() != null ? request.getSemitones() : 0;
+            return streamSongs(playlistService.transposePlaylist(id, semitones, request.getSongSemitones()));
         } catch (Exception e) {
-            throw new RuntimeException("Error al buscar playlists: " + e.getMessage());
+            throw new RuntimeException("Error al transponer playlist: " + e.getMessage());
         }
     }
+
+    /**
+     * Escribe una canción por línea (NDJSON) en el orden de la playlist, a medida que cada una está lista.
+     */
+    private ResponseEntity<StreamingResponseBody> streamSongs(List<CompletableFuture<SongWithChordsResponse>> songs) {
+        StreamingResponseBody body = out -> {
+            for (CompletableFuture<SongWithChordsResponse> song : songs) {
+                out.write(objectMapper.writeValueAsBytes(song.join()));
+                out.write('\n');
+                out.flush();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/public")
+    public ResponseEntity<CursorPageResponse<PlaylistSummaryResponse>> getPublicPlaylists(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(playlistService.getPublicPlaylists(cursor, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageResponse<PlaylistSummaryResponse>> searchPublicPlaylists(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(playlistService.searchPublicPlaylists(q, cursor, size));
+    }
 }
@@ -5,6 +5,7 @@ import com.misacordes.application.services.RateLimitService;
 import com.misacordes.application.dto.request.LoginRequest;
 import com.misacordes.application.dto.request.RegisterRequest;
 import com.misacordes.application.dto.response.AuthResponse;
+import com.misacordes.application.utils.ClientIp;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -26,7 +27,7 @@ public class AuthController {
     @PostMapping(value = "login")
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request, 
                                     HttpServletRequest httpRequest) {
-        String ipAddress = getClientIP(httpRequest);
+        String ipAddress = ClientIp.resolve(httpRequest);
         
         // Verificar rate limiting
         if (!rateLimitService.isLoginAllowed(ipAddress)) {
@@ -44,7 +45,7 @@ public class AuthController {
     @PostMapping(value = "register")
     public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request,
                                        HttpServletRequest httpRequest) {
-        String ipAddress = getClientIP(httpRequest);
+        String ipAddress = ClientIp.resolve(httpRequest);
         
         // Verificar rate limiting
         if (!rateLimitService.isRegistrationAllowed(ipAddress)) {
@@ -57,16 +58,5 @@ public class AuthController {
         AuthResponse response = authService.register(request);
         return ResponseEntity.ok(response);
     }
-    
-    /**
-     * Obtiene la IP real del cliente, considerando proxies y load balancers
-     */
-    private String getClientIP(HttpServletRequest request) {
-        String xfHeader = request.getHeader("X-Forwarded-For");
-        if (xfHeader == null) {
-            return request.getRemoteAddr();
-        }
-        return xfHeader.split(",")[0];
-    }
 
 }
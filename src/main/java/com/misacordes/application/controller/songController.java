@@ -3,6 +3,8 @@ package com.misacordes.application.controller;
 import com.misacordes.application.dto.request.SongWithChordsRequest;
 import com.misacordes.application.dto.response.ChordInfo;
 import com.misacordes.application.dto.response.PageResponse;
+import com.misacordes.application.dto.response.PlayableSongResponse;
+import com.misacordes.application.dto.response.SongSummaryResponse;
 import com.misacordes.application.dto.response.SongWithChordsResponse;
 import com.misacordes.application.dto.response.SongAnalyticsResponse;
 import com.misacordes.application.services.SongImportService;
@@ -94,33 +96,44 @@ public class SongController {
     }
 
     @GetMapping("/my")
-    public ResponseEntity<PageResponse<SongWithChordsResponse>> getMySongsPaginated(
+    public ResponseEntity<PageResponse<SongSummaryResponse>> getMySongsPaginated(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt,desc") String[] sort) {
         Pageable pageable = createPageable(page, size, sort);
-        PageResponse<SongWithChordsResponse> response = songService.getMySongsWithChordsPaginated(pageable);
+        PageResponse<SongSummaryResponse> response = songService.getMySongsPaginated(pageable);
         return ResponseEntity.ok(response);
     }
 
         @GetMapping("/public")
-        public ResponseEntity<PageResponse<SongWithChordsResponse>> getPublicSongsPaginated(
+        public ResponseEntity<PageResponse<SongSummaryResponse>> getPublicSongsPaginated(
                 @RequestParam(defaultValue = "0") int page,
                 @RequestParam(defaultValue = "20") int size,
                 @RequestParam(defaultValue = "publishedAt,desc") String[] sort) {
             Pageable pageable = createPageable(page, size, sort);
-            PageResponse<SongWithChordsResponse> response = songService.getPublicSongsWithChordsPaginated(pageable);
+            PageResponse<SongSummaryResponse> response = songService.getPublicSongsPaginated(pageable);
             return ResponseEntity.ok(response);
         }
 
         @GetMapping("/search")
-        public ResponseEntity<PageResponse<SongWithChordsResponse>> searchSongsPaginated(
+        public ResponseEntity<PageResponse<SongSummaryResponse>> searchSongsPaginated(
                 @RequestParam String q,
                 @RequestParam(defaultValue = "0") int page,
                 @RequestParam(defaultValue = "20") int size,
                 @RequestParam(defaultValue = "title,asc") String[] sort) {
             Pageable pageable = createPageable(page, size, sort);
-            PageResponse<SongWithChordsResponse> response = songService.searchPublicSongsWithChordsPaginated(q, pageable);
+            PageResponse<SongSummaryResponse> response = songService.searchPublicSongsPaginated(q, pageable);
+            return ResponseEntity.ok(response);
+        }
+
+        @GetMapping("/playable")
+        public ResponseEntity<PageResponse<PlayableSongResponse>> getPlayableSongs(
+                @RequestParam List<String> chords,
+                @RequestParam(defaultValue = "0") int maxMissing,
+                @RequestParam(defaultValue = "0") int page,
+                @RequestParam(defaultValue = "20") int size) {
+            Pageable pageable = createPageable(page, size, new String[]{"id,asc"});
+            PageResponse<PlayableSongResponse> response = songService.getPlayableSongs(chords, maxMissing, pageable);
             return ResponseEntity.ok(response);
         }
 
@@ -0,0 +1,165 @@
+package com.misacordes.application.controller.ws;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Conexión del afinador: encola las tramas recibidas y las analiza fuera del hilo del contenedor.
+ *
+ * Las tramas de una sesión se procesan de una en una en el pool de DSP (como mucho una tarea por sesión en
+ * cola o en ejecución). Se descartan tramas en lugar de acumular retraso: si la sesión ya tiene
+ * MAX_PENDING_FRAMES pendientes, si el pool rechaza la tarea, o, en modo por trama, las que han quedado
+ * atrás de otra más reciente. Las respuestas se envían desde hilos virtuales a través de la sesión decorada
+ * con ConcurrentWebSocketSessionDecorator, de modo que un cliente lento solo llena su propio buffer de envío
+ * y nunca bloquea un hilo de DSP. Si el envío se retrasa, dos respuestas seguidas pueden llegar en otro orden;
+ * para el afinador solo importa la última.
+ */
+@Slf4j
+final class TunerConnection {
+
+    static final int MAX_PENDING_FRAMES = 8;
+
+    private final WebSocketSession session;
+    private final TunerSession tuner;
+    private final int sampleRate;
+    private final Executor dspExecutor;
+    private final Executor sendExecutor;
+
+    private final Queue<ByteBuffer> frames = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private volatile boolean closed;
+
+    TunerConnection(WebSocketSession session, TunerSession tuner, int sampleRate,
+                    Executor dspExecutor, Executor sendExecutor) {
+        this.session = session;
+        this.tuner = tuner;
+        this.sampleRate = sampleRate;
+        this.dspExecutor = dspExecutor;
+        this.sendExecutor = sendExecutor;
+    }
+
+    WebSocketSession getSession() {
+        return session;
+    }
+
+    TunerSession getTuner() {
+        return tuner;
+    }
+
+    long getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    /**
+     * Encola una trama. El payload se copia porque el contenedor puede reutilizar su buffer al volver.
+     * Devuelve false si la trama se ha descartado.
+     */
+    boolean offer(ByteBuffer payload) {
+        if (closed) {
+            return false;
+        }
+        if (pending.incrementAndGet() > MAX_PENDING_FRAMES) {
+            pending.decrementAndGet();
+            droppedFrames.incrementAndGet();
+            return false;
+        }
+        ByteBuffer copy = ByteBuffer.allocate(payload.remaining());
+        copy.put(payload).flip();
+        frames.add(copy);
+        schedule();
+        return true;
+    }
+
+    void close() {
+        closed = true;
+        discardPending();
+    }
+
+    private void schedule() {
+        if (!scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            dspExecutor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // Pool saturado: se pierden las tramas de esta sesión en lugar de retrasar a las demás
+            discardPending();
+            scheduled.set(false);
+        }
+    }
+
+    private void drain() {
+        try {
+            ByteBuffer frame;
+            while (!closed && (frame = frames.poll()) != null) {
+                pending.decrementAndGet();
+                if (!tuner.isStreaming() && !frames.isEmpty()) {
+                    // En modo por trama solo interesa la más reciente
+                    droppedFrames.incrementAndGet();
+                    continue;
+                }
+                double frequency = tuner.process(frame, sampleRate);
+                if (!Double.isNaN(frequency)) {
+                    send(tuner.pitchMessage(frequency));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Error analizando audio de la sesión {}: {}", session.getId(), e.getMessage());
+        } finally {
+            scheduled.set(false);
+        }
+        // Una trama pudo llegar entre el último poll y la liberación de scheduled
+        if (!closed && !frames.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private void send(WebSocketMessage<?> message) {
+        try {
+            sendExecutor.execute(() -> {
+                try {
+                    if (session.isOpen()) {
+                        session.sendMessage(message);
+                    }
+                } catch (SessionLimitExceededException e) {
+                    log.debug("Sesión {} cerrada por no consumir las respuestas: {}", session.getId(), e.getMessage());
+                    closeQuietly(e.getStatus());
+                } catch (IOException | IllegalStateException e) {
+                    closeQuietly(CloseStatus.SERVER_ERROR);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            droppedFrames.incrementAndGet();
+        }
+    }
+
+    private void closeQuietly(CloseStatus status) {
+        close();
+        try {
+            session.close(status);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void discardPending() {
+        while (frames.poll() != null) {
+            pending.decrementAndGet();
+            droppedFrames.incrementAndGet();
+        }
+    }
+}
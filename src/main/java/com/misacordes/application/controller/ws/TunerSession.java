@@ -0,0 +1,228 @@
+package com.misacordes.application.controller.ws;
+
+import com.misacordes.application.utils.audio.NoteTable;
+import com.misacordes.application.utils.audio.PitchAlgorithm;
+import com.misacordes.application.utils.audio.PitchDetector;
+import com.misacordes.application.utils.audio.PitchSmoother;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.function.LongSupplier;
+
+/**
+ * Estado de una sesión del afinador, guardado en los atributos de la WebSocketSession.
+ *
+ * En modo por trama cada mensaje se analiza por separado. En modo streaming el PCM entrante se añade a un
+ * buffer circular y se analiza la ventana más reciente cada hop muestras nuevas; si el cliente envía más
+ * rápido de lo que se analiza, las ventanas intermedias se descartan, y nunca se analiza más de una vez por
+ * mensaje ni con más frecuencia que dos veces el ritmo en tiempo real. Las estimaciones se suavizan con
+ * PitchSmoother. Así el coste por sesión queda acotado sea cual sea el ritmo de envío del cliente.
+ *
+ * Las muestras, el detector y el StringBuilder de respuesta se reutilizan entre tramas. La respuesta JSON se
+ * escribe a mano con un formato fijo; con ?format=binary se responde con una trama binaria de BINARY_RESPONSE_SIZE
+ * bytes (little-endian): tipo (1 = pitch), clase de nota 0-11 (255 sin nota), octava, reservado,
+ * frecuencia float32 y cents float32.
+ *
+ * No es thread-safe: TunerConnection procesa las tramas de cada sesión de una en una.
+ */
+public class TunerSession {
+
+    public static final int BINARY_RESPONSE_SIZE = 12;
+
+    private static final byte TYPE_PITCH = 1;
+    private static final byte NO_PITCH_CLASS = (byte) 255;
+
+    public static final int MIN_WINDOW = 1024;
+    public static final int MAX_WINDOW = 8192;
+    public static final int MIN_HOP = 128;
+
+    private final PitchAlgorithm algorithm;
+    private final PitchDetector detector;
+    private final boolean binaryResponses;
+
+    private float[] samples = new float[0];
+    private final StringBuilder text = new StringBuilder(96);
+
+    // Modo streaming (window > 0)
+    private final int window;
+    private final int hop;
+    private final float[] ring;
+    private final int ringMask;
+    private final PitchSmoother smoother;
+    private final LongSupplier nanoTime;
+    private long written;
+    private long analyzedAt;
+    private long lastAnalysisNanos;
+    private long minIntervalNanos;
+
+    public TunerSession(PitchAlgorithm algorithm, boolean binaryResponses) {
+        this(algorithm, binaryResponses, 0, 0, System::nanoTime);
+    }
+
+    /**
+     * Sesión en modo streaming: ventana de window muestras (se redondea a potencia de dos entre MIN_WINDOW y
+     * MAX_WINDOW) analizada cada hop muestras (entre MIN_HOP y window).
+     */
+    public TunerSession(PitchAlgorithm algorithm, boolean binaryResponses, int window, int hop) {
+        this(algorithm, binaryResponses, window, hop, System::nanoTime);
+    }
+
+    TunerSession(PitchAlgorithm algorithm, boolean binaryResponses, int window, int hop, LongSupplier nanoTime) {
+        this.algorithm = algorithm;
+        this.detector = algorithm.create();
+        this.binaryResponses = binaryResponses;
+        this.nanoTime = nanoTime;
+        if (window > 0) {
+            this.window = Integer.highestOneBit(Math.min(Math.max(window, MIN_WINDOW), MAX_WINDOW));
+            this.hop = Math.min(Math.max(hop, MIN_HOP), this.window);
+            this.ring = new float[this.window];
+            this.ringMask = this.window - 1;
+            this.samples = new float[this.window];
+            this.smoother = new PitchSmoother();
+        } else {
+            this.window = 0;
+            this.hop = 0;
+            this.ring = null;
+            this.ringMask = 0;
+            this.smoother = null;
+        }
+    }
+
+    public PitchAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public boolean isBinaryResponses() {
+        return binaryResponses;
+    }
+
+    public boolean isStreaming() {
+        return window > 0;
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    public int getHop() {
+        return hop;
+    }
+
+    /**
+     * Procesa un mensaje de PCM. Devuelve la frecuencia a enviar, o NaN si en modo streaming este mensaje
+     * no completa un hop o llega antes del intervalo mínimo entre análisis.
+     */
+    public double process(ByteBuffer payload, int sampleRate) {
+        if (!isStreaming()) {
+            return detect(payload, sampleRate);
+        }
+
+        append(payload);
+        long now = nanoTime.getAsLong();
+        if (written < window || written - analyzedAt < hop
+                || (analyzedAt > 0 && now - lastAnalysisNanos < minIntervalNanos(sampleRate))) {
+            return Double.NaN;
+        }
+        analyzedAt = written;
+        lastAnalysisNanos = now;
+
+        // Copia la ventana más reciente en orden al buffer contiguo del detector
+        int start = (int) (written & ringMask);
+        int tail = window - start;
+        System.arraycopy(ring, start, samples, 0, tail);
+        System.arraycopy(ring, 0, samples, tail, start);
+        return smoother.smooth(detector.detect(samples, window, sampleRate));
+    }
+
+    private void append(ByteBuffer payload) {
+        int count = payload.remaining() / 2;
+        if (count > window) {
+            // Solo importan las últimas window muestras
+            int skipped = count - window;
+            payload.position(payload.position() + skipped * 2);
+            written += skipped;
+            count = window;
+        }
+        for (int i = 0; i < count; i++) {
+            short s = (short) ((payload.get() & 0xFF) | (payload.get() << 8));
+            ring[(int) (written++ & ringMask)] = s / 32768f;
+        }
+    }
+
+    // Medio hop en tiempo real: como mucho el doble de análisis que si el cliente enviara a su ritmo
+    private long minIntervalNanos(int sampleRate) {
+        if (minIntervalNanos == 0) {
+            minIntervalNanos = hop * 500_000_000L / sampleRate;
+        }
+        return minIntervalNanos;
+    }
+
+    /**
+     * Decodifica PCM de 16 bits little-endian al buffer de muestras y detecta la frecuencia.
+     */
+    public double detect(ByteBuffer payload, int sampleRate) {
+        int count = payload.remaining() / 2;
+        if (samples.length < count) {
+            samples = new float[count];
+        }
+        for (int i = 0; i < count; i++) {
+            short s = (short) ((payload.get() & 0xFF) | (payload.get() << 8));
+            samples[i] = s / 32768f;
+        }
+        return detector.detect(samples, count, sampleRate);
+    }
+
+    /**
+     * Respuesta para la frecuencia detectada. El mensaje no comparte buffers con la sesión: puede quedarse en
+     * el buffer de envío mientras se procesan las tramas siguientes.
+     */
+    public WebSocketMessage<?> pitchMessage(double frequency) {
+        double semitones = NoteTable.semitonesFromA4(frequency);
+        int midi = NoteTable.nearestMidi(semitones);
+        double cents = NoteTable.cents(semitones);
+
+        if (binaryResponses) {
+            ByteBuffer binary = ByteBuffer.allocate(BINARY_RESPONSE_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            binary.put(TYPE_PITCH);
+            binary.put(midi >= 0 ? (byte) NoteTable.pitchClass(midi) : NO_PITCH_CLASS);
+            binary.put(midi >= 0 ? (byte) NoteTable.octave(midi) : 0);
+            binary.put((byte) 0);
+            binary.putFloat((float) frequency);
+            binary.putFloat((float) cents);
+            binary.flip();
+            return new BinaryMessage(binary);
+        }
+
+        text.setLength(0);
+        text.append("{\"type\":\"pitch\",\"frequency\":");
+        appendFixed(text, frequency);
+        text.append(",\"note\":\"").append(NoteTable.name(midi)).append("\",\"cents\":");
+        appendFixed(text, cents);
+        text.append('}');
+        return new TextMessage(text);
+    }
+
+    /**
+     * Número con dos decimales sin pasar por Double.toString.
+     */
+    static void appendFixed(StringBuilder out, double value) {
+        if (!Double.isFinite(value)) {
+            out.append('0');
+            return;
+        }
+        long hundredths = Math.round(value * 100);
+        if (hundredths < 0) {
+            out.append('-');
+            hundredths = -hundredths;
+        }
+        out.append(hundredths / 100).append('.');
+        long fraction = hundredths % 100;
+        if (fraction < 10) {
+            out.append('0');
+        }
+        out.append(fraction);
+    }
+}
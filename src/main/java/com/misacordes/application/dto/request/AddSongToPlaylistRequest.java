@@ -9,5 +9,5 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class AddSongToPlaylistRequest {
     private Long songId;
-    private Integer orderIndex; // Opcional, si no se especifica se añade al final
+    private Integer orderIndex; // Opcional: posición en la playlist (0 = primera); si no se especifica se añade al final
 }
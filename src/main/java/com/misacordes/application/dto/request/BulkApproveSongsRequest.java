@@ -0,0 +1,15 @@
+package com.misacordes.application.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkApproveSongsRequest {
+
+    private List<Long> songIds;
+}
@@ -0,0 +1,32 @@
+package com.misacordes.application.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Cambios en las canciones de una playlist, aplicados en orden y en una sola transacción:
+ * si una operación no es válida no se aplica ninguna.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaylistSongsPatchRequest {
+    private List<Operation> operations;
+
+    public enum OperationType {
+        ADD, REMOVE, MOVE
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Operation {
+        private OperationType op;
+        private Long songId;
+        private Long afterSongId;  // ADD/MOVE: colocar justo después de esta canción
+        private Long beforeSongId; // ADD/MOVE: colocar justo antes; sin ninguna de las dos, al final
+    }
+}
@@ -0,0 +1,15 @@
+package com.misacordes.application.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransposePlaylistRequest {
+    private Integer semitones; // Por defecto para todas las canciones (0 si no se indica)
+    private Map<Long, Integer> songSemitones; // songId -> semitonos, sustituye al valor por defecto
+}
@@ -0,0 +1,18 @@
+package com.misacordes.application.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkApproveSongsResponse {
+    private List<Long> approvedSongIds;
+    private List<Long> skippedSongIds; // No existen o no están pendientes
+    private int chordsAddedToCatalog;
+}
@@ -0,0 +1,21 @@
+package com.misacordes.application.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Página de un listado paginado por cursor. nextCursor se pasa tal cual en ?cursor= para pedir la siguiente;
+ * es null en la última página.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private int numberOfElements;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -0,0 +1,20 @@
+package com.misacordes.application.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Canción que se puede tocar con los acordes indicados, junto con los acordes que faltan (si se permite alguno).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayableSongResponse {
+    private SongSummaryResponse song;
+    private List<String> missingChords;
+}
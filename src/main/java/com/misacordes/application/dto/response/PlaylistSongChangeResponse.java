@@ -0,0 +1,20 @@
+package com.misacordes.application.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de añadir o quitar una canción de una playlist: solo lo que cambia, sin devolver la playlist entera.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaylistSongChangeResponse {
+    private Long playlistId;
+    private Long songId;
+    private Integer orderIndex; // Clave de orden de la canción añadida o la que tenía la eliminada
+    private Long songCount;
+}
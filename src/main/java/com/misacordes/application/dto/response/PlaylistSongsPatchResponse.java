@@ -0,0 +1,32 @@
+package com.misacordes.application.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resultado de PATCH /playlists/{id}/songs: las claves de orden nuevas o cambiadas y las canciones quitadas.
+ * Ordenando por orderIndex se obtiene el orden final de la playlist.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaylistSongsPatchResponse {
+    private Long playlistId;
+    private Long songCount;
+    private List<SongOrder> orderChanges;
+    private List<Long> removedSongIds;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SongOrder {
+        private Long songId;
+        private Integer orderIndex;
+    }
+}
@@ -0,0 +1,22 @@
+package com.misacordes.application.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Estado del limitador de peticiones: buckets vivos y peticiones aceptadas/rechazadas por tipo desde el arranque.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitStatsResponse {
+    private long liveBuckets;
+    private long evictedBuckets;
+    private Map<String, Long> allowed;
+    private Map<String, Long> rejected;
+}
@@ -0,0 +1,37 @@
+package com.misacordes.application.dto.response;
+
+import com.misacordes.application.utils.SongStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Elemento de listado de canciones. La letra con acordes solo se devuelve en GET /api/songs/{id}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SongSummaryResponse {
+    private Long id;
+    private String title;
+    private String artist;
+    private String album;
+    private Integer year;
+    private String key;
+    private Integer tempo;
+
+    private String coverImageUrl;
+    private String coverColor;
+
+    private SongStatus status;
+    private Boolean isPublic;
+    private String rejectionReason;
+    private LocalDateTime createdAt;
+    private LocalDateTime publishedAt;
+
+    private SongWithChordsResponse.CreatorInfo createdBy;
+}
@@ -12,14 +12,19 @@ import lombok.*;
 @Table(name = "chord_catalog")
 public class ChordCatalog {
 
+    // Límites de las columnas; los acordes propuestos se validan contra ellos al guardarse
+    public static final int MAX_NAME_LENGTH = 10;
+    public static final int MAX_FULL_NAME_LENGTH = 50;
+    public static final int MAX_NOTES_LENGTH = 200;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(unique = true, nullable = false, length = 10)
+    @Column(unique = true, nullable = false, length = MAX_NAME_LENGTH)
     private String name;
 
-    @Column(name = "full_name", length = 50)
+    @Column(name = "full_name", length = MAX_FULL_NAME_LENGTH)
     private String fullName;
 
     @Enumerated(EnumType.STRING)
@@ -40,6 +45,6 @@ public class ChordCatalog {
     @Column(name = "finger_positions", columnDefinition = "TEXT")
     private String fingerPositions;
 
-    @Column(length = 200)
+    @Column(length = MAX_NOTES_LENGTH)
     private String notes;
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.misacordes.application.entities;
 
+import com.misacordes.application.utils.TextNormalizer;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -14,7 +15,11 @@ import java.util.List;
 @Entity
 @EqualsAndHashCode
 @ToString
-@Table(name = "playlists")
+@Table(name = "playlists", indexes = {
+        // Listado público paginado por (createdAt, id) y búsqueda por prefijo del nombre normalizado
+        @Index(name = "idx_playlists_public_created", columnList = "is_public, created_at, id"),
+        @Index(name = "idx_playlists_public_name", columnList = "is_public, normalized_name")
+})
 public class Playlist {
 
     @Id
@@ -27,6 +32,10 @@ public class Playlist {
     @Column(length = 500)
     private String description;
 
+    // Nombre en minúsculas y sin acentos; se recalcula al guardar
+    @Column(name = "normalized_name", length = 100)
+    private String normalizedName;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -50,10 +59,17 @@ public class Playlist {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        normalizedName = normalizeName(name);
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        normalizedName = normalizeName(name);
+    }
+
+    public static String normalizeName(String name) {
+        String normalized = TextNormalizer.fold(name).trim();
+        return normalized.length() > 100 ? normalized.substring(0, 100) : normalized;
     }
 }
@@ -13,7 +13,10 @@ import java.time.LocalDateTime;
 @Entity
 @EqualsAndHashCode
 @ToString
-@Table(name = "playlist_songs")
+@Table(name = "playlist_songs", indexes = {
+        // Canciones de una playlist en orden
+        @Index(name = "idx_playlist_songs_order", columnList = "playlist_id, order_index")
+})
 public class PlaylistSong {
 
     @Id
@@ -32,7 +35,7 @@ public class PlaylistSong {
     private LocalDateTime addedAt;
 
     @Column(name = "order_index")
-    private Integer orderIndex; // Para mantener el orden de las canciones en la playlist
+    private Integer orderIndex; // Clave de orden dispersa: las canciones se ordenan por ella, no son posiciones consecutivas
 
     @PrePersist
     protected void onCreate() {
@@ -0,0 +1,33 @@
+package com.misacordes.application.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Estado compartido de un bucket de límite de peticiones cuando se usa rate-limit.backend=jdbc.
+ * Se modifica solo con compare-and-set sobre version (JdbcRateLimitBackend); refilledAt está en epoch millis.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Builder
+@Table(name = "rate_limit_buckets", indexes = {
+        @Index(name = "idx_rate_limit_buckets_refilled_at", columnList = "refilled_at")
+})
+public class RateLimitBucket {
+
+    @Id
+    @Column(name = "bucket_key", length = 64)
+    private String bucketKey;
+
+    @Column(nullable = false)
+    private Long tokens;
+
+    @Column(name = "refilled_at", nullable = false)
+    private Long refilledAt;
+
+    @Column(nullable = false)
+    private Long version;
+}
@@ -3,6 +3,7 @@ package com.misacordes.application.entities;
 import com.misacordes.application.utils.SongStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
@@ -12,6 +13,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
+@DynamicUpdate
 @Table(name = "songs")
 public class Song {
 
@@ -52,7 +54,14 @@ public class Song {
 
         @Lob
         @Column(name="chords_map", columnDefinition = "TEXT")
-        private String chordsMap; // JSON con letra y posiciones de acordes
+        private String chordsMap; // JSON legado con letra y acordes, se migra a chordsData al leerse
+
+        @Lob
+        @Column(name="chords_data", columnDefinition = "MEDIUMBLOB")
+        private byte[] chordsData; // Letra y acordes en formato binario (SongChordsCodec)
+
+        @Column(name = "content_version")
+        private Integer contentVersion; // Se incrementa cada vez que cambia la letra o los acordes
 
         @Enumerated(EnumType.STRING)
         @Column(nullable = false)
@@ -83,11 +92,22 @@ public class Song {
                 if (isPublic == null) {
                         isPublic = false;
                 }
+                if (contentVersion == null) {
+                        contentVersion = 1;
+                }
         }
         @PreUpdate
         protected void onUpdate() {
                 updatedAt = LocalDateTime.now();
         }
+
+        public int currentContentVersion() {
+                return contentVersion != null ? contentVersion : 0;
+        }
+
+        public void markContentChanged() {
+                contentVersion = currentContentVersion() + 1;
+        }
         
 
         public String getYoutubeVideoId() {
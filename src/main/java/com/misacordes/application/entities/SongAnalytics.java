@@ -0,0 +1,54 @@
+package com.misacordes.application.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Analítica de acordes derivada de la letra de una canción.
+ * Se calcula al guardar la canción; contentVersion indica sobre qué versión del contenido se calculó.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Builder
+@Table(name = "song_analytics")
+public class SongAnalytics {
+
+    // Longitud máxima de un nombre de acorde; la letra se valida contra ella antes de guardar la canción
+    public static final int MAX_CHORD_NAME_LENGTH = 32;
+
+    @Id
+    @Column(name = "song_id")
+    private Long songId;
+
+    @Column(name = "content_version", nullable = false)
+    private Integer contentVersion;
+
+    @Column(name = "total_chords", nullable = false)
+    private Integer totalChords;
+
+    @Column(name = "unique_chords", nullable = false)
+    private Integer uniqueChords;
+
+    @Column(name = "total_lines", nullable = false)
+    private Integer totalLines;
+
+    @Column(name = "max_chords_in_line", nullable = false)
+    private Integer maxChordsInLine;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "song_analytics_chords", joinColumns = @JoinColumn(name = "song_id"))
+    @MapKeyColumn(name = "chord_name", length = MAX_CHORD_NAME_LENGTH)
+    @Column(name = "occurrences", nullable = false)
+    @Builder.Default
+    private Map<String, Integer> chordFrequency = new HashMap<>();
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+}
@@ -40,6 +40,14 @@ public class User implements UserDetails {
     @Column(name = "lock_time")
     private java.time.LocalDateTime lockTime;
 
+    // Va en el token; cambiarla invalida los tokens emitidos antes
+    @Column(name = "credential_version")
+    private Integer credentialVersion = 0;
+
+    public int currentCredentialVersion() {
+        return credentialVersion != null ? credentialVersion : 0;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return role != null ? List.of(new SimpleGrantedAuthority(role.name())) : List.of();
@@ -5,12 +5,15 @@ import com.misacordes.application.entities.ChordCategory;
 import com.misacordes.application.entities.DifficultyLevel;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ChordCatalogRepository extends JpaRepository<ChordCatalog, Long> {
     Optional<ChordCatalog> findByName(String name);
 
+    List<ChordCatalog> findByNameIn(Collection<String> names);
+
     List<ChordCatalog> findAllByOrderByDisplayOrderAsc();
 
     List<ChordCatalog> findByIsCommonTrueOrderByDisplayOrderAsc();
@@ -1,31 +1,82 @@
 package com.misacordes.application.repositories;
 
 import com.misacordes.application.entities.Playlist;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface PlaylistRepository extends JpaRepository<Playlist, Long> {
     
-    List<Playlist> findByUserIdOrderByCreatedAtDesc(Long userId);
+    // Los listados cargan el propietario en la misma consulta para construir CreatorInfo
+    @Query("SELECT p FROM Playlist p JOIN FETCH p.user WHERE p.user.id = :userId ORDER BY p.createdAt DESC")
+    List<Playlist> findByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId);
     
     List<Playlist> findByUserIdAndIsPublicTrueOrderByCreatedAtDesc(Long userId);
 
     List<Playlist> findByUserIdAndIsDefaultTrueOrderByNameAsc(Long userId);
     
     Optional<Playlist> findByIdAndUserId(Long id, Long userId);
+
+    // Bloquea la fila para serializar los cambios de canciones de una misma playlist
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Playlist> findWithLockByIdAndUserId(Long id, Long userId);
     
     boolean existsByUserIdAndName(Long userId, String name);
     
-    @Query("SELECT p FROM Playlist p WHERE p.isPublic = true AND p.user.id != :userId ORDER BY p.createdAt DESC")
-    List<Playlist> findPublicPlaylistsExcludingUser(@Param("userId") Long userId);
-    
-    @Query("SELECT p FROM Playlist p WHERE p.isPublic = true AND LOWER(p.name) LIKE LOWER(CONCAT('%', :query, '%')) ORDER BY p.createdAt DESC")
-    List<Playlist> findPublicPlaylistsByNameContaining(@Param("query") String query);
+    // Listados públicos paginados por clave (createdAt, id) descendente; el Pageable solo aporta el límite
+
+    @Query("SELECT p FROM Playlist p JOIN FETCH p.user WHERE p.isPublic = true ORDER BY p.createdAt DESC, p.id DESC")
+    List<Playlist> findNewestPublicPlaylists(Pageable pageable);
+
+    @Query("SELECT p FROM Playlist p JOIN FETCH p.user u WHERE p.isPublic = true AND u.id != :userId " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Playlist> findPublicPlaylistsExcludingUser(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT p FROM Playlist p JOIN FETCH p.user u WHERE p.isPublic = true AND u.id != :userId " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Playlist> findPublicPlaylistsExcludingUserAfter(@Param("userId") Long userId,
+                                                         @Param("createdAt") LocalDateTime createdAt,
+                                                         @Param("id") Long id,
+                                                         Pageable pageable);
+
+    // prefix ya normalizado y escapado con '!', terminado en '%'
+    @Query("SELECT p FROM Playlist p JOIN FETCH p.user WHERE p.isPublic = true " +
+            "AND p.normalizedName LIKE :prefix ESCAPE '!' ORDER BY p.createdAt DESC, p.id DESC")
+    List<Playlist> findPublicPlaylistsByNamePrefix(@Param("prefix") String prefix, Pageable pageable);
+
+    @Query("SELECT p FROM Playlist p JOIN FETCH p.user WHERE p.isPublic = true " +
+            "AND p.normalizedName LIKE :prefix ESCAPE '!' " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Playlist> findPublicPlaylistsByNamePrefixAfter(@Param("prefix") String prefix,
+                                                        @Param("createdAt") LocalDateTime createdAt,
+                                                        @Param("id") Long id,
+                                                        Pageable pageable);
+
+    // Filas anteriores a la columna normalized_name
+    List<Playlist> findTop500ByNormalizedNameIsNull();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Playlist p SET p.normalizedName = :normalizedName WHERE p.id = :id")
+    int updateNormalizedName(@Param("id") Long id, @Param("normalizedName") String normalizedName);
     
     @Query("SELECT COUNT(ps) FROM PlaylistSong ps WHERE ps.playlist.id = :playlistId")
     Long countSongsInPlaylist(@Param("playlistId") Long playlistId);
+
+    // Las playlists sin canciones no aparecen en el resultado
+    @Query("SELECT new com.misacordes.application.repositories.PlaylistSongCount(ps.playlist.id, COUNT(ps)) " +
+            "FROM PlaylistSong ps WHERE ps.playlist.id IN :playlistIds GROUP BY ps.playlist.id")
+    List<PlaylistSongCount> countSongsByPlaylistIds(@Param("playlistIds") Collection<Long> playlistIds);
 }
@@ -0,0 +1,7 @@
+package com.misacordes.application.repositories;
+
+/**
+ * Número de canciones de una playlist, agrupado en una sola consulta para los listados.
+ */
+public record PlaylistSongCount(Long playlistId, long songCount) {
+}
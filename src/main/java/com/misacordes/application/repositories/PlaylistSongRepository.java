@@ -23,16 +23,17 @@ public interface PlaylistSongRepository extends JpaRepository<PlaylistSong, Long
     @Query("DELETE FROM PlaylistSong ps WHERE ps.playlist.id = :playlistId")
     void deleteByPlaylistId(@Param("playlistId") Long playlistId);
     
-    @Query("SELECT COALESCE(MAX(ps.orderIndex), 0) + 1 FROM PlaylistSong ps WHERE ps.playlist.id = :playlistId")
-    Integer getNextOrderIndex(@Param("playlistId") Long playlistId);
-    
-    @Modifying
-    @Query("UPDATE PlaylistSong ps SET ps.orderIndex = ps.orderIndex - 1 WHERE ps.playlist.id = :playlistId AND ps.orderIndex > :removedIndex")
-    void updateOrderIndexesAfterRemoval(@Param("playlistId") Long playlistId, @Param("removedIndex") Integer removedIndex);
+    @Query("SELECT COALESCE(MAX(ps.orderIndex), 0) FROM PlaylistSong ps WHERE ps.playlist.id = :playlistId")
+    Integer getMaxOrderIndex(@Param("playlistId") Long playlistId);
     
     @Query("SELECT ps FROM PlaylistSong ps JOIN FETCH ps.song s JOIN FETCH s.createdBy WHERE ps.playlist.id = :playlistId ORDER BY ps.orderIndex ASC")
     List<PlaylistSong> findByPlaylistIdWithSongDetails(@Param("playlistId") Long playlistId);
 
+    // Canciones de la playlist en orden, sin cargar la letra
+    @Query(SongRepository.SUMMARY_CONSTRUCTOR + "FROM PlaylistSong ps JOIN ps.song s JOIN s.createdBy u "
+            + "WHERE ps.playlist.id = :playlistId ORDER BY ps.orderIndex ASC")
+    List<SongSummaryView> findSongSummariesByPlaylistId(@Param("playlistId") Long playlistId);
+
     @Modifying
     @Query("DELETE FROM PlaylistSong ps WHERE ps.song.id = :songId")
     void deleteBySongId(@Param("songId") Long songId);
@@ -3,9 +3,14 @@ package com.misacordes.application.repositories;
 import com.misacordes.application.entities.ProposedChord;
 import com.misacordes.application.entities.ProposalStatus;
 import com.misacordes.application.entities.Song;
+import com.misacordes.application.entities.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ProposedChordRepository extends JpaRepository<ProposedChord, Long> {
@@ -18,6 +23,19 @@ public interface ProposedChordRepository extends JpaRepository<ProposedChord, Lo
     
     List<ProposedChord> findByStatusOrderByCreatedAtDesc(ProposalStatus status);
 
+    List<ProposedChord> findBySongIdInAndStatus(Collection<Long> songIds, ProposalStatus status);
+
+    // Revisa de una vez las propuestas pendientes de las canciones y enlaza cada una con el acorde del catálogo de su nombre
+    @Modifying
+    @Query("UPDATE ProposedChord pc SET pc.status = :newStatus, pc.reviewedAt = :reviewedAt, pc.reviewedBy = :reviewedBy, "
+            + "pc.catalogChordId = (SELECT c.id FROM ChordCatalog c WHERE c.name = pc.name) "
+            + "WHERE pc.song.id IN :songIds AND pc.status = :currentStatus")
+    int reviewBySongIds(@Param("songIds") Collection<Long> songIds,
+                        @Param("currentStatus") ProposalStatus currentStatus,
+                        @Param("newStatus") ProposalStatus newStatus,
+                        @Param("reviewedBy") User reviewedBy,
+                        @Param("reviewedAt") LocalDateTime reviewedAt);
+
     @Query("DELETE FROM ProposedChord pc WHERE pc.song.id = :songId")
     void deleteBySongId(@org.springframework.data.repository.query.Param("songId") Long songId);
 }
@@ -0,0 +1,46 @@
+package com.misacordes.application.repositories;
+
+import com.misacordes.application.entities.RateLimitBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface RateLimitBucketRepository extends JpaRepository<RateLimitBucket, String> {
+
+    @Query("SELECT new com.misacordes.application.repositories.RateLimitBucketState(b.tokens, b.refilledAt, b.version) "
+            + "FROM RateLimitBucket b WHERE b.bucketKey = :key")
+    Optional<RateLimitBucketState> findState(@Param("key") String key);
+
+    /**
+     * Crea el bucket si no existe. Devuelve 0 si otra instancia lo creó antes.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO rate_limit_buckets (bucket_key, tokens, refilled_at, version) "
+            + "VALUES (:key, :tokens, :refilledAt, 0)", nativeQuery = true)
+    int insertIfAbsent(@Param("key") String key, @Param("tokens") long tokens, @Param("refilledAt") long refilledAt);
+
+    /**
+     * Escribe el nuevo estado solo si nadie lo ha cambiado desde que se leyó version.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE RateLimitBucket b SET b.tokens = :tokens, b.refilledAt = :refilledAt, b.version = b.version + 1 "
+            + "WHERE b.bucketKey = :key AND b.version = :version")
+    int compareAndSet(@Param("key") String key, @Param("version") long version,
+                      @Param("tokens") long tokens, @Param("refilledAt") long refilledAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RateLimitBucket b WHERE b.refilledAt < :cutoff")
+    int deleteIdleSince(@Param("cutoff") long cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RateLimitBucket b WHERE b.bucketKey = :key")
+    void deleteByKey(@Param("key") String key);
+}
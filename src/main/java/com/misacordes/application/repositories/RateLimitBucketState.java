@@ -0,0 +1,8 @@
+package com.misacordes.application.repositories;
+
+/**
+ * Lectura de una fila de rate_limit_buckets sin pasar por el contexto de persistencia,
+ * para que cada intento de compare-and-set vea el valor actual de la tabla.
+ */
+public record RateLimitBucketState(long tokens, long refilledAt, long version) {
+}
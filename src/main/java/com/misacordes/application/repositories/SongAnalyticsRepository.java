@@ -0,0 +1,7 @@
+package com.misacordes.application.repositories;
+
+import com.misacordes.application.entities.SongAnalytics;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SongAnalyticsRepository extends JpaRepository<SongAnalytics, Long> {
+}
@@ -0,0 +1,14 @@
+package com.misacordes.application.repositories;
+
+/**
+ * Proyección de una canción para el índice de búsqueda: los campos indexados y la letra, sin creador ni metadatos.
+ */
+public record SongIndexView(
+        Long id,
+        String title,
+        String artist,
+        String album,
+        byte[] chordsData,
+        String chordsMap
+) {
+}
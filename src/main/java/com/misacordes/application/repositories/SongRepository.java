@@ -4,17 +4,34 @@ import com.misacordes.application.entities.Song;
 import com.misacordes.application.utils.SongStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import org.springframework.data.domain.Pageable;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SongRepository extends JpaRepository <Song, Long> {
 
+    // Requiere los alias s (Song) y u (su creador); también se usa desde PlaylistSongRepository
+    String SUMMARY_CONSTRUCTOR = "SELECT new com.misacordes.application.repositories.SongSummaryView("
+            + "s.id, s.title, s.artist, s.album, s.year, s.key, s.tempo, s.coverImageUrl, s.coverColor, "
+            + "s.status, s.isPublic, s.rejectionReason, s.createdAt, s.publishedAt, "
+            + "u.id, u.username, u.firstname) ";
+
+    String SUMMARY_SELECT = SUMMARY_CONSTRUCTOR + "FROM Song s JOIN s.createdBy u ";
 
     Optional<Song> findByIdAndCreatedById(Long id, Long userId);
 
+    // Canciones que el usuario puede añadir a sus playlists: públicas o propias
+    @Query("SELECT s.id FROM Song s WHERE s.id IN :ids AND (s.isPublic = true OR s.createdBy.id = :userId)")
+    List<Long> findAddableIds(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
     Long countByStatus(SongStatus status);
 
 
@@ -24,9 +41,58 @@ public interface SongRepository extends JpaRepository <Song, Long> {
 
     Page<Song> findByStatus(SongStatus status, Pageable pageable);
 
-    Page<Song> findByIsPublicTrueAndStatusAndTitleContainingIgnoreCaseOrArtistContainingIgnoreCase(
-            SongStatus status, String title, String artist, Pageable pageable
-    );
-
     Page<Song> findAll(Pageable pageable);
+
+    // ========== LISTADOS (proyección sin letra) ==========
+
+    @Query(value = SUMMARY_SELECT + "WHERE u.id = :userId",
+            countQuery = "SELECT COUNT(s) FROM Song s WHERE s.createdBy.id = :userId")
+    Page<SongSummaryView> findSummariesByCreatedById(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE s.isPublic = true AND s.status = :status",
+            countQuery = "SELECT COUNT(s) FROM Song s WHERE s.isPublic = true AND s.status = :status")
+    Page<SongSummaryView> findPublicSummaries(@Param("status") SongStatus status, Pageable pageable);
+
+    /**
+     * Búsqueda por subcadena en título o artista; solo se usa mientras el índice de búsqueda no está listo.
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE s.isPublic = true AND s.status = :status "
+            + "AND (LOWER(s.title) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(s.artist) LIKE LOWER(CONCAT('%', :query, '%')))",
+            countQuery = "SELECT COUNT(s) FROM Song s WHERE s.isPublic = true AND s.status = :status "
+                    + "AND (LOWER(s.title) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(s.artist) LIKE LOWER(CONCAT('%', :query, '%')))")
+    Page<SongSummaryView> searchPublicSummaries(@Param("status") SongStatus status, @Param("query") String query,
+                                                Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE s.id IN :ids AND s.isPublic = true AND s.status = :status")
+    List<SongSummaryView> findPublicSummariesByIdIn(@Param("ids") Collection<Long> ids,
+                                                    @Param("status") SongStatus status);
+
+    @Query(value = SUMMARY_SELECT + "WHERE s.status = :status",
+            countQuery = "SELECT COUNT(s) FROM Song s WHERE s.status = :status")
+    Page<SongSummaryView> findSummariesByStatus(@Param("status") SongStatus status, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT,
+            countQuery = "SELECT COUNT(s) FROM Song s")
+    Page<SongSummaryView> findAllSummaries(Pageable pageable);
+
+    // ========== ÍNDICE DE BÚSQUEDA ==========
+
+    /**
+     * Siguiente lote para reconstruir el índice, paginando por id (WHERE id > :lastId) en lugar de OFFSET;
+     * el tamaño del lote lo da el Pageable, que no lanza consulta de conteo.
+     */
+    @Query("SELECT new com.misacordes.application.repositories.SongIndexView("
+            + "s.id, s.title, s.artist, s.album, s.chordsData, s.chordsMap) "
+            + "FROM Song s WHERE s.isPublic = true AND s.status = :status AND s.id > :lastId ORDER BY s.id")
+    List<SongIndexView> findIndexViewsAfter(@Param("status") SongStatus status, @Param("lastId") Long lastId,
+                                            Pageable pageable);
+
+    /**
+     * Guarda la versión binaria de una fila con JSON legado sin tocar updatedAt.
+     * Solo actúa si la fila no fue migrada ni editada entretanto (toda edición escribe chordsData).
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Song s SET s.chordsData = :data, s.chordsMap = NULL WHERE s.id = :id AND s.chordsData IS NULL")
+    int migrateChordsData(@Param("id") Long id, @Param("data") byte[] data);
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.misacordes.application.repositories;
+
+import com.misacordes.application.utils.SongStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de una canción para listados: solo columnas escalares, nunca los LOB de letra y acordes.
+ */
+public record SongSummaryView(
+        Long id,
+        String title,
+        String artist,
+        String album,
+        Integer year,
+        String key,
+        Integer tempo,
+        String coverImageUrl,
+        String coverColor,
+        SongStatus status,
+        Boolean isPublic,
+        String rejectionReason,
+        LocalDateTime createdAt,
+        LocalDateTime publishedAt,
+        Long createdById,
+        String createdByUsername,
+        String createdByFirstname
+) {
+}
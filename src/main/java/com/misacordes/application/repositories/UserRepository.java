@@ -2,10 +2,37 @@ package com.misacordes.application.repositories;
 
 import com.misacordes.application.entities.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
     User findByUsername(String username);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.accountLocked = true, u.lockTime = :lockTime, u.failedAttempts = :failedAttempts "
+            + "WHERE u.username = :username")
+    int lockAccount(@Param("username") String username, @Param("lockTime") LocalDateTime lockTime,
+                    @Param("failedAttempts") int failedAttempts);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.accountLocked = false, u.lockTime = NULL, u.failedAttempts = 0 "
+            + "WHERE u.username = :username")
+    int unlockAccount(@Param("username") String username);
+
+    /**
+     * Rehash de la contraseña al cambiar el coste de BCrypt; no cambia la credencial, así que no toca credentialVersion.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
 }
@@ -0,0 +1,40 @@
+package com.misacordes.application.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.misacordes.application.dto.response.CacheStatsResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expone las estadísticas de todas las cachés Caffeine registradas como beans.
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheMetricsService extends BaseService {
+
+    private final Map<String, Cache<?, ?>> caches;
+
+    public List<CacheStatsResponse> getCacheStats() {
+        verifyAdmin();
+        return caches.entrySet().stream()
+                .map(entry -> toResponse(entry.getKey(), entry.getValue()))
+                .sorted((a, b) -> a.getName().compareTo(b.getName()))
+                .toList();
+    }
+
+    private CacheStatsResponse toResponse(String name, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return CacheStatsResponse.builder()
+                .name(name)
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.misacordes.application.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Buckets de bucket4j en una caché acotada (rateLimitBuckets): uno que lleva un periodo de recarga completo
+ * sin usarse estaría lleno de nuevo, así que caduca sin perder información.
+ * Cada instancia aplica sus propios límites.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.backend", havingValue = "memory", matchIfMissing = true)
+@RequiredArgsConstructor
+public class InMemoryRateLimitBackend implements RateLimitBackend {
+
+    private final Cache<RateLimitService.BucketKey, Bucket> rateLimitBuckets;
+
+    @Override
+    public boolean tryConsume(RateLimitService.BucketKey key) {
+        return rateLimitBuckets.get(key, k -> createBucket(k.scope())).tryConsume(1);
+    }
+
+    @Override
+    public long availableTokens(RateLimitService.BucketKey key) {
+        Bucket bucket = rateLimitBuckets.getIfPresent(key);
+        return bucket != null ? bucket.getAvailableTokens() : key.scope().capacity();
+    }
+
+    @Override
+    public void reset(RateLimitService.BucketKey key) {
+        rateLimitBuckets.invalidate(key);
+    }
+
+    @Override
+    public void resetAll() {
+        rateLimitBuckets.invalidateAll();
+    }
+
+    @Override
+    public long liveBuckets() {
+        rateLimitBuckets.cleanUp();
+        return rateLimitBuckets.estimatedSize();
+    }
+
+    @Override
+    public long evictedBuckets() {
+        return rateLimitBuckets.stats().evictionCount();
+    }
+
+    private static Bucket createBucket(RateLimitService.Scope scope) {
+        // p. ej. 5 intentos de login por minuto por IP
+        Bandwidth limit = Bandwidth.classic(scope.capacity(),
+            Refill.intervally(scope.capacity(), scope.period()));
+        return Bucket.builder()
+            .addLimit(limit)
+            .build();
+    }
+}
@@ -0,0 +1,203 @@
+package com.misacordes.application.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.misacordes.application.repositories.RateLimitBucketRepository;
+import com.misacordes.application.repositories.RateLimitBucketState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Buckets compartidos entre instancias en la tabla rate_limit_buckets.
+ *
+ * Cada fila guarda los tokens que quedan, el instante de la última recarga y una versión; las escrituras son
+ * compare-and-set sobre la versión, con reintento si otra instancia escribió entretanto. La recarga sigue la
+ * misma regla que bucket4j con Refill.intervally: el bucket vuelve a estar lleno al completar cada periodo.
+ *
+ * Para no ir a la base de datos en cada petición, cada instancia toma tokens por lotes (Lease) y los gasta
+ * en local durante rate-limit.jdbc.lease-ms; los que sobran se devuelven en la siguiente escritura. Cuando la
+ * tabla no tiene tokens, la instancia no vuelve a preguntar hasta la próxima recarga. Los lotes se toman del
+ * bucket compartido, así que el límite global nunca se supera; como mucho una instancia rechaza algo antes
+ * mientras otra tiene tokens en su lote. Si la base de datos falla se deja pasar la petición.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.backend", havingValue = "jdbc")
+@Slf4j
+public class JdbcRateLimitBackend implements RateLimitBackend {
+
+    private static final int MAX_CAS_ATTEMPTS = 5;
+
+    private final RateLimitBucketRepository rateLimitBucketRepository;
+    private final Cache<RateLimitService.BucketKey, Lease> rateLimitLeases;
+    private final int maxBatchSize;
+    private final long leaseMillis;
+
+    private final LongAdder deletedBuckets = new LongAdder();
+
+    /**
+     * Tokens tomados de la tabla por esta instancia. Se accede sincronizando sobre el propio objeto.
+     */
+    public static final class Lease {
+        private long tokens;
+        // Hasta cuándo se pueden gastar los tokens del lote
+        private long expiresAt;
+        // Sin tokens en la tabla: no se vuelve a consultar antes de este instante
+        private long retryAt;
+    }
+
+    record Grant(long tokens, long nextRefillAt) {
+    }
+
+    public JdbcRateLimitBackend(RateLimitBucketRepository rateLimitBucketRepository,
+                                Cache<RateLimitService.BucketKey, Lease> rateLimitLeases,
+                                @Value("${rate-limit.jdbc.batch-size:10}") int maxBatchSize,
+                                @Value("${rate-limit.jdbc.lease-ms:1000}") long leaseMillis) {
+        this.rateLimitBucketRepository = rateLimitBucketRepository;
+        this.rateLimitLeases = rateLimitLeases;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.leaseMillis = leaseMillis;
+    }
+
+    @Override
+    public boolean tryConsume(RateLimitService.BucketKey key) {
+        Lease lease = rateLimitLeases.get(key, k -> new Lease());
+        synchronized (lease) {
+            long now = System.currentTimeMillis();
+            if (lease.tokens > 0 && now < lease.expiresAt) {
+                lease.tokens--;
+                return true;
+            }
+            if (lease.tokens == 0 && now < lease.retryAt) {
+                return false;
+            }
+
+            Grant grant;
+            try {
+                grant = acquire(key, batchSize(key.scope()), lease.tokens, now);
+            } catch (DataAccessException e) {
+                log.warn("No se pudo consultar el límite de peticiones en la base de datos: {}", e.getMessage());
+                return true;
+            }
+            lease.retryAt = grant.tokens() == 0 ? grant.nextRefillAt() : 0;
+            if (grant.tokens() == 0) {
+                lease.tokens = 0;
+                return false;
+            }
+            lease.tokens = grant.tokens() - 1;
+            lease.expiresAt = now + leaseMillis;
+            return true;
+        }
+    }
+
+    /**
+     * Toma hasta wanted tokens de la fila del bucket devolviendo antes los returned que sobraron del lote anterior.
+     */
+    Grant acquire(RateLimitService.BucketKey key, long wanted, long returned, long now) {
+        String id = rowKey(key);
+        long capacity = key.scope().capacity();
+        long period = key.scope().period().toMillis();
+
+        for (int attempt = 0; attempt < MAX_CAS_ATTEMPTS; attempt++) {
+            Optional<RateLimitBucketState> row = rateLimitBucketRepository.findState(id);
+            if (row.isEmpty()) {
+                long granted = Math.min(wanted, capacity);
+                if (rateLimitBucketRepository.insertIfAbsent(id, capacity - granted, now) == 1) {
+                    return new Grant(granted, now + period);
+                }
+                continue;
+            }
+
+            RateLimitBucketState state = row.get();
+            long tokens = state.tokens();
+            long refilledAt = state.refilledAt();
+            long periods = (now - refilledAt) / period;
+            if (periods > 0) {
+                tokens = capacity;
+                refilledAt += periods * period;
+            }
+            tokens = Math.min(capacity, tokens + returned);
+            long granted = Math.min(wanted, tokens);
+            if (granted == 0 && tokens == state.tokens() && refilledAt == state.refilledAt()) {
+                // Nada que escribir: el bucket sigue vacío hasta la próxima recarga
+                return new Grant(0, refilledAt + period);
+            }
+            if (rateLimitBucketRepository.compareAndSet(id, state.version(), tokens - granted, refilledAt) == 1) {
+                return new Grant(granted, refilledAt + period);
+            }
+        }
+        // Mucha contención sobre la misma clave: se rechaza y se reintenta en la siguiente petición
+        return new Grant(0, now);
+    }
+
+    @Override
+    public long availableTokens(RateLimitService.BucketKey key) {
+        long local = 0;
+        Lease lease = rateLimitLeases.getIfPresent(key);
+        if (lease != null) {
+            synchronized (lease) {
+                local = System.currentTimeMillis() < lease.expiresAt ? lease.tokens : 0;
+            }
+        }
+        long capacity = key.scope().capacity();
+        Optional<RateLimitBucketState> row = rateLimitBucketRepository.findState(rowKey(key));
+        if (row.isEmpty()) {
+            return capacity;
+        }
+        RateLimitBucketState state = row.get();
+        boolean refilled = System.currentTimeMillis() - state.refilledAt() >= key.scope().period().toMillis();
+        return Math.min(capacity, (refilled ? capacity : state.tokens()) + local);
+    }
+
+    @Override
+    public void reset(RateLimitService.BucketKey key) {
+        rateLimitLeases.invalidate(key);
+        rateLimitBucketRepository.deleteByKey(rowKey(key));
+    }
+
+    @Override
+    public void resetAll() {
+        rateLimitLeases.invalidateAll();
+        rateLimitBucketRepository.deleteAllInBatch();
+    }
+
+    @Override
+    public long liveBuckets() {
+        return rateLimitBucketRepository.count();
+    }
+
+    @Override
+    public long evictedBuckets() {
+        return deletedBuckets.sum();
+    }
+
+    /**
+     * Borra las filas que llevan más del periodo más largo sin recargarse: estarían llenas, igual que una nueva.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.jdbc.cleanup-interval-ms:600000}")
+    public void deleteIdleBuckets() {
+        long longestPeriod = 0;
+        for (RateLimitService.Scope scope : RateLimitService.Scope.values()) {
+            longestPeriod = Math.max(longestPeriod, scope.period().toMillis());
+        }
+        try {
+            deletedBuckets.add(rateLimitBucketRepository.deleteIdleSince(System.currentTimeMillis() - longestPeriod));
+        } catch (DataAccessException e) {
+            log.warn("Error limpiando buckets de límite de peticiones: {}", e.getMessage());
+        }
+    }
+
+    // Lotes de ~10% de la capacidad: el login (5 por minuto) va de uno en uno, la API (60) de 6 en 6
+    private int batchSize(RateLimitService.Scope scope) {
+        return Math.max(1, Math.min(maxBatchSize, scope.capacity() / 10));
+    }
+
+    static String rowKey(RateLimitService.BucketKey key) {
+        return key.scope().name() + ':' + Long.toHexString(key.high()) + ':' + Long.toHexString(key.low());
+    }
+}
@@ -5,107 +5,165 @@ import com.misacordes.application.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Bloqueo de cuentas por intentos de login fallidos.
+ *
+ * Los fallos se cuentan en memoria con una ventana deslizante: por usuario se guardan los instantes de los
+ * últimos MAX_FAILED_ATTEMPTS fallos, y la cuenta se bloquea cuando todos caen dentro de la ventana. Los
+ * contadores se reparten en franjas según el hash del nombre de usuario, cada una con su propio cerrojo y
+ * un máximo de entradas (se descartan las menos usadas).
+ *
+ * Solo se escribe en la base de datos al bloquear la cuenta y al desbloquearla, no en cada fallo. El bloqueo
+ * guardado lo comprueba User.isAccountNonLocked durante la autenticación, así que sigue vigente tras un
+ * reinicio y en el resto de instancias.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class LoginAttemptService {
 
     private final UserRepository userRepository;
-    
+
     private static final int MAX_FAILED_ATTEMPTS = 5;
     private static final int LOCK_TIME_DURATION_MINUTES = 15;
 
-    @Transactional
-    public void loginSucceeded(String username) {
-        User user = userRepository.findByUsername(username);
-        if (user != null) {
-            if (user.getFailedAttempts() != null && user.getFailedAttempts() > 0) {
-                user.setFailedAttempts(0);
-                user.setAccountLocked(false);
-                user.setLockTime(null);
-                userRepository.save(user);
-                log.info("Login exitoso para usuario: {}. Intentos fallidos reseteados.", username);
-            }
-        }
+    private static final long FAILURE_WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(LOCK_TIME_DURATION_MINUTES);
+    private static final long LOCK_MILLIS = TimeUnit.MINUTES.toMillis(LOCK_TIME_DURATION_MINUTES);
+
+    private static final int STRIPES = 64;
+    private static final int MAX_TRACKED_PER_STRIPE = 1024;
+
+    private final Stripe[] stripes = createStripes();
+
+    public record LoginStatus(boolean locked, long minutesRemaining, int attemptsRemaining) {
     }
 
-    @Transactional
-    public void loginFailed(String username) {
-        User user = userRepository.findByUsername(username);
-        if (user != null) {
-            int attempts = (user.getFailedAttempts() != null) ? user.getFailedAttempts() : 0;
-            attempts++;
-            user.setFailedAttempts(attempts);
-            
-            if (attempts >= MAX_FAILED_ATTEMPTS) {
-                user.setAccountLocked(true);
-                user.setLockTime(LocalDateTime.now());
-                log.warn("Cuenta bloqueada para usuario: {} después de {} intentos fallidos", 
-                         username, attempts);
-            } else {
-                log.warn("Intento de login fallido para usuario: {}. Intentos: {}/{}", 
-                         username, attempts, MAX_FAILED_ATTEMPTS);
-            }
-            
-            userRepository.save(user);
+    private static final class Attempts {
+        // Instantes de los últimos fallos, como anillo
+        private final long[] failures = new long[MAX_FAILED_ATTEMPTS];
+        private int next;
+        private long lockedUntil;
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Attempts> {
+
+        Stripe() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Attempts> eldest) {
+            return size() > MAX_TRACKED_PER_STRIPE;
         }
     }
 
-    public boolean isAccountLocked(String username) {
-        User user = userRepository.findByUsername(username);
-        if (user == null) {
-            return false;
+    /**
+     * Estado del usuario en una sola consulta en memoria: bloqueo, minutos restantes e intentos que le quedan.
+     */
+    public LoginStatus getStatus(String username) {
+        long now = System.currentTimeMillis();
+        Stripe stripe = stripeFor(username);
+        synchronized (stripe) {
+            return statusOf(stripe.get(username), now);
         }
-        
-        if (user.getAccountLocked() != null && user.getAccountLocked()) {
-            // Verificar si ya pasó el tiempo de bloqueo
-            if (user.getLockTime() != null) {
-                LocalDateTime unlockTime = user.getLockTime().plusMinutes(LOCK_TIME_DURATION_MINUTES);
-                if (LocalDateTime.now().isAfter(unlockTime)) {
-                    // Desbloquear automáticamente
-                    unlockAccount(username);
-                    return false;
-                }
+    }
+
+    /**
+     * Registra un fallo y devuelve el estado resultante. Si el fallo completa la ventana, bloquea la cuenta
+     * y guarda el bloqueo.
+     */
+    public LoginStatus loginFailed(String username) {
+        long now = System.currentTimeMillis();
+        Stripe stripe = stripeFor(username);
+        LoginStatus status;
+        synchronized (stripe) {
+            Attempts attempts = stripe.computeIfAbsent(username, k -> new Attempts());
+            attempts.failures[attempts.next] = now;
+            attempts.next = (attempts.next + 1) % MAX_FAILED_ATTEMPTS;
+            if (recentFailures(attempts, now) >= MAX_FAILED_ATTEMPTS) {
+                attempts.lockedUntil = now + LOCK_MILLIS;
+                Arrays.fill(attempts.failures, 0);
             }
-            return true;
+            status = statusOf(attempts, now);
+        }
+
+        if (status.locked()) {
+            userRepository.lockAccount(username, LocalDateTime.now(), MAX_FAILED_ATTEMPTS);
+            log.warn("Cuenta bloqueada para usuario: {} después de {} intentos fallidos",
+                     username, MAX_FAILED_ATTEMPTS);
+        } else {
+            log.warn("Intento de login fallido para usuario: {}. Intentos: {}/{}",
+                     username, MAX_FAILED_ATTEMPTS - status.attemptsRemaining(), MAX_FAILED_ATTEMPTS);
         }
-        
-        return false;
+        return status;
     }
 
-    @Transactional
-    public void unlockAccount(String username) {
-        User user = userRepository.findByUsername(username);
-        if (user != null) {
-            user.setAccountLocked(false);
+    /**
+     * Olvida los fallos del usuario. Solo escribe si la fila tenía un bloqueo guardado (ya caducado, o la
+     * autenticación no habría pasado).
+     */
+    public void loginSucceeded(User user) {
+        Stripe stripe = stripeFor(user.getUsername());
+        synchronized (stripe) {
+            stripe.remove(user.getUsername());
+        }
+        if (Boolean.TRUE.equals(user.getAccountLocked())
+                || (user.getFailedAttempts() != null && user.getFailedAttempts() > 0)) {
             user.setFailedAttempts(0);
+            user.setAccountLocked(false);
             user.setLockTime(null);
-            userRepository.save(user);
-            log.info("Cuenta desbloqueada para usuario: {}", username);
+            userRepository.unlockAccount(user.getUsername());
+            log.info("Login exitoso para usuario: {}. Intentos fallidos reseteados.", user.getUsername());
+        }
+    }
+
+    public void unlockAccount(String username) {
+        Stripe stripe = stripeFor(username);
+        synchronized (stripe) {
+            stripe.remove(username);
         }
+        userRepository.unlockAccount(username);
+        log.info("Cuenta desbloqueada para usuario: {}", username);
     }
 
-    public long getLockTimeRemaining(String username) {
-        User user = userRepository.findByUsername(username);
-        if (user != null && user.getAccountLocked() != null && user.getAccountLocked()) {
-            if (user.getLockTime() != null) {
-                LocalDateTime unlockTime = user.getLockTime().plusMinutes(LOCK_TIME_DURATION_MINUTES);
-                long minutesRemaining = java.time.Duration.between(LocalDateTime.now(), unlockTime).toMinutes();
-                return Math.max(0, minutesRemaining);
+    private static LoginStatus statusOf(Attempts attempts, long now) {
+        if (attempts == null) {
+            return new LoginStatus(false, 0, MAX_FAILED_ATTEMPTS);
+        }
+        if (now < attempts.lockedUntil) {
+            long minutesRemaining = (attempts.lockedUntil - now + 59_999) / 60_000;
+            return new LoginStatus(true, minutesRemaining, 0);
+        }
+        return new LoginStatus(false, 0, MAX_FAILED_ATTEMPTS - recentFailures(attempts, now));
+    }
+
+    private static int recentFailures(Attempts attempts, long now) {
+        int count = 0;
+        for (long failure : attempts.failures) {
+            if (failure > 0 && now - failure < FAILURE_WINDOW_MILLIS) {
+                count++;
             }
         }
-        return 0;
+        return count;
     }
-    public int getAttemptsRemaining(String username) {
-        User user = userRepository.findByUsername(username);
-        if (user != null && user.getFailedAttempts() != null) {
-            return Math.max(0, MAX_FAILED_ATTEMPTS - user.getFailedAttempts());
+
+    private Stripe stripeFor(String username) {
+        int hash = username.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static Stripe[] createStripes() {
+        Stripe[] stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
         }
-        return MAX_FAILED_ATTEMPTS;
+        return stripes;
     }
 }
-
@@ -1,12 +1,15 @@
 package com.misacordes.application.services;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.misacordes.application.config.GlobalExceptionHandler.BusinessException;
 import com.misacordes.application.dto.request.AddSongToPlaylistRequest;
 import com.misacordes.application.dto.request.CreatePlaylistRequest;
-import com.misacordes.application.dto.request.SongWithChordsRequest;
+import com.misacordes.application.dto.request.LineWithChords;
+import com.misacordes.application.dto.request.PlaylistSongsPatchRequest;
 import com.misacordes.application.dto.request.UpdatePlaylistRequest;
+import com.misacordes.application.dto.response.CursorPageResponse;
+import com.misacordes.application.dto.response.PlaylistSongChangeResponse;
+import com.misacordes.application.dto.response.PlaylistSongsPatchResponse;
 import com.misacordes.application.dto.response.PlaylistResponse;
 import com.misacordes.application.dto.response.PlaylistSummaryResponse;
 import com.misacordes.application.dto.response.SongWithChordsResponse;
@@ -15,28 +18,69 @@ import com.misacordes.application.entities.PlaylistSong;
 import com.misacordes.application.entities.Song;
 import com.misacordes.application.entities.User;
 import com.misacordes.application.repositories.PlaylistRepository;
+import com.misacordes.application.repositories.PlaylistSongCount;
 import com.misacordes.application.repositories.PlaylistSongRepository;
 import com.misacordes.application.repositories.SongRepository;
-import com.misacordes.application.config.GlobalExceptionHandler.BusinessException;
+import com.misacordes.application.repositories.SongSummaryView;
+import com.misacordes.application.services.auth.UserCacheService;
+import com.misacordes.application.utils.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 @Transactional
 public class PlaylistService extends BaseService {
 
+    public static final int MAX_PAGE_SIZE = 50;
+    public static final int MAX_PATCH_OPERATIONS = 500;
+
+    // Hueco entre claves de orden consecutivas: deja sitio para colocar canciones entre dos sin renumerar
+    static final int ORDER_GAP = 1024;
+
+    // Las altas masivas van por JDBC: con ids IDENTITY Hibernate no agrupa los INSERT en lotes
+    private static final String INSERT_PLAYLIST_SONG =
+            "INSERT INTO playlist_songs (playlist_id, song_id, added_at, order_index) VALUES (?, ?, ?, ?)";
+
+    // Playlists públicas más recientes que se guardan en caché para servir la primera página
+    private static final int CACHED_PUBLIC_PLAYLISTS = 2 * MAX_PAGE_SIZE;
+    private static final String PUBLIC_PLAYLISTS_KEY = "newest";
+
     private final PlaylistRepository playlistRepository;
     private final PlaylistSongRepository playlistSongRepository;
     private final SongRepository songRepository;
-    private final ObjectMapper objectMapper;
+    private final SongLyricsService songLyricsService;
+    private final PlaylistTransposeAsyncService playlistTransposeAsyncService;
+    private final UserCacheService userCacheService;
+    private final Cache<String, List<PlaylistSummaryResponse>> publicPlaylistsCache;
+    private final JdbcTemplate jdbcTemplate;
 
     public PlaylistResponse createPlaylist(CreatePlaylistRequest request) {
-        User currentUser = getCurrentUser();
+        // Entidad completa: la respuesta incluye el nombre del creador
+        User currentUser = userCacheService.getUser(getCurrentUser().getId());
         
         if (playlistRepository.existsByUserIdAndName(currentUser.getId(), request.getName())) {
             throw new RuntimeException("Ya tienes una playlist con el nombre: " + request.getName());
@@ -51,7 +95,10 @@ public class PlaylistService extends BaseService {
                 .build();
         
         Playlist savedPlaylist = playlistRepository.save(playlist);
-        return mapToPlaylistResponse(savedPlaylist);
+        if (savedPlaylist.getIsPublic()) {
+            evictPublicPlaylists();
+        }
+        return mapToPlaylistResponse(savedPlaylist, 0L);
     }
 
     @Transactional(readOnly = true)
@@ -59,18 +106,20 @@ public class PlaylistService extends BaseService {
         User currentUser = getCurrentUser();
         List<Playlist> playlists = playlistRepository.findByUserIdOrderByCreatedAtDesc(currentUser.getId());
         
-        return playlists.stream()
-                .map(this::mapToPlaylistSummaryResponse)
-                .collect(Collectors.toList());
+        return mapToPlaylistSummaryResponses(playlists);
     }
 
+    /**
+     * Playlist con sus canciones en orden. Sin includeLyrics las canciones van sin letra y se leen con una
+     * proyección que no toca las columnas de acordes.
+     */
     @Transactional(readOnly = true)
-    public PlaylistResponse getPlaylistById(Long playlistId) {
+    public PlaylistResponse getPlaylistById(Long playlistId, boolean includeLyrics) {
         User currentUser = getCurrentUser();
         Playlist playlist = playlistRepository.findByIdAndUserId(playlistId, currentUser.getId())
                 .orElseThrow(() -> new RuntimeException("Playlist no encontrada"));
         
-        return mapToPlaylistResponseWithSongs(playlist);
+        return includeLyrics ? mapToPlaylistResponseWithSongs(playlist) : mapToPlaylistResponseWithSummaries(playlist);
     }
 
     public PlaylistResponse updatePlaylist(Long playlistId, UpdatePlaylistRequest request) {
@@ -90,12 +139,16 @@ public class PlaylistService extends BaseService {
             }
         }
         
+        boolean wasPublic = playlist.getIsPublic();
         if (request.getName() != null) playlist.setName(request.getName());
         if (request.getDescription() != null) playlist.setDescription(request.getDescription());
         if (request.getIsPublic() != null) playlist.setIsPublic(request.getIsPublic());
         
         Playlist updatedPlaylist = playlistRepository.save(playlist);
-        return mapToPlaylistResponse(updatedPlaylist);
+        if (wasPublic || updatedPlaylist.getIsPublic()) {
+            evictPublicPlaylists();
+        }
+        return mapToPlaylistResponse(updatedPlaylist, playlistRepository.countSongsInPlaylist(playlistId));
     }
 
     public void deletePlaylist(Long playlistId) {
@@ -113,11 +166,19 @@ public class PlaylistService extends BaseService {
         
         // Eliminar la playlist
         playlistRepository.delete(playlist);
+        if (playlist.getIsPublic()) {
+            evictPublicPlaylists();
+        }
     }
 
-    public PlaylistResponse addSongToPlaylist(Long playlistId, AddSongToPlaylistRequest request) {
+    /**
+     * Añade una canción en la posición pedida (0 = primera) o al final. Al final basta con escribir su fila
+     * mientras la clave mayor más el hueco quepa en un int; en otro caso se coloca como en patchSongs.
+     */
+    public PlaylistSongChangeResponse addSongToPlaylist(Long playlistId, AddSongToPlaylistRequest request) {
         User currentUser = getCurrentUser();
-        Playlist playlist = playlistRepository.findByIdAndUserId(playlistId, currentUser.getId())
+        // Mismo bloqueo que patchSongs: un alta y un PATCH concurrentes calcularían claves a partir del mismo estado
+        Playlist playlist = playlistRepository.findWithLockByIdAndUserId(playlistId, currentUser.getId())
                 .orElseThrow(() -> new RuntimeException("Playlist no encontrada"));
         
         Song song = songRepository.findById(request.getSongId())
@@ -131,23 +192,36 @@ public class PlaylistService extends BaseService {
             throw new RuntimeException("La canción ya está en esta playlist");
         }
         
-        Integer orderIndex = request.getOrderIndex();
-        if (orderIndex == null) {
-            orderIndex = playlistSongRepository.getNextOrderIndex(playlistId);
+        if (request.getOrderIndex() == null) {
+            long appendKey = (long) playlistSongRepository.getMaxOrderIndex(playlistId) + ORDER_GAP;
+            if (appendKey <= Integer.MAX_VALUE) {
+                PlaylistSong playlistSong = PlaylistSong.builder()
+                        .playlist(playlist)
+                        .song(song)
+                        .orderIndex((int) appendKey)
+                        .build();
+
+                playlistSongRepository.save(playlistSong);
+                if (playlist.getIsPublic()) {
+                    evictPublicPlaylists();
+                }
+                return songChange(playlistId, song.getId(), (int) appendKey);
+            }
         }
-        
-        PlaylistSong playlistSong = PlaylistSong.builder()
-                .playlist(playlist)
-                .song(song)
-                .orderIndex(orderIndex)
-                .build();
-        
-        playlistSongRepository.save(playlistSong);
-        
-        return mapToPlaylistResponseWithSongs(playlist);
+
+        // Posición explícita, o sin hueco tras la clave mayor: clave entre las vecinas o renumeración
+        List<OrderedSong> songs = loadOrderedSongs(playlistId);
+        int position = request.getOrderIndex() != null
+                ? Math.max(0, Math.min(request.getOrderIndex(), songs.size()))
+                : songs.size();
+        OrderedSong added = new OrderedSong(null, song.getId(), null);
+        place(songs, position, added);
+        applySongsPatch(playlist, songs, List.of());
+
+        return songChange(playlistId, song.getId(), added.orderIndex);
     }
 
-    public PlaylistResponse removeSongFromPlaylist(Long playlistId, Long songId) {
+    public PlaylistSongChangeResponse removeSongFromPlaylist(Long playlistId, Long songId) {
         User currentUser = getCurrentUser();
         Playlist playlist = playlistRepository.findByIdAndUserId(playlistId, currentUser.getId())
                 .orElseThrow(() -> new RuntimeException("Playlist no encontrada"));
@@ -155,33 +229,339 @@ public class PlaylistService extends BaseService {
         PlaylistSong playlistSong = playlistSongRepository.findByPlaylistIdAndSongId(playlistId, songId)
                 .orElseThrow(() -> new RuntimeException("La canción no está en esta playlist"));
         
-        // Actualizar índices de orden
-        playlistSongRepository.updateOrderIndexesAfterRemoval(playlistId, playlistSong.getOrderIndex());
-        
-        // Eliminar la relación
+        // Las claves de orden son dispersas: el resto de canciones no cambia
         playlistSongRepository.delete(playlistSong);
+        if (playlist.getIsPublic()) {
+            evictPublicPlaylists();
+        }
         
-        return mapToPlaylistResponseWithSongs(playlist);
+        return songChange(playlistId, songId, playlistSong.getOrderIndex());
     }
 
+    /**
+     * Aplica en orden una lista de altas, bajas y movimientos en una sola transacción; si una operación no es
+     * válida no se aplica ninguna. Colocar una canción solo escribe su fila mientras quede hueco entre sus
+     * vecinas; si no lo hay se renumera la playlist entera una vez.
+     */
+    public PlaylistSongsPatchResponse patchSongs(Long playlistId, PlaylistSongsPatchRequest request) {
+        List<PlaylistSongsPatchRequest.Operation> operations = request.getOperations();
+        if (operations == null || operations.isEmpty()) {
+            throw new BusinessException("No hay operaciones que aplicar");
+        }
+        if (operations.size() > MAX_PATCH_OPERATIONS) {
+            throw new BusinessException("Como máximo " + MAX_PATCH_OPERATIONS + " operaciones por petición");
+        }
 
+        User currentUser = getCurrentUser();
+        // Bloqueo de la playlist: dos PATCH concurrentes calcularían claves a partir del mismo estado
+        Playlist playlist = playlistRepository.findWithLockByIdAndUserId(playlistId, currentUser.getId())
+                .orElseThrow(() -> new RuntimeException("Playlist no encontrada"));
+
+        List<OrderedSong> songs = loadOrderedSongs(playlistId);
+        Set<Long> addable = findAddableSongIds(operations, currentUser.getId());
+        List<PlaylistSong> removed = new ArrayList<>();
+        for (PlaylistSongsPatchRequest.Operation operation : operations) {
+            if (operation == null || operation.getOp() == null || operation.getSongId() == null) {
+                throw new BusinessException("Cada operación necesita op y songId");
+            }
+            Long songId = operation.getSongId();
+            int index = indexOf(songs, songId);
+            switch (operation.getOp()) {
+                case ADD -> {
+                    if (!addable.contains(songId)) {
+                        throw new BusinessException("No puedes añadir la canción " + songId + " a tu playlist");
+                    }
+                    if (index >= 0) {
+                        throw new BusinessException("La canción " + songId + " ya está en esta playlist");
+                    }
+                    place(songs, targetPosition(songs, operation), new OrderedSong(null, songId, null));
+                }
+                case REMOVE -> {
+                    OrderedSong song = songs.remove(requireIndex(index, songId));
+                    if (song.entity != null) {
+                        removed.add(song.entity);
+                    }
+                }
+                case MOVE -> {
+                    OrderedSong song = songs.remove(requireIndex(index, songId));
+                    place(songs, targetPosition(songs, operation), song);
+                }
+            }
+        }
+
+        return applySongsPatch(playlist, songs, removed);
+    }
+
+    // Canciones de la playlist en orden; las filas sin clave (anteriores a las claves dispersas) se renumeran
+    private List<OrderedSong> loadOrderedSongs(Long playlistId) {
+        List<OrderedSong> songs = new ArrayList<>();
+        boolean missingKeys = false;
+        for (PlaylistSong playlistSong : playlistSongRepository.findByPlaylistIdOrderByOrderIndexAsc(playlistId)) {
+            songs.add(new OrderedSong(playlistSong, playlistSong.getSong().getId(), playlistSong.getOrderIndex()));
+            missingKeys |= playlistSong.getOrderIndex() == null;
+        }
+        if (missingKeys) {
+            renumber(songs);
+        }
+        return songs;
+    }
+
+    private PlaylistSongsPatchResponse applySongsPatch(Playlist playlist, List<OrderedSong> songs,
+                                                       List<PlaylistSong> removed) {
+        List<PlaylistSongsPatchResponse.SongOrder> orderChanges = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (OrderedSong song : songs) {
+            if (song.entity != null && Objects.equals(song.entity.getOrderIndex(), song.orderIndex)) {
+                continue;
+            }
+            if (song.entity == null) {
+                inserts.add(new Object[]{playlist.getId(), song.songId, now, song.orderIndex});
+            } else {
+                // Se escribe por dirty checking; el flush agrupa los UPDATE en lotes
+                song.entity.setOrderIndex(song.orderIndex);
+            }
+            orderChanges.add(PlaylistSongsPatchResponse.SongOrder.builder()
+                    .songId(song.songId)
+                    .orderIndex(song.orderIndex)
+                    .build());
+        }
+
+        List<Long> removedSongIds = new ArrayList<>();
+        for (PlaylistSong playlistSong : removed) {
+            Long songId = playlistSong.getSong().getId();
+            // Una canción quitada y vuelta a añadir en la misma petición aparece como alta
+            if (indexOf(songs, songId) < 0) {
+                removedSongIds.add(songId);
+            }
+        }
+
+        playlistSongRepository.deleteAll(removed);
+        // Bajas y cambios de orden antes de las altas por JDBC, que no pasan por el contexto de persistencia
+        playlistSongRepository.flush();
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PLAYLIST_SONG, inserts);
+        }
+        if (playlist.getIsPublic() && (!inserts.isEmpty() || !removed.isEmpty())) {
+            evictPublicPlaylists();
+        }
+
+        return PlaylistSongsPatchResponse.builder()
+                .playlistId(playlist.getId())
+                .songCount((long) songs.size())
+                .orderChanges(orderChanges)
+                .removedSongIds(removedSongIds)
+                .build();
+    }
+
+    // Canción de la playlist mientras se aplica un PATCH; entity es null en las altas
+    private static final class OrderedSong {
+        private final PlaylistSong entity;
+        private final Long songId;
+        private Integer orderIndex;
+
+        private OrderedSong(PlaylistSong entity, Long songId, Integer orderIndex) {
+            this.entity = entity;
+            this.songId = songId;
+            this.orderIndex = orderIndex;
+        }
+    }
+
+    // Una sola consulta para comprobar todas las altas: canciones públicas o del propio usuario
+    private Set<Long> findAddableSongIds(List<PlaylistSongsPatchRequest.Operation> operations, Long userId) {
+        Set<Long> requested = new HashSet<>();
+        for (PlaylistSongsPatchRequest.Operation operation : operations) {
+            if (operation != null && operation.getOp() == PlaylistSongsPatchRequest.OperationType.ADD
+                    && operation.getSongId() != null) {
+                requested.add(operation.getSongId());
+            }
+        }
+        return requested.isEmpty() ? Set.of() : new HashSet<>(songRepository.findAddableIds(requested, userId));
+    }
+
+    private static int indexOf(List<OrderedSong> songs, Long songId) {
+        for (int i = 0; i < songs.size(); i++) {
+            if (songs.get(i).songId.equals(songId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int requireIndex(int index, Long songId) {
+        if (index < 0) {
+            throw new BusinessException("La canción " + songId + " no está en esta playlist");
+        }
+        return index;
+    }
+
+    private static int targetPosition(List<OrderedSong> songs, PlaylistSongsPatchRequest.Operation operation) {
+        if (operation.getAfterSongId() != null && operation.getBeforeSongId() != null) {
+            throw new BusinessException("Indica afterSongId o beforeSongId, no ambos");
+        }
+        if (operation.getAfterSongId() != null) {
+            return anchorIndex(songs, operation.getAfterSongId()) + 1;
+        }
+        if (operation.getBeforeSongId() != null) {
+            return anchorIndex(songs, operation.getBeforeSongId());
+        }
+        return songs.size();
+    }
+
+    private static int anchorIndex(List<OrderedSong> songs, Long anchorSongId) {
+        int index = indexOf(songs, anchorSongId);
+        if (index < 0) {
+            throw new BusinessException("La canción de referencia " + anchorSongId + " no está en esta playlist");
+        }
+        return index;
+    }
+
+    /**
+     * Inserta la canción en position con una clave entre las de sus vecinas, o renumera si no queda hueco.
+     */
+    private static void place(List<OrderedSong> songs, int position, OrderedSong song) {
+        Integer previous = position > 0 ? songs.get(position - 1).orderIndex : null;
+        Integer next = position < songs.size() ? songs.get(position).orderIndex : null;
+        Integer key = orderKeyBetween(previous, next);
+        songs.add(position, song);
+        if (key != null) {
+            song.orderIndex = key;
+        } else {
+            renumber(songs);
+        }
+    }
+
+    /**
+     * Clave estrictamente entre previous y next (null = sin vecina a ese lado), siempre positiva,
+     * o null si no cabe ninguna.
+     */
+    static Integer orderKeyBetween(Integer previous, Integer next) {
+        long low = previous != null ? previous : 0;
+        long high = next != null ? next : (long) Integer.MAX_VALUE + 1;
+        if (previous != null && next == null && low + ORDER_GAP < high) {
+            return (int) (low + ORDER_GAP);
+        }
+        if (previous == null && next != null && high - ORDER_GAP > low) {
+            return (int) (high - ORDER_GAP);
+        }
+        if (previous == null && next == null) {
+            return ORDER_GAP;
+        }
+        return high - low >= 2 ? (int) (low + (high - low) / 2) : null;
+    }
+
+    private static void renumber(List<OrderedSong> songs) {
+        for (int i = 0; i < songs.size(); i++) {
+            songs.get(i).orderIndex = (i + 1) * ORDER_GAP;
+        }
+    }
+
+    private PlaylistSongChangeResponse songChange(Long playlistId, Long songId, Integer orderIndex) {
+        return PlaylistSongChangeResponse.builder()
+                .playlistId(playlistId)
+                .songId(songId)
+                .orderIndex(orderIndex)
+                .songCount(playlistRepository.countSongsInPlaylist(playlistId))
+                .build();
+    }
+
+
+    /**
+     * Transpone todas las canciones de la playlist en paralelo. Los resultados se devuelven en el orden de la
+     * playlist; songSemitones permite un valor distinto por canción y semitones es el valor por defecto.
+     */
     @Transactional(readOnly = true)
-    public List<PlaylistSummaryResponse> getPublicPlaylists() {
+    public List<CompletableFuture<SongWithChordsResponse>> transposePlaylist(Long playlistId, int semitones,
+                                                                            Map<Long, Integer> songSemitones) {
         User currentUser = getCurrentUser();
-        List<Playlist> playlists = playlistRepository.findPublicPlaylistsExcludingUser(currentUser.getId());
-        
-        return playlists.stream()
-                .map(this::mapToPlaylistSummaryResponse)
-                .collect(Collectors.toList());
+        Playlist playlist = playlistRepository.findByIdAndUserId(playlistId, currentUser.getId())
+                .orElseThrow(() -> new RuntimeException("Playlist no encontrada"));
+
+        List<PlaylistSong> playlistSongs = playlistSongRepository.findByPlaylistIdWithSongDetails(playlist.getId());
+        List<CompletableFuture<SongWithChordsResponse>> songs = new ArrayList<>(playlistSongs.size());
+        for (PlaylistSong playlistSong : playlistSongs) {
+            Song song = playlistSong.getSong();
+            int songShift = songSemitones != null ? songSemitones.getOrDefault(song.getId(), semitones) : semitones;
+            songs.add(playlistTransposeAsyncService.transposeAsync(song, songShift)
+                    .handle((transposed, error) -> {
+                        if (error != null) {
+                            // Una canción ilegible no corta el resto de la playlist: se envía sin letra
+                            log.warn("No se pudo transponer la canción {} de la playlist {}: {}",
+                                    song.getId(), playlistId, error.getMessage());
+                            return mapToSongWithChordsResponse(song, null, song.getKey());
+                        }
+                        return mapToSongWithChordsResponse(song, transposed.lyrics(), transposed.key());
+                    }));
+        }
+        return songs;
     }
 
+    /**
+     * Playlists públicas de otros usuarios, de la más reciente a la más antigua, paginadas por cursor.
+     * La primera página sale de la caché de playlists públicas recientes mientras tenga suficientes de otros usuarios.
+     */
     @Transactional(readOnly = true)
-    public List<PlaylistSummaryResponse> searchPublicPlaylists(String query) {
-        List<Playlist> playlists = playlistRepository.findPublicPlaylistsByNameContaining(query);
-        
-        return playlists.stream()
-                .map(this::mapToPlaylistSummaryResponse)
-                .collect(Collectors.toList());
+    public CursorPageResponse<PlaylistSummaryResponse> getPublicPlaylists(String cursor, int size) {
+        User currentUser = getCurrentUser();
+        int limit = clampPageSize(size);
+
+        if (cursor == null || cursor.isBlank()) {
+            CursorPageResponse<PlaylistSummaryResponse> cached = firstPublicPageFromCache(currentUser.getId(), limit);
+            if (cached != null) {
+                return cached;
+            }
+            return toCursorPage(mapToPlaylistSummaryResponses(playlistRepository.findPublicPlaylistsExcludingUser(
+                    currentUser.getId(), PageRequest.of(0, limit + 1))), limit);
+        }
+
+        KeysetCursor after = decodeCursor(cursor);
+        return toCursorPage(mapToPlaylistSummaryResponses(playlistRepository.findPublicPlaylistsExcludingUserAfter(
+                currentUser.getId(), after.createdAt(), after.id(), PageRequest.of(0, limit + 1))), limit);
+    }
+
+    /**
+     * Playlists públicas cuyo nombre empieza por query, sin distinguir mayúsculas ni acentos, paginadas por cursor.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<PlaylistSummaryResponse> searchPublicPlaylists(String query, String cursor, int size) {
+        int limit = clampPageSize(size);
+        String prefix = likePrefix(Playlist.normalizeName(query));
+
+        List<Playlist> playlists;
+        if (cursor == null || cursor.isBlank()) {
+            playlists = playlistRepository.findPublicPlaylistsByNamePrefix(prefix, PageRequest.of(0, limit + 1));
+        } else {
+            KeysetCursor after = decodeCursor(cursor);
+            playlists = playlistRepository.findPublicPlaylistsByNamePrefixAfter(prefix, after.createdAt(), after.id(),
+                    PageRequest.of(0, limit + 1));
+        }
+        return toCursorPage(mapToPlaylistSummaryResponses(playlists), limit);
+    }
+
+    /**
+     * Rellena normalized_name en las playlists creadas antes de que existiera la columna.
+     */
+    @Async("songAnalyticsExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void backfillNormalizedNames() {
+        int updated = 0;
+        List<Playlist> batch;
+        while (!(batch = playlistRepository.findTop500ByNormalizedNameIsNull()).isEmpty()) {
+            int batchUpdated = 0;
+            for (Playlist playlist : batch) {
+                batchUpdated += playlistRepository.updateNormalizedName(playlist.getId(),
+                        Playlist.normalizeName(playlist.getName()));
+            }
+            if (batchUpdated == 0) {
+                break;
+            }
+            updated += batchUpdated;
+        }
+        if (updated > 0) {
+            log.info("Nombre normalizado calculado para {} playlists", updated);
+            publicPlaylistsCache.invalidateAll();
+        }
     }
 
     public void createDefaultPlaylistsForUser(User user) {
@@ -206,11 +586,94 @@ public class PlaylistService extends BaseService {
         playlistRepository.save(myCreations);
     }
 
+    // ========== PAGINACIÓN DE PLAYLISTS PÚBLICAS ==========
+
+    /**
+     * Primera página a partir de la caché, o null si la caché no tiene suficientes playlists de otros usuarios
+     * para saber si hay página siguiente.
+     */
+    private CursorPageResponse<PlaylistSummaryResponse> firstPublicPageFromCache(long userId, int limit) {
+        List<PlaylistSummaryResponse> newest = publicPlaylistsCache.get(PUBLIC_PLAYLISTS_KEY, key ->
+                List.copyOf(mapToPlaylistSummaryResponses(
+                        playlistRepository.findNewestPublicPlaylists(PageRequest.of(0, CACHED_PUBLIC_PLAYLISTS)))));
+
+        List<PlaylistSummaryResponse> page = new ArrayList<>(limit + 1);
+        for (PlaylistSummaryResponse playlist : newest) {
+            if (playlist.getCreatedBy().getId() != userId) {
+                page.add(playlist);
+                if (page.size() > limit) {
+                    break;
+                }
+            }
+        }
+        if (page.size() <= limit && newest.size() >= CACHED_PUBLIC_PLAYLISTS) {
+            // Puede haber más playlists de otros usuarios fuera de la caché
+            return null;
+        }
+        return toCursorPage(page, limit);
+    }
+
+    /**
+     * rows trae como mucho limit + 1 filas; la fila extra solo indica que hay página siguiente.
+     */
+    private static CursorPageResponse<PlaylistSummaryResponse> toCursorPage(List<PlaylistSummaryResponse> rows,
+                                                                            int limit) {
+        boolean hasNext = rows.size() > limit;
+        List<PlaylistSummaryResponse> content = hasNext ? new ArrayList<>(rows.subList(0, limit)) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            PlaylistSummaryResponse last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return CursorPageResponse.<PlaylistSummaryResponse>builder()
+                .content(content)
+                .numberOfElements(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+
+    private static KeysetCursor decodeCursor(String cursor) {
+        try {
+            return KeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Cursor de paginación no válido");
+        }
+    }
+
+    // '!' es el carácter de escape de las consultas por prefijo
+    private static String likePrefix(String normalized) {
+        StringBuilder prefix = new StringBuilder(normalized.length() + 1);
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c == '!' || c == '%' || c == '_') {
+                prefix.append('!');
+            }
+            prefix.append(c);
+        }
+        return prefix.append('%').toString();
+    }
+
+    private void evictPublicPlaylists() {
+        publicPlaylistsCache.invalidateAll();
+        // Otra vez tras el commit: una lectura concurrente puede haber vuelto a llenar la caché con datos anteriores
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publicPlaylistsCache.invalidateAll();
+                }
+            });
+        }
+    }
+
     // ========== MÉTODOS PRIVADOS DE MAPEO ==========
 
-    private PlaylistResponse mapToPlaylistResponse(Playlist playlist) {
-        Long songCount = playlistRepository.countSongsInPlaylist(playlist.getId());
-        
+    private PlaylistResponse mapToPlaylistResponse(Playlist playlist, Long songCount) {
         return PlaylistResponse.builder()
                 .id(playlist.getId())
                 .name(playlist.getName())
@@ -253,9 +716,37 @@ public class PlaylistService extends BaseService {
                 .build();
     }
 
-    private PlaylistSummaryResponse mapToPlaylistSummaryResponse(Playlist playlist) {
-        Long songCount = playlistRepository.countSongsInPlaylist(playlist.getId());
-        
+    /**
+     * Mapea un listado con una sola consulta de conteo para todas las playlists; el propietario ya viene
+     * cargado por la consulta del listado.
+     */
+    private List<PlaylistSummaryResponse> mapToPlaylistSummaryResponses(List<Playlist> playlists) {
+        if (playlists.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> playlistIds = playlists.stream().map(Playlist::getId).collect(Collectors.toList());
+        Map<Long, Long> songCounts = new HashMap<>();
+        for (PlaylistSongCount count : playlistRepository.countSongsByPlaylistIds(playlistIds)) {
+            songCounts.put(count.playlistId(), count.songCount());
+        }
+
+        return playlists.stream()
+                .map(playlist -> mapToPlaylistSummaryResponse(playlist, songCounts.getOrDefault(playlist.getId(), 0L)))
+                .collect(Collectors.toList());
+    }
+
+    private PlaylistResponse mapToPlaylistResponseWithSummaries(Playlist playlist) {
+        List<SongWithChordsResponse> songs = playlistSongRepository.findSongSummariesByPlaylistId(playlist.getId())
+                .stream()
+                .map(this::mapToSongWithoutLyrics)
+                .collect(Collectors.toList());
+
+        PlaylistResponse response = mapToPlaylistResponse(playlist, (long) songs.size());
+        response.setSongs(songs);
+        return response;
+    }
+
+    private PlaylistSummaryResponse mapToPlaylistSummaryResponse(Playlist playlist, Long songCount) {
         return PlaylistSummaryResponse.builder()
                 .id(playlist.getId())
                 .name(playlist.getName())
@@ -273,38 +764,54 @@ public class PlaylistService extends BaseService {
                 .build();
     }
 
+    private SongWithChordsResponse mapToSongWithoutLyrics(SongSummaryView view) {
+        return SongWithChordsResponse.builder()
+            .id(view.id())
+            .title(view.title())
+            .artist(view.artist())
+            .album(view.album())
+            .year(view.year())
+            .key(view.key())
+            .tempo(view.tempo())
+            .coverImageUrl(view.coverImageUrl())
+            .coverColor(view.coverColor())
+            .status(view.status())
+            .isPublic(view.isPublic())
+            .rejectionReason(view.rejectionReason())
+            .createdAt(view.createdAt())
+            .publishedAt(view.publishedAt())
+            .createdBy(SongWithChordsResponse.CreatorInfo.builder()
+                    .id(view.createdById())
+                    .username(view.createdByUsername())
+                    .firstname(view.createdByFirstname())
+                    .build())
+            .build();
+    }
+
     private SongWithChordsResponse mapToSongWithChordsResponse(Song song) {
-        try {
-            SongWithChordsRequest songData = null;
-            if (song.getChordsMap() != null && !song.getChordsMap().trim().isEmpty()) {
-                songData = objectMapper.readValue(
-                    song.getChordsMap(), 
-                    new TypeReference<SongWithChordsRequest>() {}
-                );
-            }
-            
-            return SongWithChordsResponse.builder()
-                .id(song.getId())
-                .title(song.getTitle())
-                .artist(song.getArtist())
-                .album(song.getAlbum())
-                .year(song.getYear())
-                .key(songData != null ? songData.getKey() : null)
-                .tempo(songData != null ? songData.getTempo() : null)
-                .status(song.getStatus())
-                .isPublic(song.getIsPublic())
-                .rejectionReason(song.getRejectionReason())
-                .createdAt(song.getCreatedAt())
-                .publishedAt(song.getPublishedAt())
-                .lyrics(songData != null ? songData.getLyrics() : null)
-                .createdBy(SongWithChordsResponse.CreatorInfo.builder()
-                        .id(song.getCreatedBy().getId())
-                        .username(song.getCreatedBy().getUsername())
-                        .firstname(song.getCreatedBy().getFirstname())
-                        .build())
-                .build();
-        } catch (JsonProcessingException e) {
-            throw new BusinessException("Error parsing song chords map: " + e.getMessage());
-        }
+        return mapToSongWithChordsResponse(song, songLyricsService.readLyrics(song), song.getKey());
+    }
+
+    private SongWithChordsResponse mapToSongWithChordsResponse(Song song, List<LineWithChords> lyrics, String key) {
+        return SongWithChordsResponse.builder()
+            .id(song.getId())
+            .title(song.getTitle())
+            .artist(song.getArtist())
+            .album(song.getAlbum())
+            .year(song.getYear())
+            .key(key)
+            .tempo(song.getTempo())
+            .status(song.getStatus())
+            .isPublic(song.getIsPublic())
+            .rejectionReason(song.getRejectionReason())
+            .createdAt(song.getCreatedAt())
+            .publishedAt(song.getPublishedAt())
+            .lyrics(lyrics)
+            .createdBy(SongWithChordsResponse.CreatorInfo.builder()
+                    .id(song.getCreatedBy().getId())
+                    .username(song.getCreatedBy().getUsername())
+                    .firstname(song.getCreatedBy().getFirstname())
+                    .build())
+            .build();
     }
 }
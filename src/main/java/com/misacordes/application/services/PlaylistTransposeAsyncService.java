@@ -0,0 +1,24 @@
+package com.misacordes.application.services;
+
+import com.misacordes.application.entities.Song;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transpone canciones de una playlist en el pool acotado playlistTransposeExecutor.
+ * Recibe canciones ya cargadas y con permisos comprobados; no accede al contexto de seguridad.
+ */
+@Service
+@RequiredArgsConstructor
+public class PlaylistTransposeAsyncService {
+
+    private final SongLyricsService songLyricsService;
+
+    @Async("playlistTransposeExecutor")
+    public CompletableFuture<SongLyricsService.TransposedLyrics> transposeAsync(Song song, int semitones) {
+        return CompletableFuture.completedFuture(songLyricsService.readTransposed(song, semitones));
+    }
+}
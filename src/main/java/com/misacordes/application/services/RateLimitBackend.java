@@ -0,0 +1,20 @@
+package com.misacordes.application.services;
+
+/**
+ * Almacén de buckets de RateLimitService. Se elige con rate-limit.backend: "memory" (por defecto, límites por
+ * instancia) o "jdbc" (estado compartido en la base de datos para varias instancias tras un balanceador).
+ */
+public interface RateLimitBackend {
+
+    boolean tryConsume(RateLimitService.BucketKey key);
+
+    long availableTokens(RateLimitService.BucketKey key);
+
+    void reset(RateLimitService.BucketKey key);
+
+    void resetAll();
+
+    long liveBuckets();
+
+    long evictedBuckets();
+}
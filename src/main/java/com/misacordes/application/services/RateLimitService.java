@@ -1,83 +1,144 @@
 package com.misacordes.application.services;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
+import com.misacordes.application.dto.response.RateLimitStatsResponse;
+import com.misacordes.application.utils.IpAddresses;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Límites de peticiones por IP. El estado de los buckets lo guarda un RateLimitBackend
+ * (en memoria por instancia o compartido en la base de datos, según rate-limit.backend).
+ */
 @Service
+@RequiredArgsConstructor
 public class RateLimitService {
 
-    // Cache de buckets por IP
-    private final Map<String, Bucket> cache = new ConcurrentHashMap<>();
-    
     // Límites por tipo de operación
     private static final int LOGIN_ATTEMPTS_PER_MINUTE = 5;
     private static final int API_REQUESTS_PER_MINUTE = 60;
     private static final int REGISTRATION_ATTEMPTS_PER_HOUR = 3;
 
+    public enum Scope {
+        LOGIN(LOGIN_ATTEMPTS_PER_MINUTE, Duration.ofMinutes(1)),
+        REGISTER(REGISTRATION_ATTEMPTS_PER_HOUR, Duration.ofHours(1)),
+        API(API_REQUESTS_PER_MINUTE, Duration.ofMinutes(1));
+
+        private final int capacity;
+        private final Duration period;
+
+        Scope(int capacity, Duration period) {
+            this.capacity = capacity;
+            this.period = period;
+        }
+
+        public int capacity() {
+            return capacity;
+        }
+
+        public Duration period() {
+            return period;
+        }
+    }
+
+    /**
+     * Clave compacta de un bucket. IPv4 (también mapeada en IPv6) se guarda como ::ffff:a.b.c.d en low;
+     * IPv6 se agrupa por su prefijo /64 en high; cualquier otro texto se guarda como hash con high = -1.
+     */
+    public record BucketKey(Scope scope, long high, long low) {
+
+        private static final long IPV4_MAPPED = 0xFFFFL << 32;
+
+        public static BucketKey of(Scope scope, String ipAddress) {
+            long ipv4 = IpAddresses.parseIpv4(ipAddress);
+            if (ipv4 < 0) {
+                ipv4 = IpAddresses.parseIpv4Mapped(ipAddress);
+            }
+            if (ipv4 >= 0) {
+                return new BucketKey(scope, 0, IPV4_MAPPED | ipv4);
+            }
+            Long ipv6Prefix = IpAddresses.parseIpv6Prefix(ipAddress);
+            if (ipv6Prefix != null) {
+                return new BucketKey(scope, ipv6Prefix, 0);
+            }
+            return new BucketKey(scope, -1, hash(ipAddress));
+        }
+
+        private static long hash(String text) {
+            // FNV-1a de 64 bits
+            long hash = 0xcbf29ce484222325L;
+            if (text != null) {
+                for (int i = 0; i < text.length(); i++) {
+                    hash ^= text.charAt(i);
+                    hash *= 0x100000001b3L;
+                }
+            }
+            return hash;
+        }
+    }
+
+    private final RateLimitBackend rateLimitBackend;
+
+    private final Map<Scope, LongAdder> allowed = counters();
+    private final Map<Scope, LongAdder> rejected = counters();
+
     public boolean isLoginAllowed(String ipAddress) {
-        String key = "login:" + ipAddress;
-        Bucket bucket = cache.computeIfAbsent(key, k -> createLoginBucket());
-        return bucket.tryConsume(1);
+        return tryConsume(Scope.LOGIN, ipAddress);
     }
 
     public boolean isRegistrationAllowed(String ipAddress) {
-        String key = "register:" + ipAddress;
-        Bucket bucket = cache.computeIfAbsent(key, k -> createRegistrationBucket());
-        return bucket.tryConsume(1);
+        return tryConsume(Scope.REGISTER, ipAddress);
     }
 
     public boolean isApiRequestAllowed(String ipAddress) {
-        String key = "api:" + ipAddress;
-        Bucket bucket = cache.computeIfAbsent(key, k -> createApiRequestBucket());
-        return bucket.tryConsume(1);
+        return tryConsume(Scope.API, ipAddress);
     }
 
     public void reset(String ipAddress) {
-        cache.remove("login:" + ipAddress);
-        cache.remove("register:" + ipAddress);
-        cache.remove("api:" + ipAddress);
+        for (Scope scope : Scope.values()) {
+            rateLimitBackend.reset(BucketKey.of(scope, ipAddress));
+        }
     }
 
     public void resetAll() {
-        cache.clear();
+        rateLimitBackend.resetAll();
     }
 
+    public long getLoginAttemptsRemaining(String ipAddress) {
+        return rateLimitBackend.availableTokens(BucketKey.of(Scope.LOGIN, ipAddress));
+    }
 
-    private Bucket createLoginBucket() {
-        // 5 intentos de login por minuto por IP
-        Bandwidth limit = Bandwidth.classic(LOGIN_ATTEMPTS_PER_MINUTE, 
-            Refill.intervally(LOGIN_ATTEMPTS_PER_MINUTE, Duration.ofMinutes(1)));
-        return Bucket.builder()
-            .addLimit(limit)
-            .build();
+    public RateLimitStatsResponse getStats() {
+        return RateLimitStatsResponse.builder()
+                .liveBuckets(rateLimitBackend.liveBuckets())
+                .evictedBuckets(rateLimitBackend.evictedBuckets())
+                .allowed(snapshot(allowed))
+                .rejected(snapshot(rejected))
+                .build();
     }
 
-    private Bucket createRegistrationBucket() {
-        Bandwidth limit = Bandwidth.classic(REGISTRATION_ATTEMPTS_PER_HOUR,
-            Refill.intervally(REGISTRATION_ATTEMPTS_PER_HOUR, Duration.ofHours(1)));
-        return Bucket.builder()
-            .addLimit(limit)
-            .build();
+    private boolean tryConsume(Scope scope, String ipAddress) {
+        boolean consumed = rateLimitBackend.tryConsume(BucketKey.of(scope, ipAddress));
+        (consumed ? allowed : rejected).get(scope).increment();
+        return consumed;
     }
 
-    private Bucket createApiRequestBucket() {
-        Bandwidth limit = Bandwidth.classic(API_REQUESTS_PER_MINUTE,
-            Refill.intervally(API_REQUESTS_PER_MINUTE, Duration.ofMinutes(1)));
-        return Bucket.builder()
-            .addLimit(limit)
-            .build();
+    private static Map<Scope, LongAdder> counters() {
+        Map<Scope, LongAdder> counters = new EnumMap<>(Scope.class);
+        for (Scope scope : Scope.values()) {
+            counters.put(scope, new LongAdder());
+        }
+        return counters;
     }
 
-    public long getLoginAttemptsRemaining(String ipAddress) {
-        String key = "login:" + ipAddress;
-        Bucket bucket = cache.get(key);
-        return bucket != null ? bucket.getAvailableTokens() : LOGIN_ATTEMPTS_PER_MINUTE;
+    private static Map<String, Long> snapshot(Map<Scope, LongAdder> counters) {
+        Map<String, Long> values = new LinkedHashMap<>();
+        counters.forEach((scope, counter) -> values.put(scope.name(), counter.sum()));
+        return values;
     }
 }
-
@@ -1,94 +1,122 @@
 package com.misacordes.application.services;
 
+import com.misacordes.application.dto.request.LineWithChords;
 import com.misacordes.application.entities.Song;
+import com.misacordes.application.entities.SongAnalytics;
+import com.misacordes.application.repositories.SongAnalyticsRepository;
 import com.misacordes.application.repositories.SongRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Calcula y guarda en song_analytics la analítica de las canciones que aún no la tienen
+ * o cuya versión de contenido ha cambiado.
+ * Se ejecuta en el pool de analítica, sin contexto de seguridad: los permisos se comprueban antes de encolar.
+ */
 @Service("songAnalyticsAsyncService")
 @RequiredArgsConstructor
 @Slf4j
-public class SongAnalyticsAsyncService extends BaseService {
+public class SongAnalyticsAsyncService {
 
     private final SongAnalyticsService songAnalyticsService;
     private final SongRepository songRepository;
+    private final SongLyricsService songLyricsService;
+    private final SongAnalyticsRepository songAnalyticsRepository;
+
+    // Evita encolar varias veces la misma canción mientras su cálculo está pendiente
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public boolean tryReserve(Long songId) {
+        return inFlight.add(songId);
+    }
+
+    public void release(Long songId) {
+        inFlight.remove(songId);
+    }
 
     @Async("songAnalyticsExecutor")
     public void processSongAnalyticsAsync(Long songId) {
-        // Verificar que el usuario esté autenticado
-        verifyAuthenticated();
-        
         try {
             log.info("Iniciando procesamiento asíncrono de analítica para canción ID: {}", songId);
-            
+
             Optional<Song> songOpt = songRepository.findById(songId);
             if (songOpt.isEmpty()) {
                 log.warn("Canción con ID {} no encontrada para procesamiento asíncrono", songId);
                 return;
             }
-            
-            Song song = songOpt.get();
-            
-            // Procesar analítica
-            var analytics = songAnalyticsService.analyzeSongChords(song);
-
-            
-            log.info("Analítica procesada para canción '{}': {} acordes únicos, {} total acordes", 
-                song.getTitle(), 
-                analytics.getUniqueChords(), 
-                analytics.getTotalChords());
-
-            validateChordsAgainstCatalog(song);
-            
+
+            processSong(songOpt.get());
+
         } catch (Exception e) {
-            log.error("Error en procesamiento asíncrono de analítica para canción ID {}: {}", 
+            log.error("Error en procesamiento asíncrono de analítica para canción ID {}: {}",
                 songId, e.getMessage(), e);
+        } finally {
+            release(songId);
         }
     }
 
-    private void validateChordsAgainstCatalog(Song song) {
-        try {
-            var uniqueChords = songAnalyticsService.extractUniqueChords(song);
-            
-            log.info("Validando {} acordes únicos para canción '{}'", 
-                uniqueChords.size(), song.getTitle());
-
-            
-            for (String chordName : uniqueChords) {
-                if (chordName == null || chordName.trim().isEmpty()) {
-                    log.warn("Acorde vacío encontrado en canción '{}'", song.getTitle());
-                }
+    private boolean processSong(Song song) {
+        Optional<SongAnalytics> stored = songAnalyticsRepository.findById(song.getId());
+        if (stored.isPresent() && stored.get().getContentVersion() >= song.currentContentVersion()) {
+            return false;
+        }
+
+        List<LineWithChords> lyrics = songLyricsService.readLyrics(song);
+        SongAnalytics analytics = songAnalyticsService.computeAnalytics(song, lyrics != null ? lyrics : List.of());
+        songAnalyticsRepository.save(analytics);
+
+        log.info("Analítica guardada para canción '{}': {} acordes únicos, {} total acordes",
+            song.getTitle(),
+            analytics.getUniqueChords(),
+            analytics.getTotalChords());
+
+        validateChordsAgainstCatalog(song, analytics);
+        return true;
+    }
+
+    private void validateChordsAgainstCatalog(Song song, SongAnalytics analytics) {
+        var uniqueChords = analytics.getChordFrequency().keySet();
+
+        log.info("Validando {} acordes únicos para canción '{}'",
+            uniqueChords.size(), song.getTitle());
+
+        for (String chordName : uniqueChords) {
+            if (chordName == null || chordName.trim().isEmpty()) {
+                log.warn("Acorde vacío encontrado en canción '{}'", song.getTitle());
             }
-            
-        } catch (Exception e) {
-            log.error("Error validando acordes para canción '{}': {}", 
-                song.getTitle(), e.getMessage());
         }
     }
 
     @Async("songAnalyticsExecutor")
     public void processMultipleSongsAnalyticsAsync() {
-        verifyAdmin();
-        
         try {
             log.info("Iniciando procesamiento masivo de analítica");
-            
+
             var songs = songRepository.findAll();
             int processed = 0;
-            
+
             for (Song song : songs) {
-                if (song.getChordsMap() != null && !song.getChordsMap().trim().isEmpty()) {
-                    processSongAnalyticsAsync(song.getId());
-                    processed++;
+                if (!songLyricsService.hasLyrics(song)) {
+                    continue;
+                }
+                try {
+                    if (processSong(song)) {
+                        processed++;
+                    }
+                } catch (Exception e) {
+                    log.error("Error procesando analítica de la canción ID {}: {}", song.getId(), e.getMessage());
                 }
             }
-            
+
             log.info("Procesamiento masivo completado: {} canciones procesadas", processed);
-            
+
         } catch (Exception e) {
             log.error("Error en procesamiento masivo de analítica: {}", e.getMessage(), e);
         }
@@ -1,16 +1,15 @@
 package com.misacordes.application.services;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.misacordes.application.config.GlobalExceptionHandler.BusinessException;
 import com.misacordes.application.dto.request.LineWithChords;
-import com.misacordes.application.dto.request.SongWithChordsRequest;
 import com.misacordes.application.dto.response.SongAnalyticsResponse;
 import com.misacordes.application.entities.Song;
+import com.misacordes.application.entities.SongAnalytics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -19,48 +18,67 @@ import java.util.stream.Collectors;
 @Slf4j
 public class SongAnalyticsService extends BaseService {
 
-    private final ObjectMapper objectMapper;
+    private final SongLyricsService songLyricsService;
 
     public SongAnalyticsResponse analyzeSongChords(Song song) {
         // Verificar que el usuario esté autenticado
         verifyAuthenticated();
         
         try {
-            if (song.getChordsMap() == null || song.getChordsMap().trim().isEmpty()) {
+            List<LineWithChords> lyrics = songLyricsService.readLyrics(song);
+            if (lyrics == null) {
                 return createEmptyAnalytics(song);
             }
 
-            SongWithChordsRequest songData = objectMapper.readValue(
-                song.getChordsMap(), 
-                new TypeReference<SongWithChordsRequest>() {}
-            );
+            return analyzeSongData(song, lyrics);
 
-            return analyzeSongData(song, songData);
-
-        } catch (JsonProcessingException e) {
+        } catch (BusinessException e) {
             log.error("Error parsing chords map for song {}: {}", song.getId(), e.getMessage());
             return createEmptyAnalytics(song);
         }
     }
 
-    private SongAnalyticsResponse analyzeSongData(Song song, SongWithChordsRequest songData) {
-        List<LineWithChords> lyrics = songData.getLyrics();
-
-        int totalChords = lyrics.stream()
-            .mapToInt(line -> line.getChords() != null ? line.getChords().size() : 0)
-            .sum();
-        
-        int totalLines = lyrics.size();
+    private SongAnalyticsResponse analyzeSongData(Song song, List<LineWithChords> lyrics) {
+        return toResponse(song, computeAnalytics(song, lyrics));
+    }
 
+    /**
+     * Calcula la analítica a partir de la letra ya en memoria, sin volver a leer ni parsear la canción.
+     */
+    public SongAnalytics computeAnalytics(Song song, List<LineWithChords> lyrics) {
+        int totalChords = 0;
+        int maxChordsInLine = 0;
         Map<String, Integer> chordFrequency = new HashMap<>();
         for (LineWithChords line : lyrics) {
-            if (line.getChords() != null) {
-                for (var chord : line.getChords()) {
+            if (line.getChords() == null) {
+                continue;
+            }
+            totalChords += line.getChords().size();
+            maxChordsInLine = Math.max(maxChordsInLine, line.getChords().size());
+            for (var chord : line.getChords()) {
+                if (chord.getName() != null) {
                     chordFrequency.merge(chord.getName(), 1, Integer::sum);
                 }
             }
         }
 
+        return SongAnalytics.builder()
+            .songId(song.getId())
+            .contentVersion(song.currentContentVersion())
+            .totalChords(totalChords)
+            .uniqueChords(chordFrequency.size())
+            .totalLines(lyrics.size())
+            .maxChordsInLine(maxChordsInLine)
+            .chordFrequency(chordFrequency)
+            .computedAt(LocalDateTime.now())
+            .build();
+    }
+
+    public SongAnalyticsResponse toResponse(Song song, SongAnalytics analytics) {
+        int totalChords = analytics.getTotalChords();
+        int totalLines = analytics.getTotalLines();
+        Map<String, Integer> chordFrequency = analytics.getChordFrequency();
+
         String mostUsedChord = chordFrequency.entrySet().stream()
             .max(Map.Entry.comparingByValue())
             .map(Map.Entry::getKey)
@@ -79,25 +97,20 @@ public class SongAnalyticsService extends BaseService {
 
         double averageChordsPerLine = totalLines > 0 ? (double) totalChords / totalLines : 0.0;
         
-        int maxChordsInLine = lyrics.stream()
-            .mapToInt(line -> line.getChords() != null ? line.getChords().size() : 0)
-            .max()
-            .orElse(0);
-        
         return SongAnalyticsResponse.builder()
             .songId(song.getId())
             .title(song.getTitle())
             .totalChords(totalChords)
             .totalLines(totalLines)
-            .uniqueChords(chordFrequency.size())
+            .uniqueChords(analytics.getUniqueChords())
             .mostUsedChord(mostUsedChord)
             .mostUsedChordCount(mostUsedChordCount)
             .chordUsage(chordUsage)
             .chordFrequency(chordFrequency)
             .averageChordsPerLine(averageChordsPerLine)
-            .maxChordsInLine(maxChordsInLine)
-            .key(songData.getKey())
-            .tempo(songData.getTempo())
+            .maxChordsInLine(analytics.getMaxChordsInLine())
+            .key(song.getKey())
+            .tempo(song.getTempo())
             .build();
     }
 
@@ -119,35 +132,15 @@ public class SongAnalyticsService extends BaseService {
             .build();
     }
 
-    public boolean validateChordsMap(String chordsMapJson) {
-        // Verificar que el usuario esté autenticado
-        verifyAuthenticated();
-        
-        try {
-            if (chordsMapJson == null || chordsMapJson.trim().isEmpty()) {
-                return false;
-            }
-            
-            SongWithChordsRequest songData = objectMapper.readValue(
-                chordsMapJson, 
-                new TypeReference<SongWithChordsRequest>() {}
-            );
-
-            if (songData.getLyrics() == null || songData.getLyrics().isEmpty()) {
-                return false;
-            }
-
-            // Permitir líneas vacías (para espaciado, acordes instrumentales, etc.)
-            // Solo validamos que al menos UNA línea tenga texto
-            boolean hasAtLeastOneLineWithText = songData.getLyrics().stream()
-                .anyMatch(line -> line.getText() != null && !line.getText().trim().isEmpty());
-                
-            return hasAtLeastOneLineWithText;
-                
-        } catch (JsonProcessingException e) {
-            log.error("Invalid chords map JSON: {}", e.getMessage());
+    public boolean validateLyrics(List<LineWithChords> lyrics) {
+        if (lyrics == null || lyrics.isEmpty()) {
             return false;
         }
+
+        // Permitir líneas vacías (para espaciado, acordes instrumentales, etc.)
+        // Solo validamos que al menos UNA línea tenga texto
+        return lyrics.stream()
+            .anyMatch(line -> line != null && line.getText() != null && !line.getText().trim().isEmpty());
     }
 
     public Set<String> extractUniqueChords(Song song) {
@@ -155,24 +148,28 @@ public class SongAnalyticsService extends BaseService {
         verifyAuthenticated();
         
         try {
-            if (song.getChordsMap() == null || song.getChordsMap().trim().isEmpty()) {
+            List<LineWithChords> lyrics = songLyricsService.readLyrics(song);
+            if (lyrics == null) {
                 return Collections.emptySet();
             }
 
-            SongWithChordsRequest songData = objectMapper.readValue(
-                song.getChordsMap(), 
-                new TypeReference<SongWithChordsRequest>() {}
-            );
+            return uniqueChords(lyrics);
 
-            return songData.getLyrics().stream()
-                .filter(line -> line.getChords() != null)
-                .flatMap(line -> line.getChords().stream())
-                .map(chord -> chord.getName())
-                .collect(Collectors.toSet());
-
-        } catch (JsonProcessingException e) {
+        } catch (BusinessException e) {
             log.error("Error extracting chords from song {}: {}", song.getId(), e.getMessage());
             return Collections.emptySet();
         }
     }
+
+    /**
+     * Conjunto de nombres de acordes distintos de una letra, en orden de aparición.
+     */
+    public Set<String> uniqueChords(List<LineWithChords> lyrics) {
+        return lyrics.stream()
+            .filter(line -> line.getChords() != null)
+            .flatMap(line -> line.getChords().stream())
+            .map(chord -> chord.getName())
+            .filter(Objects::nonNull)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
 }
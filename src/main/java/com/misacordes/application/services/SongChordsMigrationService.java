@@ -0,0 +1,47 @@
+package com.misacordes.application.services;
+
+import com.misacordes.application.repositories.SongRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Migra en segundo plano las filas con chordsMap en JSON al formato binario.
+ * Se ejecuta fuera de la transacción de la petición para no bloquear la fila que esta pueda tener tomada.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SongChordsMigrationService {
+
+    private final SongRepository songRepository;
+
+    // Evita encolar varias veces la misma canción mientras su migración está pendiente
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public boolean tryReserve(Long songId) {
+        return inFlight.add(songId);
+    }
+
+    public void release(Long songId) {
+        inFlight.remove(songId);
+    }
+
+    @Async("songAnalyticsExecutor")
+    public void migrateAsync(Long songId, byte[] chordsData) {
+        try {
+            int updated = songRepository.migrateChordsData(songId, chordsData);
+            if (updated > 0) {
+                log.debug("Canción {} migrada a formato binario ({} bytes)", songId, chordsData.length);
+            }
+        } catch (Exception e) {
+            log.warn("No se pudo migrar la canción {} a formato binario: {}", songId, e.getMessage());
+        } finally {
+            release(songId);
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.misacordes.application.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.misacordes.application.config.GlobalExceptionHandler.BusinessException;
+import com.misacordes.application.dto.request.ChordPositionInfo;
+import com.misacordes.application.dto.request.LineWithChords;
+import com.misacordes.application.dto.request.SongWithChordsRequest;
+import com.misacordes.application.entities.Song;
+import com.misacordes.application.entities.SongAnalytics;
+import com.misacordes.application.repositories.SongIndexView;
+import com.misacordes.application.utils.ChordTransposer;
+import com.misacordes.application.utils.SongChordsCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Punto único de lectura y escritura de la letra con acordes de una canción.
+ * Las filas antiguas guardadas como JSON se leen igual y se migran al formato binario en segundo plano.
+ * Las letras decodificadas se cachean por (id, updatedAt) y sus versiones transpuestas por (id, updatedAt, semitonos);
+ * las listas devueltas son compartidas y no deben modificarse.
+ * Los caminos que modifican o eliminan una canción llaman a evict, que descarta sus versiones tras el commit;
+ * para no recorrer las cachés se lleva aparte qué versiones de cada canción hay cacheadas.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SongLyricsService {
+
+    private final ObjectMapper objectMapper;
+    private final SongChordsMigrationService songChordsMigrationService;
+    private final Cache<SongVersionKey, CachedLyrics> songLyricsCache;
+    private final Cache<TransposedKey, TransposedLyrics> songTranspositionCache;
+
+    // updatedAt de las versiones cacheadas de cada canción; solo se modifica dentro de compute/remove del mapa
+    private final Map<Long, Set<LocalDateTime>> cachedVersions = new ConcurrentHashMap<>();
+
+    public record SongVersionKey(long songId, LocalDateTime updatedAt) {
+    }
+
+    public record CachedLyrics(List<LineWithChords> lyrics, int weight) {
+    }
+
+    // semitones normalizado a 0..11, así que hay como mucho 12 variantes por versión de canción
+    public record TransposedKey(long songId, LocalDateTime updatedAt, int semitones) {
+    }
+
+    public record TransposedLyrics(List<LineWithChords> lyrics, String key) {
+    }
+
+    public List<LineWithChords> readLyrics(Song song) {
+        if (song.getId() == 0) {
+            return decodeLyrics(song);
+        }
+        SongVersionKey key = new SongVersionKey(song.getId(), song.getUpdatedAt());
+        boolean[] loaded = new boolean[1];
+        CachedLyrics cached = songLyricsCache.get(key, k -> {
+            loaded[0] = true;
+            List<LineWithChords> lyrics = decodeLyrics(song);
+            return new CachedLyrics(lyrics != null ? List.copyOf(lyrics) : null, estimateWeight(lyrics));
+        });
+        if (loaded[0]) {
+            trackVersion(song.getId(), song.getUpdatedAt());
+        }
+        return cached.lyrics();
+    }
+
+    /**
+     * Descarta las versiones cacheadas de una canción; se llama desde los caminos que la modifican o eliminan.
+     * Se repite tras el commit porque una lectura concurrente puede volver a cachear la fila anterior.
+     */
+    public void evict(Long songId) {
+        evict(List.of(songId));
+    }
+
+    public void evict(Collection<Long> songIds) {
+        if (songIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(songIds);
+        evictNow(ids);
+        afterCommit(() -> evictNow(ids));
+    }
+
+    private void evictNow(Collection<Long> songIds) {
+        for (Long songId : songIds) {
+            Set<LocalDateTime> versions = cachedVersions.remove(songId);
+            if (versions == null) {
+                continue;
+            }
+            for (LocalDateTime updatedAt : versions) {
+                songLyricsCache.invalidate(new SongVersionKey(songId, updatedAt));
+                for (int shift = 1; shift < 12; shift++) {
+                    songTranspositionCache.invalidate(new TransposedKey(songId, updatedAt, shift));
+                }
+            }
+        }
+    }
+
+    /**
+     * Anota una versión cacheada de la canción y olvida las que las cachés ya retiraron por tamaño,
+     * así que por canción solo quedan las versiones vivas.
+     */
+    private void trackVersion(long songId, LocalDateTime updatedAt) {
+        cachedVersions.compute(songId, (id, versions) -> {
+            Set<LocalDateTime> live = versions != null ? versions : new HashSet<>();
+            live.removeIf(version -> !isCached(id, version));
+            live.add(updatedAt);
+            return live;
+        });
+    }
+
+    private boolean isCached(long songId, LocalDateTime updatedAt) {
+        if (songLyricsCache.asMap().containsKey(new SongVersionKey(songId, updatedAt))) {
+            return true;
+        }
+        for (int shift = 1; shift < 12; shift++) {
+            if (songTranspositionCache.asMap().containsKey(new TransposedKey(songId, updatedAt, shift))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Letra y tonalidad transpuestas. La grafía (sostenidos o bemoles) la decide la tonalidad destino;
+     * si la canción no tiene tonalidad se toma el primer acorde.
+     */
+    public TransposedLyrics readTransposed(Song song, int semitones) {
+        int shift = Math.floorMod(semitones, 12);
+        if (shift == 0 || song.getId() == 0) {
+            return transpose(song, shift);
+        }
+        TransposedKey key = new TransposedKey(song.getId(), song.getUpdatedAt(), shift);
+        boolean[] loaded = new boolean[1];
+        TransposedLyrics transposed = songTranspositionCache.get(key, k -> {
+            loaded[0] = true;
+            return transpose(song, shift);
+        });
+        if (loaded[0]) {
+            trackVersion(song.getId(), song.getUpdatedAt());
+        }
+        return transposed;
+    }
+
+    private TransposedLyrics transpose(Song song, int shift) {
+        List<LineWithChords> lyrics = readLyrics(song);
+        if (shift == 0 || lyrics == null) {
+            return new TransposedLyrics(lyrics, song.getKey());
+        }
+
+        String targetKey = ChordTransposer.transposeKey(
+                song.getKey() != null ? song.getKey() : firstChordName(lyrics), shift);
+        boolean useFlats = ChordTransposer.prefersFlats(targetKey);
+        List<LineWithChords> transposed = new ArrayList<>(lyrics.size());
+        for (LineWithChords line : lyrics) {
+            List<ChordPositionInfo> chords = new ArrayList<>(line.getChords() != null ? line.getChords().size() : 0);
+            if (line.getChords() != null) {
+                for (ChordPositionInfo chord : line.getChords()) {
+                    chords.add(new ChordPositionInfo(chord.getStart(),
+                            ChordTransposer.transpose(chord.getName(), shift, useFlats), null));
+                }
+            }
+            transposed.add(new LineWithChords(line.getLineNumber(), line.getText(), chords));
+        }
+        return new TransposedLyrics(List.copyOf(transposed), song.getKey() != null ? targetKey : null);
+    }
+
+    private static String firstChordName(List<LineWithChords> lyrics) {
+        for (LineWithChords line : lyrics) {
+            if (line.getChords() != null && !line.getChords().isEmpty()) {
+                return line.getChords().get(0).getName();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Lee la letra sin pasar por la caché; para recorridos masivos (p. ej. reconstruir el índice de búsqueda)
+     * que no deben desplazar las entradas calientes.
+     */
+    public List<LineWithChords> readLyricsUncached(Song song) {
+        return decodeLyrics(song);
+    }
+
+    public List<LineWithChords> readLyricsUncached(SongIndexView song) {
+        return decodeLyrics(song.id(), song.chordsData(), song.chordsMap());
+    }
+
+    private List<LineWithChords> decodeLyrics(Song song) {
+        return decodeLyrics(song.getId(), song.getChordsData(), song.getChordsMap());
+    }
+
+    private List<LineWithChords> decodeLyrics(Long songId, byte[] chordsData, String chordsMap) {
+        if (chordsData != null) {
+            try {
+                return SongChordsCodec.decode(chordsData);
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException("Error leyendo los acordes de la canción: " + e.getMessage());
+            }
+        }
+        if (chordsMap == null || chordsMap.trim().isEmpty()) {
+            return null;
+        }
+
+        List<LineWithChords> lyrics = parseLegacyJson(chordsMap);
+        scheduleMigration(songId, lyrics);
+        return lyrics;
+    }
+
+    /**
+     * Normaliza la letra recibida: recorta los nombres de acordes, pone en mayúscula la nota raíz ("am7" -> "Am7")
+     * y descarta los acordes sin nombre. Rechaza los nombres demasiado largos y los que solo se diferencian en
+     * mayúsculas, que la tabla de analítica (sin distinción de mayúsculas) no puede guardar por separado.
+     */
+    public List<LineWithChords> normalize(List<LineWithChords> lyrics) {
+        if (lyrics == null) {
+            return null;
+        }
+        Map<String, String> namesByFoldedCase = new HashMap<>();
+        List<LineWithChords> normalized = new ArrayList<>(lyrics.size());
+        for (LineWithChords line : lyrics) {
+            if (line == null) {
+                continue;
+            }
+            List<ChordPositionInfo> chords = null;
+            if (line.getChords() != null) {
+                chords = new ArrayList<>(line.getChords().size());
+                for (ChordPositionInfo chord : line.getChords()) {
+                    if (chord != null && chord.getName() != null && !chord.getName().isBlank()) {
+                        String name = normalizeChordName(chord.getName(), namesByFoldedCase);
+                        chords.add(new ChordPositionInfo(chord.getStart(), name, chord.getChordId()));
+                    }
+                }
+            }
+            normalized.add(new LineWithChords(line.getLineNumber(), line.getText(), chords));
+        }
+        return normalized;
+    }
+
+    private static String normalizeChordName(String rawName, Map<String, String> namesByFoldedCase) {
+        String name = capitalizeRoot(rawName.trim());
+        if (name.length() > SongAnalytics.MAX_CHORD_NAME_LENGTH) {
+            throw new BusinessException("Nombre de acorde demasiado largo (máximo "
+                    + SongAnalytics.MAX_CHORD_NAME_LENGTH + " caracteres): " + name);
+        }
+        String previous = namesByFoldedCase.putIfAbsent(name.toLowerCase(Locale.ROOT), name);
+        if (previous != null && !previous.equals(name)) {
+            throw new BusinessException("Los acordes \"" + previous + "\" y \"" + name
+                    + "\" solo se diferencian en mayúsculas");
+        }
+        return name;
+    }
+
+    // Solo si lo que sigue a la nota no es una palabra ("dim", "sus"): alteración, "m" de menor o fin del nombre
+    private static String capitalizeRoot(String name) {
+        char root = name.charAt(0);
+        if (root < 'a' || root > 'g') {
+            return name;
+        }
+        char next = name.length() > 1 ? name.charAt(1) : ' ';
+        if (next >= 'a' && next <= 'z' && next != 'b' && next != 'm') {
+            return name;
+        }
+        return Character.toUpperCase(root) + name.substring(1);
+    }
+
+    /**
+     * Guarda en caché la letra recién escrita para que la siguiente lectura no tenga que decodificarla.
+     * Dentro de una transacción se aplica tras el commit, con el updatedAt que dejó el flush: antes seguiría
+     * valiendo el de la versión anterior y un rollback dejaría en caché una letra que nunca se guardó.
+     */
+    public void prime(Song song, List<LineWithChords> lyrics) {
+        if (song.getId() == 0 || lyrics == null) {
+            return;
+        }
+        CachedLyrics cached = new CachedLyrics(List.copyOf(lyrics), estimateWeight(lyrics));
+        afterCommit(() -> {
+            songLyricsCache.put(new SongVersionKey(song.getId(), song.getUpdatedAt()), cached);
+            trackVersion(song.getId(), song.getUpdatedAt());
+        });
+    }
+
+    public byte[] encode(List<LineWithChords> lyrics) {
+        return lyrics != null ? SongChordsCodec.encode(lyrics) : null;
+    }
+
+    public boolean hasLyrics(Song song) {
+        return song.getChordsData() != null
+                || (song.getChordsMap() != null && !song.getChordsMap().trim().isEmpty());
+    }
+
+    private static int estimateWeight(List<LineWithChords> lyrics) {
+        int weight = 64;
+        if (lyrics == null) {
+            return weight;
+        }
+        for (LineWithChords line : lyrics) {
+            weight += 48 + (line.getText() != null ? 40 + line.getText().length() * 2 : 0);
+            weight += line.getChords() != null ? line.getChords().size() * 56 : 0;
+        }
+        return weight;
+    }
+
+    private List<LineWithChords> parseLegacyJson(String chordsMap) {
+        try {
+            SongWithChordsRequest songData = objectMapper.readValue(chordsMap, SongWithChordsRequest.class);
+            return songData != null ? songData.getLyrics() : null;
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("Error parsing song chords map: " + e.getMessage());
+        }
+    }
+
+    private void scheduleMigration(Long songId, List<LineWithChords> lyrics) {
+        if (songId == 0 || lyrics == null || !songChordsMigrationService.tryReserve(songId)) {
+            return;
+        }
+        try {
+            songChordsMigrationService.migrateAsync(songId, SongChordsCodec.encode(lyrics));
+        } catch (TaskRejectedException e) {
+            // Cola llena: se reintentará en la próxima lectura
+            songChordsMigrationService.release(songId);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
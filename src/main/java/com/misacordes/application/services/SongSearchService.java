@@ -0,0 +1,218 @@
+package com.misacordes.application.services;
+
+import com.misacordes.application.dto.request.LineWithChords;
+import com.misacordes.application.entities.ChordCatalog;
+import com.misacordes.application.entities.Song;
+import com.misacordes.application.repositories.ChordCatalogRepository;
+import com.misacordes.application.repositories.SongIndexView;
+import com.misacordes.application.repositories.SongRepository;
+import com.misacordes.application.utils.ChordSetIndex;
+import com.misacordes.application.utils.SongSearchIndex;
+import com.misacordes.application.utils.SongStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Mantiene los índices en memoria de canciones públicas aprobadas: el de texto (SongSearchIndex) y el de
+ * acordes por canción (ChordSetIndex).
+ * Se reconstruyen al arrancar y se actualizan desde los caminos de aprobación, despublicación, edición y borrado.
+ * Mientras no están listos, las consultas devuelven vacío y el llamador recurre a la base de datos o informa al cliente.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SongSearchService {
+
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    private final SongRepository songRepository;
+    private final SongLyricsService songLyricsService;
+    private final SongAnalyticsService songAnalyticsService;
+    private final ChordCatalogRepository chordCatalogRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private SongSearchIndex index = new SongSearchIndex();
+    private ChordSetIndex chordIndex = new ChordSetIndex(Map.of());
+    private volatile boolean ready;
+    private volatile boolean rebuilding;
+
+    // Canciones modificadas durante una reconstrucción; se vuelven a indexar al terminar
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    public Optional<SongSearchIndex.Result> search(String query, int offset, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return Optional.of(index.search(query, offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<ChordSetIndex.Result> findPlayable(Collection<String> knownChords, int maxMissing,
+                                                       int offset, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return Optional.of(chordIndex.findPlayable(knownChords, maxMissing, offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexa la canción si es pública y está aprobada; en otro caso la quita del índice.
+     * Dentro de una transacción se aplica tras el commit.
+     */
+    public void indexSong(Song song) {
+        SongSearchIndex.Document document = isSearchable(song) ? toDocument(song) : null;
+        long songId = song.getId();
+        afterCommit(() -> apply(songId, document));
+    }
+
+    public void removeSong(Long songId) {
+        afterCommit(() -> apply(songId, null));
+    }
+
+    @Async("songAnalyticsExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        rebuilding = true;
+        changedDuringRebuild.clear();
+        long start = System.currentTimeMillis();
+        try {
+            SongSearchIndex fresh = new SongSearchIndex();
+            ChordSetIndex freshChords = new ChordSetIndex(catalogIds());
+            long lastId = 0;
+            List<SongIndexView> batch;
+            do {
+                batch = songRepository.findIndexViewsAfter(SongStatus.APPROVED, lastId,
+                        PageRequest.of(0, REBUILD_PAGE_SIZE));
+                for (SongIndexView song : batch) {
+                    lastId = song.id();
+                    try {
+                        SongSearchIndex.Document document = toDocument(song);
+                        fresh.add(document);
+                        freshChords.put(document.songId(), document.chords());
+                    } catch (Exception e) {
+                        log.warn("No se pudo indexar la canción {}: {}", song.id(), e.getMessage());
+                    }
+                }
+            } while (batch.size() == REBUILD_PAGE_SIZE);
+
+            lock.writeLock().lock();
+            try {
+                index = fresh;
+                chordIndex = freshChords;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Índice de búsqueda construido: {} canciones en {} ms", fresh.size(),
+                    System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Error construyendo el índice de búsqueda: {}", e.getMessage(), e);
+        } finally {
+            rebuilding = false;
+            reindexChangedDuringRebuild();
+        }
+    }
+
+    private void reindexChangedDuringRebuild() {
+        Set<Long> changed = new LinkedHashSet<>(changedDuringRebuild);
+        changedDuringRebuild.removeAll(changed);
+        for (Long songId : changed) {
+            Optional<Song> song = songRepository.findById(songId);
+            apply(songId, song.filter(this::isSearchable).map(this::toDocument).orElse(null));
+        }
+    }
+
+    private void apply(long songId, SongSearchIndex.Document document) {
+        if (rebuilding) {
+            changedDuringRebuild.add(songId);
+        }
+        lock.writeLock().lock();
+        try {
+            if (document != null) {
+                index.add(document);
+                chordIndex.put(songId, document.chords());
+            } else {
+                index.remove(songId);
+                chordIndex.remove(songId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean isSearchable(Song song) {
+        return Boolean.TRUE.equals(song.getIsPublic()) && song.getStatus() == SongStatus.APPROVED;
+    }
+
+    private SongSearchIndex.Document toDocument(Song song) {
+        return toDocument(song.getId(), song.getTitle(), song.getArtist(), song.getAlbum(),
+                songLyricsService.readLyricsUncached(song));
+    }
+
+    private SongSearchIndex.Document toDocument(SongIndexView song) {
+        return toDocument(song.id(), song.title(), song.artist(), song.album(),
+                songLyricsService.readLyricsUncached(song));
+    }
+
+    private SongSearchIndex.Document toDocument(long songId, String title, String artist, String album,
+                                                List<LineWithChords> lyrics) {
+        StringBuilder text = new StringBuilder();
+        Set<String> chords = Set.of();
+        if (lyrics != null) {
+            for (LineWithChords line : lyrics) {
+                if (line.getText() != null) {
+                    text.append(line.getText()).append('\n');
+                }
+            }
+            chords = songAnalyticsService.uniqueChords(lyrics);
+        }
+        return new SongSearchIndex.Document(songId, title, artist, album, text.toString(), chords);
+    }
+
+    private Map<String, Integer> catalogIds() {
+        Map<String, Integer> ids = new HashMap<>();
+        for (ChordCatalog chord : chordCatalogRepository.findAll()) {
+            ids.put(chord.getName(), chord.getId().intValue());
+        }
+        return ids;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
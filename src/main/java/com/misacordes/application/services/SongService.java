@@ -1,13 +1,12 @@
 package com.misacordes.application.services;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.misacordes.application.dto.request.ChordPositionInfo;
 import com.misacordes.application.dto.request.LineWithChords;
 import com.misacordes.application.dto.request.SongWithChordsRequest;
 import com.misacordes.application.dto.response.AdminStatsResponse;
+import com.misacordes.application.dto.response.BulkApproveSongsResponse;
 import com.misacordes.application.dto.response.PageResponse;
+import com.misacordes.application.dto.response.PlayableSongResponse;
+import com.misacordes.application.dto.response.SongSummaryResponse;
 import com.misacordes.application.dto.response.SongWithChordsResponse;
 import com.misacordes.application.entities.*;
 import com.misacordes.application.dto.request.ProposedChordRequest;
@@ -16,33 +15,62 @@ import com.misacordes.application.repositories.PlaylistSongRepository;
 import com.misacordes.application.repositories.UserRepository;
 import com.misacordes.application.repositories.ProposedChordRepository;
 import com.misacordes.application.repositories.ChordCatalogRepository;
-import com.misacordes.application.utils.ChordTransposer;
+import com.misacordes.application.repositories.SongAnalyticsRepository;
+import com.misacordes.application.repositories.SongSummaryView;
+import com.misacordes.application.services.auth.UserCacheService;
+import com.misacordes.application.utils.ChordSetIndex;
+import com.misacordes.application.utils.SongSearchIndex;
 import com.misacordes.application.utils.SongStatus;
 import com.misacordes.application.config.GlobalExceptionHandler.ResourceNotFoundException;
 import com.misacordes.application.config.GlobalExceptionHandler.BusinessException;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import org.springframework.data.domain.Pageable;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 
 @RequiredArgsConstructor
 @Service
+@Slf4j
 public class SongService extends BaseService {
 
+    private static final int MAX_MISSING_CHORDS = 2;
+    public static final int MAX_BULK_APPROVALS = 500;
+
+    // Altas del catálogo por lotes JDBC: con ids IDENTITY Hibernate no agrupa los INSERT
+    private static final String INSERT_CATALOG_CHORD = "INSERT INTO chord_catalog "
+            + "(name, full_name, category, is_common, difficulty_level, finger_positions, notes) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
     private final SongRepository songRepository;
     private final UserRepository userRepository;
     private final SongAnalyticsService songAnalyticsService;
     private final SongAnalyticsAsyncService songAnalyticsAsyncService;
-    private final ObjectMapper objectMapper;
     private final ProposedChordRepository proposedChordRepository;
     private final ChordCatalogRepository chordCatalogRepository;
     private final com.misacordes.application.repositories.DeletionRequestRepository deletionRequestRepository;
     private final PlaylistSongRepository playlistSongRepository;
+    private final SongLyricsService songLyricsService;
+    private final SongAnalyticsRepository songAnalyticsRepository;
+    private final SongSearchService songSearchService;
+    private final UserCacheService userCacheService;
+    private final JdbcTemplate jdbcTemplate;
 
 
 
@@ -59,6 +87,7 @@ public class SongService extends BaseService {
         song.setRejectionReason(null);
 
         Song updated = songRepository.save(song);
+        songLyricsService.evict(id);
         return mapToSongWithChordsResponse(updated);
     }
 
@@ -76,56 +105,123 @@ public class SongService extends BaseService {
             throw new BusinessException("Solo puedes aprobar canciones pendientes");
         }
 
-        song.setStatus(SongStatus.APPROVED);
-        song.setIsPublic(true);
-        song.setPublishedAt(LocalDateTime.now());
+        publish(song);
 
         Song updated = songRepository.save(song);
+        songLyricsService.evict(id);
+        songSearchService.indexSong(updated);
         
         // Aprobar y agregar los acordes propuestos al catálogo
-        approveProposedChords(song, admin);
+        approveProposedChords(List.of(id), admin);
         
         return mapToSongWithChordsResponse(updated);
     }
+
+    /**
+     * Aprueba a la vez varias canciones pendientes; las que no existen o no están pendientes se devuelven
+     * como omitidas. Los acordes propuestos de todas ellas se aprueban juntos.
+     */
+    @Transactional
+    public BulkApproveSongsResponse approveSongs(List<Long> songIds) {
+        verifyAdmin();
+        if (songIds == null || songIds.isEmpty()) {
+            throw new BusinessException("No hay canciones que aprobar");
+        }
+        if (songIds.size() > MAX_BULK_APPROVALS) {
+            throw new BusinessException("Como máximo " + MAX_BULK_APPROVALS + " canciones por petición");
+        }
+        User admin = getCurrentUser();
+
+        Set<Long> requested = new LinkedHashSet<>(songIds);
+        Set<Long> approved = new LinkedHashSet<>();
+        for (Song song : songRepository.findAllById(requested)) {
+            if (song.getStatus() != SongStatus.PENDING) {
+                continue;
+            }
+            // Se escribe por dirty checking al confirmar, con los UPDATE agrupados en lotes
+            publish(song);
+            approved.add(song.getId());
+            songSearchService.indexSong(song);
+        }
+        songLyricsService.evict(approved);
+
+        int chordsAdded = approveProposedChords(approved, admin);
+
+        List<Long> skipped = new ArrayList<>();
+        for (Long songId : requested) {
+            if (!approved.contains(songId)) {
+                skipped.add(songId);
+            }
+        }
+        return BulkApproveSongsResponse.builder()
+                .approvedSongIds(new ArrayList<>(approved))
+                .skippedSongIds(skipped)
+                .chordsAddedToCatalog(chordsAdded)
+                .build();
+    }
+
+    private static void publish(Song song) {
+        song.setStatus(SongStatus.APPROVED);
+        song.setIsPublic(true);
+        song.setPublishedAt(LocalDateTime.now());
+    }
     
     /**
-     * Aprobar acordes propuestos y agregarlos al catálogo
+     * Aprueba los acordes propuestos pendientes de las canciones y añade al catálogo los que no estén:
+     * una consulta al catálogo, un lote de inserciones y una sola actualización de las propuestas.
+     * Devuelve cuántos acordes se han añadido al catálogo.
      */
-    private void approveProposedChords(Song song, User admin) {
-        List<ProposedChord> proposedChords = proposedChordRepository.findBySong(song);
-        
+    private int approveProposedChords(Collection<Long> songIds, User admin) {
+        if (songIds.isEmpty()) {
+            return 0;
+        }
+        List<ProposedChord> proposedChords = proposedChordRepository.findBySongIdInAndStatus(songIds, ProposalStatus.PENDING);
+        if (proposedChords.isEmpty()) {
+            return 0;
+        }
+
+        // Por nombre sin mayúsculas, como compara MySQL la restricción unique del catálogo; gana la primera propuesta
+        Map<String, ProposedChord> missing = new LinkedHashMap<>();
+        Set<String> names = new LinkedHashSet<>();
         for (ProposedChord proposedChord : proposedChords) {
-            if (proposedChord.getStatus() == ProposalStatus.PENDING) {
-                // Verificar si el acorde ya existe en el catálogo
-                if (chordCatalogRepository.findByName(proposedChord.getName()).isEmpty()) {
-                    // Agregar al catálogo
-                    ChordCatalog newChord = ChordCatalog.builder()
-                            .name(proposedChord.getName())
-                            .fullName(proposedChord.getFullName())
-                            .category(proposedChord.getCategory())
-                            .fingerPositions(proposedChord.getFingerPositions())
-                            .notes(proposedChord.getNotes())
-                            .isCommon(false) // Los acordes propuestos no son comunes por defecto
-                            .difficultyLevel(DifficultyLevel.INTERMEDIATE)
-                            .build();
-                    
-                    ChordCatalog savedChord = chordCatalogRepository.save(newChord);
-                    
-                    // Actualizar la propuesta
-                    proposedChord.setStatus(ProposalStatus.APPROVED);
-                    proposedChord.setCatalogChordId(savedChord.getId());
-                } else {
-                    // Si ya existe, solo marcar como aprobado
-                    proposedChord.setStatus(ProposalStatus.APPROVED);
-                    ChordCatalog existingChord = chordCatalogRepository.findByName(proposedChord.getName()).get();
-                    proposedChord.setCatalogChordId(existingChord.getId());
-                }
-                
-                proposedChord.setReviewedAt(LocalDateTime.now());
-                proposedChord.setReviewedBy(admin);
-                proposedChordRepository.save(proposedChord);
+            // Propuestas guardadas antes de validar su longitud: no caben en el catálogo y harían fallar el lote entero
+            if (!fitsCatalog(proposedChord.getName(), proposedChord.getFullName(), proposedChord.getNotes())) {
+                log.warn("Acorde propuesto {} no añadido al catálogo: supera la longitud de sus columnas",
+                        proposedChord.getName());
+                continue;
             }
+            missing.putIfAbsent(catalogKey(proposedChord.getName()), proposedChord);
+            names.add(proposedChord.getName());
         }
+        if (!names.isEmpty()) {
+            for (ChordCatalog existing : chordCatalogRepository.findByNameIn(names)) {
+                missing.remove(catalogKey(existing.getName()));
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            List<Object[]> rows = new ArrayList<>(missing.size());
+            for (ProposedChord proposedChord : missing.values()) {
+                rows.add(new Object[]{
+                        proposedChord.getName(),
+                        proposedChord.getFullName(),
+                        proposedChord.getCategory() != null ? proposedChord.getCategory().name() : null,
+                        false, // Los acordes propuestos no son comunes por defecto
+                        DifficultyLevel.INTERMEDIATE.name(),
+                        proposedChord.getFingerPositions(),
+                        proposedChord.getNotes()
+                });
+            }
+            jdbcTemplate.batchUpdate(INSERT_CATALOG_CHORD, rows);
+        }
+
+        proposedChordRepository.reviewBySongIds(songIds, ProposalStatus.PENDING, ProposalStatus.APPROVED,
+                admin, LocalDateTime.now());
+        return missing.size();
+    }
+
+    private static String catalogKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
     }
 
     public SongWithChordsResponse rejectSong(Long id, String reason) {
@@ -141,6 +237,7 @@ public class SongService extends BaseService {
         song.setRejectionReason(reason);
 
         Song updated = songRepository.save(song);
+        songLyricsService.evict(id);
         return mapToSongWithChordsResponse(updated);
     }
 
@@ -169,6 +266,8 @@ public class SongService extends BaseService {
         song.setPublishedAt(null);
 
         Song updated = songRepository.save(song);
+        songLyricsService.evict(id);
+        songSearchService.removeSong(id);
         return mapToSongWithChordsResponse(updated);
     }
 
@@ -183,7 +282,10 @@ public class SongService extends BaseService {
         deletionRequestRepository.deleteBySongId(id);
         playlistSongRepository.deleteBySongId(id);
 
+        songAnalyticsRepository.deleteById(id);
         songRepository.delete(song);
+        songLyricsService.evict(id);
+        songSearchService.removeSong(id);
     }
 
     public AdminStatsResponse getAdminStats() {
@@ -199,12 +301,12 @@ public class SongService extends BaseService {
                 .build();
     }
 
+    // Canción, analítica y acordes propuestos en una transacción: si falla una escritura no queda nada a medias
+    @Transactional
     public SongWithChordsResponse createSongWithChords(SongWithChordsRequest request) {
-        User currentUser = getCurrentUser();
-
-        if (!songAnalyticsService.validateChordsMap(convertToJson(request))) {
-            throw new BusinessException("Formato de acordes inválido");
-        }
+        List<LineWithChords> lyrics = prepareLyrics(request);
+        // Entidad completa: la respuesta incluye el nombre del creador
+        User currentUser = userCacheService.getUser(getCurrentUser().getId());
         
         Song song = Song.builder()
                 .title(request.getTitle())
@@ -220,27 +322,32 @@ public class SongService extends BaseService {
                 .coverImageUrl(request.getCoverImageUrl())
                 .coverColor(request.getCoverColor())
                 .createdBy(currentUser)
-                .chordsMap(convertToJson(request))
+                .chordsData(songLyricsService.encode(lyrics))
+                .contentVersion(1)
                 .status(SongStatus.DRAFT)
                 .isPublic(false)
                 .build();
 
         Song savedSong = songRepository.save(song);
+        storeDerivedContent(savedSong, lyrics);
 
         // Guardar acordes propuestos si existen
         if (request.getProposedChords() != null && !request.getProposedChords().isEmpty()) {
             saveProposedChords(request.getProposedChords(), savedSong, currentUser);
         }
-
-        processSongAnalyticsAsync(savedSong);
         
-        return mapToSongWithChordsResponse(savedSong);
+        // La respuesta usa la letra ya normalizada: leerla de la caché antes del commit la guardaría con datos sin confirmar
+        return mapToSongWithChordsResponse(savedSong, lyrics);
     }
     
     /**
      * Guardar acordes propuestos por el usuario
      */
     private void saveProposedChords(List<ProposedChordRequest> proposedChords, Song song, User user) {
+        // Se valida todo antes de guardar: al aprobarse van al catálogo, con columnas más cortas que las propuestas
+        for (ProposedChordRequest chordRequest : proposedChords) {
+            validateProposedChord(chordRequest);
+        }
         for (ProposedChordRequest chordRequest : proposedChords) {
             // Determinar la categoría del acorde
             ChordCategory category = determineChordCategory(chordRequest.getCategory());
@@ -261,6 +368,23 @@ public class SongService extends BaseService {
         }
     }
     
+    private void validateProposedChord(ProposedChordRequest chordRequest) {
+        if (chordRequest.getName() == null || chordRequest.getName().isBlank()) {
+            throw new BusinessException("El acorde propuesto debe tener nombre");
+        }
+        if (!fitsCatalog(chordRequest.getName(), chordRequest.getFullName(), chordRequest.getNotes())) {
+            throw new BusinessException("Acorde propuesto demasiado largo: " + chordRequest.getName()
+                    + " (nombre de hasta " + ChordCatalog.MAX_NAME_LENGTH + " caracteres, nombre completo de hasta "
+                    + ChordCatalog.MAX_FULL_NAME_LENGTH + " y notas de hasta " + ChordCatalog.MAX_NOTES_LENGTH + ")");
+        }
+    }
+
+    private static boolean fitsCatalog(String name, String fullName, String notes) {
+        return name.length() <= ChordCatalog.MAX_NAME_LENGTH
+                && (fullName == null || fullName.length() <= ChordCatalog.MAX_FULL_NAME_LENGTH)
+                && (notes == null || notes.length() <= ChordCatalog.MAX_NOTES_LENGTH);
+    }
+
     /**
      * Determinar la categoría del acorde basándose en el string recibido
      */
@@ -288,16 +412,14 @@ public class SongService extends BaseService {
         return mapToSongWithChordsResponse(song);
     }
 
+    @Transactional
     public SongWithChordsResponse updateSongWithChords(Long id, SongWithChordsRequest request) {
         User currentUser = getCurrentUser();
         
         // findByIdAndCreatedById ya verifica que el usuario sea el creador
         Song song = songRepository.findByIdAndCreatedById(id, currentUser.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Canción no encontrada o no tienes permisos para editarla"));
-
-        if (!songAnalyticsService.validateChordsMap(convertToJson(request))) {
-            throw new BusinessException("Formato de acordes inválido");
-        }
+        List<LineWithChords> lyrics = prepareLyrics(request);
 
         // Actualizar campos básicos
         song.setTitle(request.getTitle());
@@ -315,7 +437,9 @@ public class SongService extends BaseService {
         song.setCoverImageUrl(request.getCoverImageUrl());
         song.setCoverColor(request.getCoverColor());
         
-        song.setChordsMap(convertToJson(request));
+        song.setChordsData(songLyricsService.encode(lyrics));
+        song.setChordsMap(null);
+        song.markContentChanged();
 
         // Lógica de estados:
         // - DRAFT o REJECTED: se mantiene el estado
@@ -333,15 +457,16 @@ public class SongService extends BaseService {
         }
 
         Song updated = songRepository.save(song);
+        songLyricsService.evict(id);
+        songSearchService.removeSong(id); // Una canción editada deja de estar aprobada hasta nueva revisión
+        storeDerivedContent(updated, lyrics);
 
         // Guardar acordes propuestos si existen
         if (request.getProposedChords() != null && !request.getProposedChords().isEmpty()) {
             saveProposedChords(request.getProposedChords(), updated, currentUser);
         }
-
-        processSongAnalyticsAsync(updated);
         
-        return mapToSongWithChordsResponse(updated);
+        return mapToSongWithChordsResponse(updated, lyrics);
     }
     public com.misacordes.application.dto.response.SongAnalyticsResponse getSongAnalytics(Long id) {
         User currentUser = getCurrentUser();
@@ -351,139 +476,203 @@ public class SongService extends BaseService {
         if (!canUserViewSong(currentUser, song)) {
             throw new BusinessException("No tienes permiso para ver esta canción");
         }
-        
+
+        SongAnalytics stored = songAnalyticsRepository.findById(id).orElse(null);
+        if (stored != null && stored.getContentVersion() == song.currentContentVersion()) {
+            return songAnalyticsService.toResponse(song, stored);
+        }
+
+        // Sin analítica guardada para esta versión: se calcula en línea y se encarga al job que la persista
+        scheduleAnalytics(song.getId());
         return songAnalyticsService.analyzeSongChords(song);
     }
 
-    private String convertToJson(SongWithChordsRequest request) {
+    private void scheduleAnalytics(Long songId) {
+        if (!songAnalyticsAsyncService.tryReserve(songId)) {
+            return;
+        }
         try {
-            return objectMapper.writeValueAsString(request);
-        } catch (JsonProcessingException e) {
-            throw new BusinessException("Error converting request to JSON: " + e.getMessage());
+            songAnalyticsAsyncService.processSongAnalyticsAsync(songId);
+        } catch (TaskRejectedException e) {
+            // Cola llena: se reintentará en la próxima consulta
+            songAnalyticsAsyncService.release(songId);
         }
     }
 
-    public PageResponse<SongWithChordsResponse> getMySongsWithChordsPaginated(Pageable pageable) {
-        User currentUser = getCurrentUser();
-        Page<Song> songsPage = songRepository.findByCreatedById(currentUser.getId(), pageable);
-
-        Page<SongWithChordsResponse> responsePage = songsPage.map(this::mapToSongWithChordsResponse);
+    /**
+     * Normaliza y valida la letra de la petición una sola vez; el resultado se usa para codificar y para la analítica.
+     */
+    private List<LineWithChords> prepareLyrics(SongWithChordsRequest request) {
+        List<LineWithChords> lyrics = songLyricsService.normalize(request.getLyrics());
+        if (!songAnalyticsService.validateLyrics(lyrics)) {
+            throw new BusinessException("Formato de acordes inválido");
+        }
+        return lyrics;
+    }
 
-        return PageResponse.from(responsePage);
+    private void storeDerivedContent(Song song, List<LineWithChords> lyrics) {
+        songAnalyticsRepository.save(songAnalyticsService.computeAnalytics(song, lyrics));
+        songLyricsService.prime(song, lyrics);
     }
 
-    public PageResponse<SongWithChordsResponse> getPublicSongsWithChordsPaginated(Pageable pageable) {
-        Page<Song> songsPage = songRepository.findByIsPublicTrueAndStatus(SongStatus.APPROVED, pageable);
+    public PageResponse<SongSummaryResponse> getMySongsPaginated(Pageable pageable) {
+        User currentUser = getCurrentUser();
+        Page<SongSummaryView> songsPage = songRepository.findSummariesByCreatedById(currentUser.getId(), pageable);
 
-        Page<SongWithChordsResponse> responsePage = songsPage.map(this::mapToSongWithChordsResponse);
+        return PageResponse.from(songsPage.map(this::mapToSongSummaryResponse));
+    }
 
-        return PageResponse.from(responsePage);
+    public PageResponse<SongSummaryResponse> getPublicSongsPaginated(Pageable pageable) {
+        Page<SongSummaryView> songsPage = songRepository.findPublicSummaries(SongStatus.APPROVED, pageable);
+
+        return PageResponse.from(songsPage.map(this::mapToSongSummaryResponse));
     }
 
-    public PageResponse<SongWithChordsResponse> searchPublicSongsWithChordsPaginated(String query, Pageable pageable) {
-        Page<Song> songsPage = songRepository
-                .findByIsPublicTrueAndStatusAndTitleContainingIgnoreCaseOrArtistContainingIgnoreCase(
-                        SongStatus.APPROVED, query, query, pageable);
+    /**
+     * Búsqueda de canciones públicas ordenada por relevancia (BM25) usando el índice en memoria.
+     * Mientras el índice se construye al arrancar, se usa una búsqueda por subcadena en base de datos.
+     */
+    public PageResponse<SongSummaryResponse> searchPublicSongsPaginated(String query, Pageable pageable) {
+        Optional<SongSearchIndex.Result> ranked = songSearchService.search(query,
+                (int) pageable.getOffset(), pageable.getPageSize());
+        if (ranked.isEmpty()) {
+            Page<SongSummaryView> songsPage = songRepository.searchPublicSummaries(SongStatus.APPROVED, query, pageable);
+            return PageResponse.from(songsPage.map(this::mapToSongSummaryResponse));
+        }
 
-        Page<SongWithChordsResponse> responsePage = songsPage.map(this::mapToSongWithChordsResponse);
+        List<Long> ids = ranked.get().hits().stream().map(SongSearchIndex.Hit::songId).toList();
+        Map<Long, SongSummaryView> byId = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (SongSummaryView view : songRepository.findPublicSummariesByIdIn(ids, SongStatus.APPROVED)) {
+                byId.put(view.id(), view);
+            }
+        }
+        List<SongSummaryResponse> content = ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToSongSummaryResponse)
+                .toList();
+        return PageResponse.from(new PageImpl<>(content, pageable, ranked.get().totalHits()));
+    }
 
-        return PageResponse.from(responsePage);
+    /**
+     * Canciones públicas que usan solo acordes de chords, o como mucho maxMissing (0-2) acordes fuera de ese conjunto.
+     * Ordenadas por acordes que faltan y después por id.
+     */
+    public PageResponse<PlayableSongResponse> getPlayableSongs(List<String> chords, int maxMissing, Pageable pageable) {
+        if (chords == null || chords.isEmpty()) {
+            throw new BusinessException("Debes indicar al menos un acorde");
+        }
+        int allowedMissing = Math.max(0, Math.min(maxMissing, MAX_MISSING_CHORDS));
+
+        ChordSetIndex.Result result = songSearchService.findPlayable(chords, allowedMissing,
+                        (int) pageable.getOffset(), pageable.getPageSize())
+                .orElseThrow(() -> new BusinessException(
+                        "El índice de acordes se está construyendo, inténtalo de nuevo en unos segundos"));
+
+        List<Long> ids = result.matches().stream().map(ChordSetIndex.Match::songId).toList();
+        Map<Long, SongSummaryView> byId = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (SongSummaryView view : songRepository.findPublicSummariesByIdIn(ids, SongStatus.APPROVED)) {
+                byId.put(view.id(), view);
+            }
+        }
+        List<PlayableSongResponse> content = result.matches().stream()
+                .filter(match -> byId.containsKey(match.songId()))
+                .map(match -> PlayableSongResponse.builder()
+                        .song(mapToSongSummaryResponse(byId.get(match.songId())))
+                        .missingChords(match.missingChords())
+                        .build())
+                .toList();
+        return PageResponse.from(new PageImpl<>(content, pageable, result.totalMatches()));
     }
 
-    public PageResponse<SongWithChordsResponse> getPendingSongsPaginated(Pageable pageable) {
+    public PageResponse<SongSummaryResponse> getPendingSongsPaginated(Pageable pageable) {
         verifyAdmin();
-        Page<Song> songsPage = songRepository.findByStatus(SongStatus.PENDING, pageable);
+        Page<SongSummaryView> songsPage = songRepository.findSummariesByStatus(SongStatus.PENDING, pageable);
 
-        Page<SongWithChordsResponse> responsePage = songsPage.map(this::mapToSongWithChordsResponse);
-
-        return PageResponse.from(responsePage);
+        return PageResponse.from(songsPage.map(this::mapToSongSummaryResponse));
     }
 
-    public PageResponse<SongWithChordsResponse> getAllSongsAdminPaginated(Pageable pageable) {
+    public PageResponse<SongSummaryResponse> getAllSongsAdminPaginated(Pageable pageable) {
         verifyAdmin();
-        Page<Song> songsPage = songRepository.findAll(pageable);
+        Page<SongSummaryView> songsPage = songRepository.findAllSummaries(pageable);
 
-        Page<SongWithChordsResponse> responsePage = songsPage.map(this::mapToSongWithChordsResponse);
+        return PageResponse.from(songsPage.map(this::mapToSongSummaryResponse));
+    }
 
-        return PageResponse.from(responsePage);
+    private SongSummaryResponse mapToSongSummaryResponse(SongSummaryView view) {
+        return SongSummaryResponse.builder()
+                .id(view.id())
+                .title(view.title())
+                .artist(view.artist())
+                .album(view.album())
+                .year(view.year())
+                .key(view.key())
+                .tempo(view.tempo())
+                .coverImageUrl(view.coverImageUrl())
+                .coverColor(view.coverColor())
+                .status(view.status())
+                .isPublic(view.isPublic())
+                .rejectionReason(view.rejectionReason())
+                .createdAt(view.createdAt())
+                .publishedAt(view.publishedAt())
+                .createdBy(SongWithChordsResponse.CreatorInfo.builder()
+                    .id(view.createdById())
+                    .username(view.createdByUsername())
+                    .firstname(view.createdByFirstname())
+                    .build())
+                .build();
     }
 
     private SongWithChordsResponse mapToSongWithChordsResponse(Song song) {
-        try {
-            SongWithChordsRequest songData = null;
-            if (song.getChordsMap() != null && !song.getChordsMap().trim().isEmpty()) {
-                songData = objectMapper.readValue(
-                    song.getChordsMap(), 
-                    new TypeReference<SongWithChordsRequest>() {}
-                );
-            }
-            
-            return SongWithChordsResponse.builder()
-                .id(song.getId())
-                .title(song.getTitle())
-                .artist(song.getArtist())
-                .album(song.getAlbum())
-                .year(song.getYear())
-                    .key(song.getKey())
-                    .tempo(song.getTempo())
-                    // Enlaces multimedia
-                    .youtubeUrl(song.getYoutubeUrl())
-                    .spotifyUrl(song.getSpotifyUrl())
-                    .youtubeVideoId(song.getYoutubeVideoId())
-                    .spotifyTrackId(song.getSpotifyTrackId())
-                    // Personalización
-                    .coverImageUrl(song.getCoverImageUrl())
-                    .coverColor(song.getCoverColor())
-                .status(song.getStatus())
-                .isPublic(song.getIsPublic())
-                .rejectionReason(song.getRejectionReason())
-                .createdAt(song.getCreatedAt())
-                .publishedAt(song.getPublishedAt())
-                    .lyrics(songData != null ? songData.getLyrics() : null)
-                    .createdBy(SongWithChordsResponse.CreatorInfo.builder()
-                        .id(song.getCreatedBy().getId())
-                        .username(song.getCreatedBy().getUsername())
-                        .firstname(song.getCreatedBy().getFirstname())
-                        .build())
-                    .build();
-        } catch (JsonProcessingException e) {
-            throw new BusinessException("Error parsing song chords map: " + e.getMessage());
-        }
+        return mapToSongWithChordsResponse(song, songLyricsService.readLyrics(song));
     }
 
-    private void processSongAnalyticsAsync(Song song) {
-        songAnalyticsAsyncService.processSongAnalyticsAsync(song.getId());
+    private SongWithChordsResponse mapToSongWithChordsResponse(Song song, List<LineWithChords> lyrics) {
+        return SongWithChordsResponse.builder()
+            .id(song.getId())
+            .title(song.getTitle())
+            .artist(song.getArtist())
+            .album(song.getAlbum())
+            .year(song.getYear())
+                .key(song.getKey())
+                .tempo(song.getTempo())
+                // Enlaces multimedia
+                .youtubeUrl(song.getYoutubeUrl())
+                .spotifyUrl(song.getSpotifyUrl())
+                .youtubeVideoId(song.getYoutubeVideoId())
+                .spotifyTrackId(song.getSpotifyTrackId())
+                // Personalización
+                .coverImageUrl(song.getCoverImageUrl())
+                .coverColor(song.getCoverColor())
+            .status(song.getStatus())
+            .isPublic(song.getIsPublic())
+            .rejectionReason(song.getRejectionReason())
+            .createdAt(song.getCreatedAt())
+            .publishedAt(song.getPublishedAt())
+                .lyrics(lyrics)
+                .createdBy(SongWithChordsResponse.CreatorInfo.builder()
+                    .id(song.getCreatedBy().getId())
+                    .username(song.getCreatedBy().getUsername())
+                    .firstname(song.getCreatedBy().getFirstname())
+                    .build())
+                .build();
     }
 
     @Transactional(readOnly = true)
     public SongWithChordsResponse transposeSong(Long songId, int semitones) {
-        SongWithChordsResponse response = getSongWithChordsById(songId);
-
-        if (response.getLyrics() == null) {
-            return response;
-        }
-        List<LineWithChords> transposedLyrics = new ArrayList<>();
-
-        for (LineWithChords line : response.getLyrics()) {
-            List<ChordPositionInfo> transposedChords = new ArrayList<>();
-            if (line.getChords() != null) {
-                for (ChordPositionInfo originalChord : line.getChords()) {
-                    String newChordName = ChordTransposer.transpose(originalChord.getName(), semitones);
-                    transposedChords.add(new ChordPositionInfo(
-                            originalChord.getStart(),
-                            newChordName,
-                            null
-                    ));
-                }
-            }
-            transposedLyrics.add(new LineWithChords(line.getLineNumber(), line.getText(), transposedChords));
-        }
+        User currentUser = getCurrentUser();
+        Song song = songRepository.findById(songId)
+                .orElseThrow(() -> new ResourceNotFoundException("Song not found"));
 
-        response.setLyrics(transposedLyrics);
-        if (response.getKey() != null) {
-            response.setKey(ChordTransposer.transpose(response.getKey(), semitones));
+        if (!canUserViewSong(currentUser, song)) {
+            throw new BusinessException("No tienes permiso para ver esta canción");
         }
 
+        SongLyricsService.TransposedLyrics transposed = songLyricsService.readTransposed(song, semitones);
+        SongWithChordsResponse response = mapToSongWithChordsResponse(song, transposed.lyrics());
+        response.setKey(transposed.key());
         return response;
     }
 
@@ -507,7 +696,10 @@ public class SongService extends BaseService {
         playlistSongRepository.deleteBySongId(id);
 
         // Eliminar la canción
+        songAnalyticsRepository.deleteById(id);
         songRepository.delete(song);
+        songLyricsService.evict(id);
+        songSearchService.removeSong(id);
         System.out.println("✅ Canción eliminada: " + song.getTitle() + " (ID: " + id + ") por usuario: " + currentUser.getUsername());
     }
 
@@ -516,7 +708,7 @@ public class SongService extends BaseService {
      */
     @Transactional
     public DeletionRequest requestSongDeletion(Long songId, String reason) {
-        User currentUser = getCurrentUser();
+        User currentUser = userCacheService.getUser(getCurrentUser().getId());
         Song song = songRepository.findByIdAndCreatedById(songId, currentUser.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Canción no encontrada o no tienes permisos"));
         
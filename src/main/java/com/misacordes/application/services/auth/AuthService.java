@@ -30,12 +30,9 @@ public class AuthService {
 
     public AuthResponse login(LoginRequest request) {
         // Verificar si la cuenta está bloqueada
-        if (loginAttemptService.isAccountLocked(request.getUsername())) {
-            long minutesRemaining = loginAttemptService.getLockTimeRemaining(request.getUsername());
-            throw new LockedException(
-                "Cuenta bloqueada por múltiples intentos fallidos. " +
-                "Intenta nuevamente en " + minutesRemaining + " minutos."
-            );
+        LoginAttemptService.LoginStatus status = loginAttemptService.getStatus(request.getUsername());
+        if (status.locked()) {
+            throw lockedException(status.minutesRemaining());
         }
         
         try {
@@ -43,13 +40,13 @@ public class AuthService {
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
             );
             
-            // Login exitoso - resetear intentos fallidos
-            loginAttemptService.loginSucceeded(request.getUsername());
-            
             User user = userRepository.findByUsername(request.getUsername());
             if (user == null) {
                 throw new UsernameNotFoundException("User not found");
             }
+
+            // Login exitoso - resetear intentos fallidos
+            loginAttemptService.loginSucceeded(user);
             
             String token = jwtService.getToken(user);
             return AuthResponse.builder()
@@ -58,22 +55,31 @@ public class AuthService {
                     
         } catch (BadCredentialsException e) {
             // Login fallido - incrementar contador
-            loginAttemptService.loginFailed(request.getUsername());
-            int attemptsRemaining = loginAttemptService.getAttemptsRemaining(request.getUsername());
+            status = loginAttemptService.loginFailed(request.getUsername());
             
-            if (attemptsRemaining > 0) {
+            if (!status.locked()) {
                 throw new BadCredentialsException(
-                    "Credenciales inválidas. Te quedan " + attemptsRemaining + " intentos."
+                    "Credenciales inválidas. Te quedan " + status.attemptsRemaining() + " intentos."
                 );
             } else {
-                throw new LockedException(
-                    "Cuenta bloqueada por múltiples intentos fallidos. " +
-                    "Intenta nuevamente en 15 minutos."
-                );
+                throw lockedException(status.minutesRemaining());
             }
+        } catch (LockedException e) {
+            // Bloqueo guardado por otra instancia o antes de un reinicio
+            throw new LockedException(
+                "Cuenta bloqueada por múltiples intentos fallidos. " +
+                "Intenta nuevamente más tarde."
+            );
         }
     }
 
+    private static LockedException lockedException(long minutesRemaining) {
+        return new LockedException(
+            "Cuenta bloqueada por múltiples intentos fallidos. " +
+            "Intenta nuevamente en " + minutesRemaining + " minutos."
+        );
+    }
+
 
     public AuthResponse register(RegisterRequest request) {
         User user = User.builder()
@@ -85,6 +91,7 @@ public class AuthService {
                 .role(Role.USER)
                 .failedAttempts(0)
                 .accountLocked(false)
+                .credentialVersion(0)
                 .build();
         User savedUser = userRepository.save(user);
         
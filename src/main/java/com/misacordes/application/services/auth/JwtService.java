@@ -1,44 +1,64 @@
 package com.misacordes.application.services.auth;
+import com.github.benmanes.caffeine.cache.Cache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import com.misacordes.application.entities.Role;
 import com.misacordes.application.entities.User;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
 
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
+    // Claims con los que se reconstruye el usuario autenticado sin consultar la base de datos
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_CREDENTIAL_VERSION = "cv";
+
     @Value("${jwt.secret}")
     private String SECRET_KEY;
     
     @Value("${jwt.expiration.hours:168}")
     private long expirationHours;
 
+    // hash SHA-256 del token -> claims ya verificados; cada entrada caduca con el exp del token
+    private final Cache<String, Claims> verifiedTokenCache;
+
+    // Clave y parser se construyen una sola vez a partir del secreto
+    private volatile Key signingKey;
+    private volatile JwtParser parser;
+
     public String getToken(UserDetails user) {
-        Map<String, Object> claims = new HashMap<>();
-        
-        // Agregar el rol al token si el usuario es de tipo User
+        // Agregar id, rol y versión de credenciales al token si el usuario es de tipo User
         if (user instanceof User) {
-            User userEntity = (User) user;
-            claims.put("role", userEntity.getRole().name());
+            return getToken((User) user);
         }
         
-        return getToken(claims, user);
+        return getToken(new HashMap<>(), user);
     }
     
     public String getToken(User user) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("role", user.getRole().name());
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLE, user.getRole().name());
+        claims.put(CLAIM_CREDENTIAL_VERSION, user.currentCredentialVersion());
         return getToken(claims, user);
     }
 
@@ -57,8 +77,40 @@ public class JwtService {
     }
 
     private Key getKey() {
-        byte[] keyBytes= Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+        Key key = signingKey;
+        if (key == null) {
+            byte[] keyBytes= Decoders.BASE64.decode(SECRET_KEY);
+            key = Keys.hmacShaKeyFor(keyBytes);
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser current = parser;
+        if (current == null) {
+            current = Jwts.parserBuilder().setSigningKey(getKey()).build();
+            parser = current;
+        }
+        return current;
+    }
+
+    /**
+     * Verifica firma y caducidad y devuelve los claims. Cada token se verifica una sola vez mientras siga
+     * en la caché; lanza JwtException si el token no es válido o ha caducado.
+     */
+    public Claims verify(String token) {
+        String cacheKey = hash(token);
+        Claims claims = verifiedTokenCache.getIfPresent(cacheKey);
+        if (claims != null && !isExpired(claims)) {
+            return claims;
+        }
+
+        claims = getParser().parseClaimsJws(token).getBody();
+        if (claims.getExpiration() != null) {
+            verifiedTokenCache.put(cacheKey, claims);
+        }
+        return claims;
     }
 
     public String getUsernameFromToken(String token) {
@@ -66,31 +118,52 @@ public class JwtService {
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return isTokenValid(verify(token), userDetails);
     }
 
-    private Claims getAllClaims(String token){
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return (username != null && username.equals(userDetails.getUsername()) && !isExpired(claims));
+    }
+
+    /**
+     * Usuario autenticado a partir de los claims (id, username, rol y versión de credenciales), sin el resto
+     * de campos de la entidad. Devuelve null para tokens emitidos antes de incluir estos claims.
+     */
+    public User principalFromClaims(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        Number credentialVersion = claims.get(CLAIM_CREDENTIAL_VERSION, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (userId == null || credentialVersion == null || role == null || claims.getSubject() == null) {
+            return null;
+        }
+        try {
+            return User.builder()
+                    .id(userId.longValue())
+                    .username(claims.getSubject())
+                    .role(Role.valueOf(role))
+                    .credentialVersion(credentialVersion.intValue())
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
 
     public <T> T getClaim(String token, Function<Claims, T> claimsResolve){
-        final Claims claims = getAllClaims(token);
+        final Claims claims = verify(token);
         return claimsResolve.apply(claims);
     }
 
-    private Date getExpiration(String token){
-        return getClaim(token, Claims::getExpiration);
+    private static boolean isExpired(Claims claims) {
+        return claims.getExpiration() != null && claims.getExpiration().before(new Date());
     }
 
-    private Boolean isTokenExpired(String token){
-        return getExpiration(token).before(new Date());
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
     }
-
-
 }
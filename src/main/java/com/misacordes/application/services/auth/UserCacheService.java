@@ -0,0 +1,32 @@
+package com.misacordes.application.services.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.misacordes.application.config.GlobalExceptionHandler.ResourceNotFoundException;
+import com.misacordes.application.entities.User;
+import com.misacordes.application.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Usuarios recientes por id con un TTL corto. Lo usa el filtro JWT para comprobar rol y versión de credenciales
+ * y los caminos que necesitan la entidad completa (nombre para las respuestas, relaciones al guardar).
+ * No se invalida explícitamente: los cambios hechos en base de datos se ven al caducar la entrada (cache.users.ttl-seconds).
+ * Las entidades devueltas son compartidas: no deben modificarse.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserCacheService {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, User> userCache;
+
+    public Optional<User> findById(long userId) {
+        return Optional.ofNullable(userCache.get(userId, id -> userRepository.findById(id).orElse(null)));
+    }
+
+    public User getUser(long userId) {
+        return findById(userId).orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
+    }
+}
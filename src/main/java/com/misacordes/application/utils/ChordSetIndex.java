@@ -0,0 +1,139 @@
+package com.misacordes.application.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice de acordes por canción para consultas del tipo "canciones que puedo tocar con estos acordes".
+ *
+ * Cada canción se guarda como un bitset (long[]) sobre el espacio de ids de ChordCatalog; los acordes que no
+ * están en el catálogo reciben ids a continuación del mayor id del catálogo. Una consulta recorre todas las
+ * canciones y cuenta los bits fuera del conjunto del usuario con Long.bitCount, cortando en cuanto se supera
+ * el máximo permitido.
+ *
+ * No es thread-safe: el llamador debe sincronizar lecturas y escrituras.
+ */
+public final class ChordSetIndex {
+
+    public record Match(long songId, List<String> missingChords) {
+    }
+
+    public record Result(List<Match> matches, int totalMatches) {
+    }
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Map<String, Integer> idsByName = new HashMap<>();
+    private final Map<Integer, String> namesById = new HashMap<>();
+    private final Map<Long, long[]> chordsBySong = new HashMap<>();
+    private int nextId;
+
+    public ChordSetIndex(Map<String, Integer> catalogIds) {
+        for (Map.Entry<String, Integer> entry : catalogIds.entrySet()) {
+            idsByName.put(entry.getKey(), entry.getValue());
+            namesById.put(entry.getValue(), entry.getKey());
+            nextId = Math.max(nextId, entry.getValue() + 1);
+        }
+    }
+
+    public int size() {
+        return chordsBySong.size();
+    }
+
+    public void put(long songId, Collection<String> chordNames) {
+        long[] bits = EMPTY;
+        for (String name : chordNames) {
+            if (name == null || name.isBlank()) {
+                continue;
+            }
+            int id = idFor(name.trim());
+            int word = id >>> 6;
+            if (word >= bits.length) {
+                bits = Arrays.copyOf(bits, word + 1);
+            }
+            bits[word] |= 1L << id;
+        }
+        chordsBySong.put(songId, bits);
+    }
+
+    public void remove(long songId) {
+        chordsBySong.remove(songId);
+    }
+
+    /**
+     * Canciones con como mucho maxMissing acordes fuera de knownChords, ordenadas por acordes que faltan
+     * y después por id.
+     */
+    public Result findPlayable(Collection<String> knownChords, int maxMissing, int offset, int limit) {
+        long[] known = EMPTY;
+        for (String name : knownChords) {
+            Integer id = name != null ? idsByName.get(name.trim()) : null;
+            if (id == null) {
+                continue;
+            }
+            int word = id >>> 6;
+            if (word >= known.length) {
+                known = Arrays.copyOf(known, word + 1);
+            }
+            known[word] |= 1L << id;
+        }
+
+        List<long[]> candidates = new ArrayList<>();
+        for (Map.Entry<Long, long[]> entry : chordsBySong.entrySet()) {
+            int missing = countMissing(entry.getValue(), known, maxMissing);
+            if (missing <= maxMissing) {
+                candidates.add(new long[]{entry.getKey(), missing});
+            }
+        }
+        candidates.sort(Comparator.<long[]>comparingLong(c -> c[1]).thenComparingLong(c -> c[0]));
+
+        int from = Math.min(Math.max(offset, 0), candidates.size());
+        int to = Math.min(from + Math.max(limit, 0), candidates.size());
+        List<Match> matches = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            long songId = candidates.get(i)[0];
+            matches.add(new Match(songId, missingNames(chordsBySong.get(songId), known)));
+        }
+        return new Result(matches, candidates.size());
+    }
+
+    private int idFor(String name) {
+        Integer id = idsByName.get(name);
+        if (id == null) {
+            id = nextId++;
+            idsByName.put(name, id);
+            namesById.put(id, name);
+        }
+        return id;
+    }
+
+    private static int countMissing(long[] song, long[] known, int limit) {
+        int missing = 0;
+        for (int word = 0; word < song.length; word++) {
+            long outside = word < known.length ? song[word] & ~known[word] : song[word];
+            missing += Long.bitCount(outside);
+            if (missing > limit) {
+                return missing;
+            }
+        }
+        return missing;
+    }
+
+    private List<String> missingNames(long[] song, long[] known) {
+        List<String> names = new ArrayList<>();
+        for (int word = 0; word < song.length; word++) {
+            long outside = word < known.length ? song[word] & ~known[word] : song[word];
+            while (outside != 0) {
+                int id = (word << 6) + Long.numberOfTrailingZeros(outside);
+                names.add(namesById.get(id));
+                outside &= outside - 1;
+            }
+        }
+        return names;
+    }
+}
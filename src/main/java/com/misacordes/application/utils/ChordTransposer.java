@@ -1,33 +1,145 @@
 package com.misacordes.application.utils;
 
 
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Transposición de acordes sin expresiones regulares.
+ *
+ * Un acorde se lee como raíz (A-G con # o b opcional), calidad (el resto) y, si termina en "/nota",
+ * bajo. Se transponen la raíz y el bajo; la calidad se copia tal cual. Los nombres transpuestos se
+ * guardan en una tabla por acorde con una casilla por (semitonos, grafía), de modo que una canción
+ * con cientos de acordes repetidos solo analiza cada nombre distinto una vez.
+ */
 public class ChordTransposer {
-    private static final List<String> NOTES_SHARP = List.of("C", "C#", "D", "D#", "E", "F", "F#", "G", "G#", "A", "A#", "B");
-    private static final List<String> NOTES_FLAT = List.of("C", "Db", "D", "Eb", "E", "F", "Gb", "G", "Ab", "A", "Bb", "B");
+    private static final String[] NOTES_SHARP = {"C", "C#", "D", "D#", "E", "F", "F#", "G", "G#", "A", "A#", "B"};
+    private static final String[] NOTES_FLAT = {"C", "Db", "D", "Eb", "E", "F", "Gb", "G", "Ab", "A", "Bb", "B"};
 
+    // Semitono de cada letra A-G
+    private static final int[] LETTER_PITCH = {9, 11, 0, 2, 4, 5, 7};
+
+    // Tonalidades mayores que se escriben con bemoles (F, Bb, Eb, Ab, Db, Gb), indexadas por semitono
+    private static final boolean[] FLAT_MAJOR_KEYS = {
+            false, true, false, true, false, true, true, false, true, false, true, false
+    };
+
+    // Límite de nombres distintos en la tabla; por encima se transpone sin guardar
+    private static final int MAX_CACHED_CHORDS = 4096;
+
+    private static final ConcurrentHashMap<String, String[]> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Transpone usando sostenidos.
+     */
     public static String transpose(String chordName, int semitones) {
-        if (chordName == null || semitones == 0) return chordName;
+        return transpose(chordName, semitones, false);
+    }
+
+    /**
+     * Transpone escribiendo las notas alteradas con bemoles si useFlats, o con sostenidos si no.
+     * Devuelve el nombre sin cambios si no empieza por una nota reconocible.
+     */
+    public static String transpose(String chordName, int semitones, boolean useFlats) {
+        if (chordName == null) return null;
+        int shift = Math.floorMod(semitones, 12);
+        if (shift == 0) return chordName;
 
-        Pattern pattern = Pattern.compile("([A-G][b#]?)(.*)");
-        Matcher matcher = pattern.matcher(chordName);
+        String[] variants = CACHE.get(chordName);
+        if (variants == null) {
+            if (CACHE.size() >= MAX_CACHED_CHORDS) {
+                return transposeUncached(chordName, shift, useFlats);
+            }
+            variants = CACHE.computeIfAbsent(chordName, k -> new String[24]);
+        }
 
-        if (!matcher.matches()) return chordName; // No es un acorde válido
+        int slot = shift * 2 + (useFlats ? 1 : 0);
+        String transposed = variants[slot];
+        if (transposed == null) {
+            transposed = transposeUncached(chordName, shift, useFlats);
+            // Carrera benigna: dos hilos calculan el mismo valor inmutable
+            variants[slot] = transposed;
+        }
+        return transposed;
+    }
+
+    /**
+     * Transpone una tonalidad ("G", "Bbm", "F#m") escribiéndola con la grafía habitual de la tonalidad destino.
+     */
+    public static String transposeKey(String key, int semitones) {
+        if (key == null) return null;
+        String transposed = transpose(key, semitones, false);
+        return prefersFlats(transposed) ? transpose(key, semitones, true) : transposed;
+    }
 
-        String rootNote = matcher.group(1);
-        String quality = matcher.group(2);
+    /**
+     * Indica si la tonalidad se escribe con bemoles: F, Bb, Eb, Ab, Db y Gb mayores y sus relativas menores.
+     * Las tonalidades no reconocidas usan sostenidos.
+     */
+    public static boolean prefersFlats(String key) {
+        if (key == null) return false;
+        int note = parseNote(key, 0);
+        if (note < 0) return false;
+        int pitch = note >>> 8;
+        int end = note & 0xFF;
+        boolean minor = key.startsWith("m", end) && !key.startsWith("maj", end);
+        int majorPitch = minor ? (pitch + 3) % 12 : pitch;
+        // F#/Gb (y D#m/Ebm): se respeta la grafía de la propia tonalidad
+        if (majorPitch == 6) {
+            return end == 2 && key.charAt(1) == 'b';
+        }
+        return FLAT_MAJOR_KEYS[majorPitch];
+    }
+
+    private static String transposeUncached(String chordName, int shift, boolean useFlats) {
+        // parseNote codifica la posición en 8 bits
+        if (chordName.length() > 0xFF) return chordName;
+        int root = parseNote(chordName, 0);
+        if (root < 0) return chordName; // No es un acorde válido
 
-        int rootIndex = NOTES_SHARP.indexOf(rootNote);
-        if (rootIndex == -1) rootIndex = NOTES_FLAT.indexOf(rootNote);
-        if (rootIndex == -1) return chordName; // Nota no reconocida
+        String[] names = useFlats ? NOTES_FLAT : NOTES_SHARP;
+        int rootEnd = root & 0xFF;
+        int length = chordName.length();
 
-        int newIndex = (rootIndex + semitones % 12 + 12) % 12;
+        // Bajo: "/nota" al final del nombre; "6/9" y similares se dejan en la calidad
+        int slash = chordName.lastIndexOf('/');
+        int bass = -1;
+        if (slash >= rootEnd) {
+            bass = parseNote(chordName, slash + 1);
+            if (bass >= 0 && (bass & 0xFF) != length) {
+                bass = -1;
+            }
+        }
 
-        String newRoot = NOTES_SHARP.get(newIndex);
+        StringBuilder result = new StringBuilder(length + 2);
+        result.append(names[((root >>> 8) + shift) % 12]);
+        if (bass < 0) {
+            result.append(chordName, rootEnd, length);
+        } else {
+            result.append(chordName, rootEnd, slash + 1);
+            result.append(names[((bass >>> 8) + shift) % 12]);
+        }
+        return result.toString();
+    }
 
-        return newRoot + quality;
+    /**
+     * Lee una nota en la posición from. Devuelve (semitono << 8 | posición final) o -1 si no hay nota.
+     */
+    private static int parseNote(String text, int from) {
+        if (from >= text.length()) return -1;
+        char letter = text.charAt(from);
+        if (letter < 'A' || letter > 'G') return -1;
+        int pitch = LETTER_PITCH[letter - 'A'];
+        int end = from + 1;
+        if (end < text.length()) {
+            char accidental = text.charAt(end);
+            if (accidental == '#') {
+                pitch++;
+                end++;
+            } else if (accidental == 'b') {
+                pitch--;
+                end++;
+            }
+        }
+        return Math.floorMod(pitch, 12) << 8 | end;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,18 @@
+package com.misacordes.application.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+public final class ClientIp {
+
+    private ClientIp() {
+    }
+
+    /**
+     * Obtiene la IP del cliente a partir de la conexión. No se lee X-Forwarded-For directamente porque el cliente
+     * lo controla; detrás de un proxy de confianza el contenedor ya sustituye la dirección remota por la real
+     * (server.forward-headers-strategy).
+     */
+    public static String resolve(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,172 @@
+package com.misacordes.application.utils;
+
+/**
+ * Conversión de direcciones IP en texto a enteros, sin resolver nombres (nunca hace consultas DNS).
+ */
+public final class IpAddresses {
+
+    private IpAddresses() {
+    }
+
+    /**
+     * IPv4 "a.b.c.d" como entero sin signo de 32 bits, o -1 si el texto no es una IPv4 válida.
+     */
+    public static long parseIpv4(String text) {
+        if (text == null) {
+            return -1;
+        }
+        return parseIpv4(text, 0, text.length());
+    }
+
+    /**
+     * Los 64 bits altos (el prefijo /64) de una IPv6 en cualquiera de sus formas ("::1", "2001:db8::1",
+     * "[fe80::1%eth0]", "::ffff:1.2.3.4"). Devuelve null si el texto no es una IPv6 válida.
+     */
+    public static Long parseIpv6Prefix(String text) {
+        int[] groups = parseIpv6(text);
+        if (groups == null) {
+            return null;
+        }
+        long high = 0;
+        for (int i = 0; i < 4; i++) {
+            high = high << 16 | groups[i];
+        }
+        return high;
+    }
+
+    /**
+     * La IPv4 contenida en una IPv6 mapeada ("::ffff:1.2.3.4"), o -1 si no lo es.
+     */
+    public static long parseIpv4Mapped(String text) {
+        int[] groups = parseIpv6(text);
+        if (groups == null || groups[5] != 0xFFFF) {
+            return -1;
+        }
+        for (int i = 0; i < 5; i++) {
+            if (groups[i] != 0) {
+                return -1;
+            }
+        }
+        return (long) groups[6] << 16 | groups[7];
+    }
+
+    /**
+     * Los ocho grupos de 16 bits de una IPv6, o null si el texto no es válido.
+     */
+    static int[] parseIpv6(String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        int start = 0;
+        int end = text.length();
+        if (text.charAt(0) == '[') {
+            if (text.charAt(end - 1) != ']') {
+                return null;
+            }
+            start++;
+            end--;
+        }
+        int zone = text.indexOf('%', start);
+        if (zone >= 0 && zone < end) {
+            end = zone;
+        }
+        String address = text.substring(start, end);
+        if (address.indexOf(':') < 0) {
+            return null;
+        }
+
+        int compressed = address.indexOf("::");
+        if (compressed >= 0 && address.indexOf("::", compressed + 1) >= 0) {
+            return null;
+        }
+
+        int[] head = new int[8];
+        int[] tail = new int[8];
+        int headCount;
+        int tailCount;
+        if (compressed < 0) {
+            headCount = parseGroups(address, head, true);
+            tailCount = 0;
+            if (headCount != 8) {
+                return null;
+            }
+        } else {
+            headCount = compressed == 0 ? 0 : parseGroups(address.substring(0, compressed), head, false);
+            String rest = address.substring(compressed + 2);
+            tailCount = rest.isEmpty() ? 0 : parseGroups(rest, tail, true);
+            if (headCount < 0 || tailCount < 0 || headCount + tailCount > 7) {
+                return null;
+            }
+        }
+
+        int[] groups = new int[8];
+        System.arraycopy(head, 0, groups, 0, headCount);
+        System.arraycopy(tail, 0, groups, 8 - tailCount, tailCount);
+        return groups;
+    }
+
+    /**
+     * Lee grupos hexadecimales separados por ':'; si allowIpv4Tail, el último puede ser una IPv4 (dos grupos).
+     * Devuelve el número de grupos leídos o -1 si hay algún error.
+     */
+    private static int parseGroups(String text, int[] out, boolean allowIpv4Tail) {
+        int count = 0;
+        int from = 0;
+        while (from <= text.length()) {
+            int colon = text.indexOf(':', from);
+            int to = colon < 0 ? text.length() : colon;
+            if (colon < 0 && allowIpv4Tail && text.indexOf('.', from) >= 0) {
+                long ipv4 = parseIpv4(text, from, to);
+                if (ipv4 < 0 || count + 2 > out.length) {
+                    return -1;
+                }
+                out[count++] = (int) (ipv4 >>> 16);
+                out[count++] = (int) (ipv4 & 0xFFFF);
+                return count;
+            }
+            int length = to - from;
+            if (length < 1 || length > 4 || count == out.length) {
+                return -1;
+            }
+            int value = 0;
+            for (int i = from; i < to; i++) {
+                int digit = Character.digit(text.charAt(i), 16);
+                if (digit < 0) {
+                    return -1;
+                }
+                value = value << 4 | digit;
+            }
+            out[count++] = value;
+            if (colon < 0) {
+                return count;
+            }
+            from = colon + 1;
+        }
+        return -1;
+    }
+
+    private static long parseIpv4(String text, int from, int to) {
+        long value = 0;
+        int octets = 0;
+        int octet = -1;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                octet = octet < 0 ? c - '0' : octet * 10 + (c - '0');
+                if (octet > 255) {
+                    return -1;
+                }
+            } else if (c == '.' && octet >= 0 && octets < 3) {
+                value = value << 8 | octet;
+                octets++;
+                octet = -1;
+            } else {
+                return -1;
+            }
+        }
+        if (octet < 0 || octets != 3) {
+            return -1;
+        }
+        return value << 8 | octet;
+    }
+}
@@ -0,0 +1,38 @@
+package com.misacordes.application.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición en un listado ordenado por (createdAt, id) descendente. La página siguiente empieza en la primera fila
+ * estrictamente anterior a esta clave, así que el coste no depende de cuántas páginas se hayan recorrido.
+ *
+ * Se envía al cliente como texto opaco: "createdAt|id" en Base64 URL-safe, con createdAt en ISO-8601 y precisión
+ * completa para no saltarse filas creadas en el mismo milisegundo.
+ */
+public record KeysetCursor(LocalDateTime createdAt, long id) {
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lanza IllegalArgumentException si el cursor no tiene el formato de encode().
+     */
+    public static KeysetCursor decode(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separator = raw.lastIndexOf('|');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Formato de cursor no reconocido");
+        }
+        try {
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Fecha de cursor no válida", e);
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.misacordes.application.utils;
+
+import com.misacordes.application.dto.request.ChordPositionInfo;
+import com.misacordes.application.dto.request.LineWithChords;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Codificación binaria compacta de la letra con acordes de una canción.
+ *
+ * Formato (versión 1):
+ * <pre>
+ * magic(1) version(1) lineCount(varint)
+ * stringCount(varint) [len(varint) utf8]*     -> tabla de nombres de acordes
+ * [lineLength(varint)]*                       -> tamaño de cada línea, permite saltar a una línea concreta
+ * [línea]*
+ *
+ * línea  = lineNumber(nint) text(nstr) chordCount(varint, 0 = null) [acorde]*
+ * acorde = start(nint) nameIndex(varint, 0 = null) chordId(nint)
+ * </pre>
+ * Los valores "n" son anulables: 0 representa null y el resto es zigzag(valor) + 1.
+ */
+public final class SongChordsCodec {
+
+    public static final byte MAGIC = (byte) 0xC7;
+    public static final byte VERSION_1 = 1;
+
+    private static final int HEADER_SIZE = 2;
+
+    // Bytes mínimos que ocupa cada elemento; acotan los tamaños leídos antes de reservar memoria
+    private static final int MIN_STRING_BYTES = 1;
+    private static final int MIN_LINE_LENGTH_BYTES = 1;
+    private static final int MIN_CHORD_BYTES = 3;
+
+    private SongChordsCodec() {
+    }
+
+    public static boolean isEncoded(byte[] data) {
+        return data != null && data.length >= HEADER_SIZE && data[0] == MAGIC;
+    }
+
+    public static byte[] encode(List<LineWithChords> lyrics) {
+        List<LineWithChords> lines = lyrics != null ? lyrics : List.of();
+
+        Map<String, Integer> stringIndex = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (LineWithChords line : lines) {
+            if (line == null || line.getChords() == null) continue;
+            for (ChordPositionInfo chord : line.getChords()) {
+                if (chord != null && chord.getName() != null && !stringIndex.containsKey(chord.getName())) {
+                    stringIndex.put(chord.getName(), strings.size());
+                    strings.add(chord.getName());
+                }
+            }
+        }
+
+        ByteSink body = new ByteSink(lines.size() * 32);
+        int[] lineLengths = new int[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            int before = body.size;
+            writeLine(body, lines.get(i), stringIndex);
+            lineLengths[i] = body.size - before;
+        }
+
+        ByteSink out = new ByteSink(body.size + strings.size() * 6 + lines.size() * 2 + 8);
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION_1);
+        out.writeVarLong(lines.size());
+        out.writeVarLong(strings.size());
+        for (String s : strings) {
+            out.writeString(s);
+        }
+        for (int length : lineLengths) {
+            out.writeVarLong(length);
+        }
+        out.writeBytes(body.buffer, 0, body.size);
+        return out.toByteArray();
+    }
+
+    public static List<LineWithChords> decode(byte[] data) {
+        Header header = readHeader(data);
+        ByteSource in = header.source;
+        List<LineWithChords> lines = new ArrayList<>(header.lineLengths.length);
+        for (int i = 0; i < header.lineLengths.length; i++) {
+            lines.add(readLine(in, header.strings));
+        }
+        return lines;
+    }
+
+    /**
+     * Decodifica únicamente la línea indicada usando la tabla de tamaños, sin recorrer las anteriores.
+     */
+    public static LineWithChords decodeLine(byte[] data, int index) {
+        Header header = readHeader(data);
+        if (index < 0 || index >= header.lineLengths.length) {
+            throw new IndexOutOfBoundsException("Línea " + index + " fuera de rango");
+        }
+        ByteSource in = header.source;
+        for (int i = 0; i < index; i++) {
+            in.skip(header.lineLengths[i]);
+        }
+        return readLine(in, header.strings);
+    }
+
+    public static int lineCount(byte[] data) {
+        ByteSource in = openSource(data);
+        return in.readCount();
+    }
+
+    // ========== ESCRITURA ==========
+
+    private static void writeLine(ByteSink out, LineWithChords line, Map<String, Integer> stringIndex) {
+        if (line == null) {
+            line = new LineWithChords();
+        }
+        out.writeNullableLong(line.getLineNumber() != null ? Long.valueOf(line.getLineNumber()) : null);
+        out.writeNullableString(line.getText());
+
+        List<ChordPositionInfo> chords = line.getChords();
+        if (chords == null) {
+            out.writeVarLong(0);
+            return;
+        }
+        out.writeVarLong(chords.size() + 1L);
+        for (ChordPositionInfo chord : chords) {
+            if (chord == null) {
+                chord = new ChordPositionInfo();
+            }
+            out.writeNullableLong(chord.getStart() != null ? Long.valueOf(chord.getStart()) : null);
+            out.writeVarLong(chord.getName() != null ? stringIndex.get(chord.getName()) + 1L : 0);
+            out.writeNullableLong(chord.getChordId());
+        }
+    }
+
+    // ========== LECTURA ==========
+
+    private static Header readHeader(byte[] data) {
+        ByteSource in = openSource(data);
+        int lineCount = in.readItemCount(MIN_LINE_LENGTH_BYTES);
+
+        int stringCount = in.readItemCount(MIN_STRING_BYTES);
+        String[] strings = new String[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            strings[i] = in.readString();
+        }
+
+        int[] lineLengths = new int[lineCount];
+        for (int i = 0; i < lineCount; i++) {
+            lineLengths[i] = in.readCount();
+        }
+        return new Header(in, strings, lineLengths);
+    }
+
+    private static ByteSource openSource(byte[] data) {
+        if (!isEncoded(data)) {
+            throw new IllegalArgumentException("Los datos no están en formato binario de acordes");
+        }
+        if (data[1] != VERSION_1) {
+            throw new IllegalArgumentException("Versión de formato de acordes no soportada: " + data[1]);
+        }
+        return new ByteSource(data, HEADER_SIZE);
+    }
+
+    private static LineWithChords readLine(ByteSource in, String[] strings) {
+        Long lineNumber = in.readNullableLong();
+        String text = in.readNullableString();
+
+        int chordCount = in.readCount();
+        List<ChordPositionInfo> chords = null;
+        if (chordCount > 0) {
+            in.checkItems(chordCount - 1, MIN_CHORD_BYTES);
+            chords = new ArrayList<>(chordCount - 1);
+            for (int i = 0; i < chordCount - 1; i++) {
+                Long start = in.readNullableLong();
+                int nameIndex = in.readCount();
+                Long chordId = in.readNullableLong();
+                if (nameIndex > strings.length) {
+                    throw new IllegalArgumentException("Índice de acorde inválido: " + nameIndex);
+                }
+                chords.add(new ChordPositionInfo(
+                        start != null ? start.intValue() : null,
+                        nameIndex > 0 ? strings[nameIndex - 1] : null,
+                        chordId));
+            }
+        }
+        return new LineWithChords(lineNumber != null ? lineNumber.intValue() : null, text, chords);
+    }
+
+    private record Header(ByteSource source, String[] strings, int[] lineLengths) {
+    }
+
+    private static final class ByteSink {
+        private byte[] buffer;
+        private int size;
+
+        ByteSink(int initialCapacity) {
+            buffer = new byte[Math.max(16, initialCapacity)];
+        }
+
+        void writeByte(int b) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) b;
+        }
+
+        void writeBytes(byte[] bytes, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, offset, buffer, size, length);
+            size += length;
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeNullableLong(Long value) {
+            if (value == null) {
+                writeVarLong(0);
+            } else {
+                long v = value;
+                writeVarLong(((v << 1) ^ (v >> 63)) + 1);
+            }
+        }
+
+        void writeString(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(utf8.length);
+            writeBytes(utf8, 0, utf8.length);
+        }
+
+        void writeNullableString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(utf8.length + 1L);
+            writeBytes(utf8, 0, utf8.length);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+
+    private static final class ByteSource {
+        private final byte[] data;
+        private int position;
+
+        ByteSource(byte[] data, int position) {
+            this.data = data;
+            this.position = position;
+        }
+
+        long readVarLong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position >= data.length) {
+                    throw new IllegalArgumentException("Datos de acordes truncados");
+                }
+                byte b = data[position++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("Varint mal formado en datos de acordes");
+        }
+
+        int readCount() {
+            long value = readVarLong();
+            if (value < 0 || value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Tamaño inválido en datos de acordes: " + value);
+            }
+            return (int) value;
+        }
+
+        /**
+         * Lee un número de elementos y comprueba que caben en los bytes restantes, para que unos datos corruptos
+         * no provoquen una reserva enorme.
+         */
+        int readItemCount(int minItemBytes) {
+            int count = readCount();
+            checkItems(count, minItemBytes);
+            return count;
+        }
+
+        void checkItems(int count, int minItemBytes) {
+            if (count > (data.length - position) / minItemBytes) {
+                throw new IllegalArgumentException("Datos de acordes truncados");
+            }
+        }
+
+        Long readNullableLong() {
+            long raw = readVarLong();
+            if (raw == 0) {
+                return null;
+            }
+            long zigzag = raw - 1;
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        String readString() {
+            int length = readCount();
+            return readUtf8(length);
+        }
+
+        String readNullableString() {
+            int raw = readCount();
+            return raw == 0 ? null : readUtf8(raw - 1);
+        }
+
+        void skip(int length) {
+            if (length > data.length - position) {
+                throw new IllegalArgumentException("Datos de acordes truncados");
+            }
+            position += length;
+        }
+
+        private String readUtf8(int length) {
+            if (length > data.length - position) {
+                throw new IllegalArgumentException("Datos de acordes truncados");
+            }
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
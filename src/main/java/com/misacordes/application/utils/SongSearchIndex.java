@@ -0,0 +1,376 @@
+package com.misacordes.application.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Índice invertido en memoria de canciones con ranking BM25 por campos.
+ *
+ * Cada término guarda una lista de postings ordenada por documento; la frecuencia del término en cada campo
+ * se empaqueta en un int (6 bits por campo, saturada en 63). Las bajas se marcan y se compactan cuando
+ * superan a los documentos vivos. Todos los términos de la consulta deben aparecer (AND); el último se
+ * trata además como prefijo para soportar búsqueda mientras se escribe.
+ *
+ * No es thread-safe: el llamador debe sincronizar lecturas y escrituras.
+ */
+public final class SongSearchIndex {
+
+    public enum Field {
+        TITLE(3.0f), ARTIST(2.0f), ALBUM(1.5f), LYRICS(1.0f), CHORDS(1.0f);
+
+        private final float weight;
+
+        Field(float weight) {
+            this.weight = weight;
+        }
+    }
+
+    public record Document(long songId, String title, String artist, String album, String lyrics,
+                           Collection<String> chords) {
+    }
+
+    public record Hit(long songId, float score) {
+    }
+
+    public record Result(List<Hit> hits, int totalHits) {
+    }
+
+    private static final Field[] FIELDS = Field.values();
+    private static final int FIELD_COUNT = FIELDS.length;
+    private static final int TF_BITS = 6;
+    private static final int TF_MAX = (1 << TF_BITS) - 1;
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float PREFIX_DISCOUNT = 0.7f;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_DELETED_FOR_COMPACTION = 1024;
+
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Long, Integer> docBySong = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private final long[] totalLengths = new long[FIELD_COUNT];
+
+    private long[] songIds = new long[256];
+    private int[] lengths = new int[256 * FIELD_COUNT];
+    private int docCount;
+    private int liveCount;
+
+    public int size() {
+        return liveCount;
+    }
+
+    public int termCount() {
+        return terms.size();
+    }
+
+    public boolean contains(long songId) {
+        return docBySong.containsKey(songId);
+    }
+
+    public void add(Document document) {
+        remove(document.songId());
+
+        int doc = docCount++;
+        ensureDocCapacity(docCount);
+        songIds[doc] = document.songId();
+        docBySong.put(document.songId(), doc);
+
+        Map<String, Integer> packedFrequencies = new HashMap<>();
+        indexField(doc, Field.TITLE, TextNormalizer.tokenize(document.title()), packedFrequencies);
+        indexField(doc, Field.ARTIST, TextNormalizer.tokenize(document.artist()), packedFrequencies);
+        indexField(doc, Field.ALBUM, TextNormalizer.tokenize(document.album()), packedFrequencies);
+        indexField(doc, Field.LYRICS, TextNormalizer.tokenize(document.lyrics()), packedFrequencies);
+        List<String> chordTokens = new ArrayList<>();
+        if (document.chords() != null) {
+            for (String chord : document.chords()) {
+                chordTokens.addAll(TextNormalizer.tokenize(chord));
+            }
+        }
+        indexField(doc, Field.CHORDS, chordTokens, packedFrequencies);
+
+        for (Map.Entry<String, Integer> entry : packedFrequencies.entrySet()) {
+            terms.computeIfAbsent(entry.getKey(), t -> new Postings()).add(doc, entry.getValue());
+        }
+        liveCount++;
+    }
+
+    public boolean remove(long songId) {
+        Integer doc = docBySong.remove(songId);
+        if (doc == null) {
+            return false;
+        }
+        deleted.set(doc);
+        liveCount--;
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            totalLengths[f] -= lengths[doc * FIELD_COUNT + f];
+        }
+        int deletedCount = docCount - liveCount;
+        if (deletedCount >= MIN_DELETED_FOR_COMPACTION && deletedCount > liveCount) {
+            compact();
+        }
+        return true;
+    }
+
+    public Result search(String query, int offset, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(TextNormalizer.tokenize(query)));
+        if (tokens.isEmpty() || liveCount == 0) {
+            return new Result(List.of(), 0);
+        }
+
+        List<Matches> perToken = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            boolean prefix = i == tokens.size() - 1 && token.length() >= MIN_PREFIX_LENGTH;
+            Matches matches = matchToken(token, prefix);
+            if (matches.size == 0) {
+                return new Result(List.of(), 0);
+            }
+            perToken.add(matches);
+        }
+
+        perToken.sort(Comparator.comparingInt(m -> m.size));
+        Matches result = perToken.get(0);
+        for (int i = 1; i < perToken.size() && result.size > 0; i++) {
+            result = result.intersect(perToken.get(i));
+        }
+        return page(result, offset, limit);
+    }
+
+    // ========== INDEXACIÓN ==========
+
+    private void indexField(int doc, Field field, List<String> tokens, Map<String, Integer> packedFrequencies) {
+        int shift = field.ordinal() * TF_BITS;
+        for (String token : tokens) {
+            packedFrequencies.merge(token, 1 << shift, (current, one) -> {
+                int tf = (current >>> shift) & TF_MAX;
+                return tf < TF_MAX ? current + one : current;
+            });
+        }
+        lengths[doc * FIELD_COUNT + field.ordinal()] = tokens.size();
+        totalLengths[field.ordinal()] += tokens.size();
+    }
+
+    private void ensureDocCapacity(int required) {
+        if (required > songIds.length) {
+            int capacity = Math.max(required, songIds.length * 2);
+            songIds = Arrays.copyOf(songIds, capacity);
+            lengths = Arrays.copyOf(lengths, capacity * FIELD_COUNT);
+        }
+    }
+
+    /**
+     * Elimina los documentos dados de baja y renumera los vivos manteniendo el orden.
+     */
+    private void compact() {
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+            } else {
+                remap[doc] = next;
+                songIds[next] = songIds[doc];
+                System.arraycopy(lengths, doc * FIELD_COUNT, lengths, next * FIELD_COUNT, FIELD_COUNT);
+                docBySong.put(songIds[next], next);
+                next++;
+            }
+        }
+
+        Iterator<Postings> it = terms.values().iterator();
+        while (it.hasNext()) {
+            Postings postings = it.next();
+            postings.remap(remap);
+            if (postings.size == 0) {
+                it.remove();
+            }
+        }
+        docCount = next;
+        deleted.clear();
+    }
+
+    // ========== BÚSQUEDA ==========
+
+    private Matches matchToken(String token, boolean prefix) {
+        if (!prefix) {
+            Postings postings = terms.get(token);
+            return postings != null ? score(postings, 1.0f) : Matches.EMPTY;
+        }
+
+        NavigableMap<String, Postings> expansions = terms.subMap(token, true, token + Character.MAX_VALUE, true);
+        if (expansions.isEmpty()) {
+            return Matches.EMPTY;
+        }
+        // Se expande todo el rango de términos; un documento que casa con varias expansiones se queda con la mejor
+        float[] best = new float[docCount];
+        BitSet matched = new BitSet(docCount);
+        for (Map.Entry<String, Postings> entry : expansions.entrySet()) {
+            float boost = entry.getKey().length() == token.length() ? 1.0f : PREFIX_DISCOUNT;
+            Matches matches = score(entry.getValue(), boost);
+            for (int i = 0; i < matches.size; i++) {
+                int doc = matches.docs[i];
+                if (!matched.get(doc) || matches.scores[i] > best[doc]) {
+                    best[doc] = matches.scores[i];
+                    matched.set(doc);
+                }
+            }
+        }
+        Matches union = new Matches(matched.cardinality());
+        for (int doc = matched.nextSetBit(0); doc >= 0; doc = matched.nextSetBit(doc + 1)) {
+            union.append(doc, best[doc]);
+        }
+        return union;
+    }
+
+    private Matches score(Postings postings, float boost) {
+        float idf = idf(postings.size);
+        float[] averageLengths = new float[FIELD_COUNT];
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            averageLengths[f] = Math.max(1.0f, (float) totalLengths[f] / liveCount);
+        }
+
+        Matches matches = new Matches(postings.size);
+        for (int i = 0; i < postings.size; i++) {
+            int doc = postings.docs[i];
+            if (deleted.get(doc)) {
+                continue;
+            }
+            int packed = postings.frequencies[i];
+            float score = 0;
+            for (int f = 0; f < FIELD_COUNT; f++) {
+                int tf = (packed >>> (f * TF_BITS)) & TF_MAX;
+                if (tf == 0) {
+                    continue;
+                }
+                float norm = 1 - B + B * lengths[doc * FIELD_COUNT + f] / averageLengths[f];
+                score += FIELDS[f].weight * (tf * (K1 + 1)) / (tf + K1 * norm);
+            }
+            matches.append(doc, score * idf * boost);
+        }
+        return matches;
+    }
+
+    private float idf(int postingsSize) {
+        // Las postings pueden incluir bajas aún sin compactar; se acota para que el idf nunca sea negativo
+        int documentFrequency = Math.min(postingsSize, liveCount);
+        return (float) Math.log(1 + (liveCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private Result page(Matches matches, int offset, int limit) {
+        int from = Math.max(offset, 0);
+        int wanted = (int) Math.min((long) from + Math.max(limit, 0), matches.size);
+        if (from >= wanted) {
+            return new Result(List.of(), matches.size);
+        }
+
+        // Solo se ordenan los primeros "wanted" resultados con un montículo acotado
+        Comparator<Integer> byRank = (a, b) -> {
+            int byScore = Float.compare(matches.scores[b], matches.scores[a]);
+            return byScore != 0 ? byScore : Integer.compare(matches.docs[a], matches.docs[b]);
+        };
+        PriorityQueue<Integer> top = new PriorityQueue<>(wanted, byRank.reversed());
+        for (int i = 0; i < matches.size; i++) {
+            top.offer(i);
+            if (top.size() > wanted) {
+                top.poll();
+            }
+        }
+        Integer[] ordered = top.toArray(new Integer[0]);
+        Arrays.sort(ordered, byRank);
+
+        List<Hit> hits = new ArrayList<>(wanted - from);
+        for (int i = from; i < ordered.length; i++) {
+            int index = ordered[i];
+            hits.add(new Hit(songIds[matches.docs[index]], matches.scores[index]));
+        }
+        return new Result(hits, matches.size);
+    }
+
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int doc, int packedFrequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = packedFrequency;
+            size++;
+        }
+
+        void remap(int[] remap) {
+            int next = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[next] = doc;
+                    frequencies[next] = frequencies[i];
+                    next++;
+                }
+            }
+            size = next;
+            if (size < docs.length / 4) {
+                docs = Arrays.copyOf(docs, Math.max(4, size));
+                frequencies = Arrays.copyOf(frequencies, Math.max(4, size));
+            }
+        }
+    }
+
+    /**
+     * Documentos que casan con un término, ordenados por documento, con su puntuación parcial.
+     */
+    private static final class Matches {
+        static final Matches EMPTY = new Matches(0);
+
+        private int[] docs;
+        private float[] scores;
+        private int size;
+
+        Matches(int capacity) {
+            docs = new int[capacity];
+            scores = new float[capacity];
+        }
+
+        void append(int doc, float score) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, Math.max(4, size * 2));
+                scores = Arrays.copyOf(scores, docs.length);
+            }
+            docs[size] = doc;
+            scores[size] = score;
+            size++;
+        }
+
+        Matches intersect(Matches other) {
+            Matches result = new Matches(Math.min(size, other.size));
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.size) {
+                if (docs[i] == other.docs[j]) {
+                    result.append(docs[i], scores[i] + other.scores[j]);
+                    i++;
+                    j++;
+                } else if (docs[i] < other.docs[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return result;
+        }
+    }
+}
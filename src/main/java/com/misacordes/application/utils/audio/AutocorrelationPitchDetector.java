@@ -0,0 +1,62 @@
+package com.misacordes.application.utils.audio;
+
+/**
+ * Algoritmo original del afinador: autocorrelación directa en O(N·lags), normalizada por su máximo,
+ * y el pico más alto por encima de 0.3. Se mantiene como referencia y para los clientes que lo pidan.
+ */
+public class AutocorrelationPitchDetector implements PitchDetector {
+
+    private static final double CLARITY_THRESHOLD = 0.3;
+
+    private double[] nsdf = new double[0];
+
+    @Override
+    public double detect(float[] audioBuffer, int size, int sampleRate) {
+        if (size < Dsp.MIN_SAMPLES) return 0;
+        if (Dsp.rms(audioBuffer, size) < Dsp.SILENCE_RMS) return 0;
+
+        int minLag = Dsp.minLag(sampleRate);
+        int maxLag = Dsp.maxLag(sampleRate, size);
+        if (nsdf.length < maxLag + 1) {
+            nsdf = new double[maxLag + 1];
+        }
+
+        // Calcular autocorrelación
+        double maxAcf = 0;
+        for (int lag = minLag; lag <= maxLag; lag++) {
+            double sum = 0;
+            for (int i = 0; i < size - lag; i++) {
+                sum += audioBuffer[i] * audioBuffer[i + lag];
+            }
+            nsdf[lag] = sum;
+            if (sum > maxAcf) maxAcf = sum;
+        }
+
+        if (maxAcf == 0) return 0;
+
+        for (int lag = minLag; lag <= maxLag; lag++) {
+            nsdf[lag] /= maxAcf;
+        }
+
+        int bestLag = -1;
+        double bestValue = 0;
+
+        for (int lag = minLag + 1; lag < maxLag - 1; lag++) {
+            if (nsdf[lag] > nsdf[lag - 1] &&
+                nsdf[lag] > nsdf[lag + 1] &&
+                nsdf[lag] > CLARITY_THRESHOLD) {
+
+                if (nsdf[lag] > bestValue) {
+                    bestValue = nsdf[lag];
+                    bestLag = lag;
+                }
+            }
+        }
+
+        if (bestLag <= 0 || bestValue < CLARITY_THRESHOLD) return 0;
+
+        double refinedLag = Dsp.parabolicInterpolation(nsdf, bestLag, maxLag);
+
+        return (double) sampleRate / refinedLag;
+    }
+}
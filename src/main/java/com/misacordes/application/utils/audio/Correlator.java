@@ -0,0 +1,65 @@
+package com.misacordes.application.utils.audio;
+
+/**
+ * Correlación por FFT sobre buffers que se reutilizan entre tramas (solo crecen si llega una trama mayor).
+ *
+ * correlate calcula c(τ) = Σ_{i<window} x[i]·x[i+τ] para τ = 0..maxLag. Con window = length es la
+ * autocorrelación; con una ventana más corta es la correlación que necesita YIN.
+ */
+final class Correlator {
+
+    private Fft fft;
+    private double[] re = new double[0];
+    private double[] im = new double[0];
+    private double[] windowRe = new double[0];
+    private double[] windowIm = new double[0];
+
+    void correlate(float[] x, int length, int window, int maxLag, double[] out) {
+        int size = ensureSize(Dsp.nextPowerOfTwo(length + maxLag));
+
+        for (int i = 0; i < size; i++) {
+            re[i] = i < length ? x[i] : 0;
+            im[i] = 0;
+        }
+        fft.transform(re, im);
+
+        if (window >= length) {
+            // |X|²
+            for (int k = 0; k < size; k++) {
+                re[k] = re[k] * re[k] + im[k] * im[k];
+                im[k] = 0;
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                windowRe[i] = i < window ? x[i] : 0;
+                windowIm[i] = 0;
+            }
+            fft.transform(windowRe, windowIm);
+            // conj(A)·X, y se conjuga para invertir con la transformada directa
+            for (int k = 0; k < size; k++) {
+                double cr = windowRe[k] * re[k] + windowIm[k] * im[k];
+                double ci = windowRe[k] * im[k] - windowIm[k] * re[k];
+                re[k] = cr;
+                im[k] = -ci;
+            }
+        }
+
+        // Inversa: Re(IFFT(C)) = Re(FFT(conj(C))) / size
+        fft.transform(re, im);
+        for (int lag = 0; lag <= maxLag; lag++) {
+            out[lag] = re[lag] / size;
+        }
+    }
+
+    // Una FFT mayor de la necesaria solo añade ceros de relleno, así que basta con crecer
+    private int ensureSize(int size) {
+        if (fft == null || fft.size() < size) {
+            fft = new Fft(size);
+            re = new double[size];
+            im = new double[size];
+            windowRe = new double[size];
+            windowIm = new double[size];
+        }
+        return fft.size();
+    }
+}
@@ -0,0 +1,51 @@
+package com.misacordes.application.utils.audio;
+
+/**
+ * Utilidades comunes a los detectores.
+ */
+final class Dsp {
+
+    // Por debajo de este nivel RMS la trama se considera silencio
+    static final double SILENCE_RMS = 0.01;
+
+    // Tramas más cortas no cubren dos periodos de la nota más grave
+    static final int MIN_SAMPLES = 1024;
+
+    private Dsp() {
+    }
+
+    static double rms(float[] samples, int length) {
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += samples[i] * samples[i];
+        }
+        return Math.sqrt(sum / length);
+    }
+
+    static int minLag(int sampleRate) {
+        return Math.max(1, (int) (sampleRate / PitchDetector.MAX_FREQUENCY));
+    }
+
+    static int maxLag(int sampleRate, int length) {
+        return Math.min((int) (sampleRate / PitchDetector.MIN_FREQUENCY), length / 2 - 1);
+    }
+
+    /**
+     * Posición del extremo de la parábola que pasa por values[x-1], values[x] y values[x+1].
+     */
+    static double parabolicInterpolation(double[] values, int x, int last) {
+        if (x < 1 || x >= last) return x;
+
+        double s0 = values[x - 1];
+        double s1 = values[x];
+        double s2 = values[x + 1];
+        double denominator = s0 - 2 * s1 + s2;
+        if (denominator == 0) return x;
+        return x + 0.5 * (s0 - s2) / denominator;
+    }
+
+    static int nextPowerOfTwo(int value) {
+        int power = Integer.highestOneBit(Math.max(1, value));
+        return power == value ? power : power << 1;
+    }
+}
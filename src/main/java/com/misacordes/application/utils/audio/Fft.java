@@ -0,0 +1,70 @@
+package com.misacordes.application.utils.audio;
+
+/**
+ * FFT compleja radix-2 in situ para un tamaño fijo, con las tablas de permutación y de senos precalculadas.
+ */
+final class Fft {
+
+    private final int size;
+    private final int[] bitReversed;
+    private final double[] cos;
+    private final double[] sin;
+
+    Fft(int size) {
+        if (Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("El tamaño de la FFT debe ser potencia de dos: " + size);
+        }
+        this.size = size;
+        this.bitReversed = new int[size];
+        int bits = Integer.numberOfTrailingZeros(size);
+        for (int i = 0; i < size; i++) {
+            bitReversed[i] = bits == 0 ? 0 : Integer.reverse(i) >>> (32 - bits);
+        }
+        this.cos = new double[size / 2];
+        this.sin = new double[size / 2];
+        for (int i = 0; i < size / 2; i++) {
+            double angle = 2 * Math.PI * i / size;
+            cos[i] = Math.cos(angle);
+            sin[i] = Math.sin(angle);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Transformada directa (exponente negativo) sobre las primeras size posiciones de re e im.
+     */
+    void transform(double[] re, double[] im) {
+        for (int i = 0; i < size; i++) {
+            int j = bitReversed[i];
+            if (i < j) {
+                double t = re[i];
+                re[i] = re[j];
+                re[j] = t;
+                t = im[i];
+                im[i] = im[j];
+                im[j] = t;
+            }
+        }
+        for (int length = 2; length <= size; length <<= 1) {
+            int half = length >>> 1;
+            int step = size / length;
+            for (int start = 0; start < size; start += length) {
+                for (int k = 0; k < half; k++) {
+                    double wr = cos[k * step];
+                    double wi = -sin[k * step];
+                    int a = start + k;
+                    int b = a + half;
+                    double tr = wr * re[b] - wi * im[b];
+                    double ti = wr * im[b] + wi * re[b];
+                    re[b] = re[a] - tr;
+                    im[b] = im[a] - ti;
+                    re[a] += tr;
+                    im[a] += ti;
+                }
+            }
+        }
+    }
+}
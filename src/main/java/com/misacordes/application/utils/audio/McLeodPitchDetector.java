@@ -0,0 +1,86 @@
+package com.misacordes.application.utils.audio;
+
+/**
+ * McLeod Pitch Method: NSDF n(τ) = 2·r(τ) / m(τ), con r(τ) la autocorrelación (por FFT, O(N log N)) y
+ * m(τ) = Σ x[i]² + x[i+τ]² sobre la parte solapada, calculada de forma incremental.
+ *
+ * Se toma el máximo de cada lóbulo positivo de la NSDF y se elige el primero que llegue al 90% del mayor,
+ * lo que evita los errores de octava de quedarse con el pico más alto.
+ */
+public class McLeodPitchDetector implements PitchDetector {
+
+    private static final double PEAK_RATIO = 0.9;
+    private static final double CLARITY_THRESHOLD = 0.5;
+    private static final int MAX_PEAKS = 64;
+
+    private final Correlator correlator = new Correlator();
+    private final int[] peaks = new int[MAX_PEAKS];
+    private double[] nsdf = new double[0];
+
+    @Override
+    public double detect(float[] samples, int length, int sampleRate) {
+        if (length < Dsp.MIN_SAMPLES) return 0;
+        if (Dsp.rms(samples, length) < Dsp.SILENCE_RMS) return 0;
+
+        int minLag = Dsp.minLag(sampleRate);
+        int maxLag = Dsp.maxLag(sampleRate, length);
+        if (nsdf.length < maxLag + 2) {
+            nsdf = new double[maxLag + 2];
+        }
+
+        correlator.correlate(samples, length, length, maxLag + 1, nsdf);
+
+        double m = 2 * nsdf[0];
+        for (int lag = 0; lag <= maxLag + 1; lag++) {
+            double r = nsdf[lag];
+            nsdf[lag] = m > 0 ? 2 * r / m : 0;
+            double head = samples[lag];
+            double tail = samples[length - 1 - lag];
+            m -= head * head + tail * tail;
+        }
+
+        int peakCount = findKeyMaxima(maxLag + 1);
+        double highest = 0;
+        for (int i = 0; i < peakCount; i++) {
+            highest = Math.max(highest, nsdf[peaks[i]]);
+        }
+        if (highest < CLARITY_THRESHOLD) return 0;
+
+        for (int i = 0; i < peakCount; i++) {
+            int lag = peaks[i];
+            if (lag >= minLag && lag <= maxLag && nsdf[lag] >= PEAK_RATIO * highest) {
+                return sampleRate / Dsp.parabolicInterpolation(nsdf, lag, maxLag + 1);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Máximo de cada lóbulo positivo tras el primer cruce por cero descendente.
+     */
+    private int findKeyMaxima(int last) {
+        int count = 0;
+        int lag = 1;
+        while (lag < last && nsdf[lag] > 0) {
+            lag++;
+        }
+        while (lag < last && count < MAX_PEAKS) {
+            if (nsdf[lag] <= 0) {
+                lag++;
+                continue;
+            }
+            int best = lag;
+            while (lag < last && nsdf[lag] > 0) {
+                if (nsdf[lag] > nsdf[best]) {
+                    best = lag;
+                }
+                lag++;
+            }
+            // Un lóbulo cortado por el final del rango no tiene máximo fiable
+            if (lag < last || best < last - 1) {
+                peaks[count++] = best;
+            }
+        }
+        return count;
+    }
+}
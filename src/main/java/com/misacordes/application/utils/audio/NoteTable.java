@@ -0,0 +1,64 @@
+package com.misacordes.application.utils.audio;
+
+/**
+ * Nombres de nota precalculados por número MIDI ("A4" = 69) y conversión de frecuencia a nota y cents,
+ * sin crear objetos por trama.
+ */
+public final class NoteTable {
+
+    public static final String NO_NOTE = "--";
+
+    // Fuera de este rango no se muestra nota
+    private static final double MIN_FREQUENCY = 20;
+    private static final double MAX_FREQUENCY = 4200;
+
+    private static final String[] PITCH_CLASSES = {"C", "C#", "D", "D#", "E", "F", "F#", "G", "G#", "A", "A#", "B"};
+    private static final String[] NAMES = new String[128];
+
+    private static final double LOG_2 = Math.log(2);
+
+    static {
+        for (int midi = 0; midi < NAMES.length; midi++) {
+            NAMES[midi] = PITCH_CLASSES[midi % 12] + (midi / 12 - 1);
+        }
+    }
+
+    private NoteTable() {
+    }
+
+    /**
+     * Semitonos (con decimales) respecto a A4 = 440 Hz, o NaN si la frecuencia está fuera del rango.
+     */
+    public static double semitonesFromA4(double frequency) {
+        if (!(frequency >= MIN_FREQUENCY && frequency <= MAX_FREQUENCY)) {
+            return Double.NaN;
+        }
+        return 12 * Math.log(frequency / 440.0) / LOG_2;
+    }
+
+    /**
+     * Nota MIDI más cercana, o -1 si semitones es NaN.
+     */
+    public static int nearestMidi(double semitones) {
+        return Double.isNaN(semitones) ? -1 : (int) Math.round(semitones) + 69;
+    }
+
+    /**
+     * Desviación en cents respecto a la nota más cercana (-50..50), o 0 si no hay nota.
+     */
+    public static double cents(double semitones) {
+        return Double.isNaN(semitones) ? 0 : (semitones - Math.round(semitones)) * 100;
+    }
+
+    public static String name(int midi) {
+        return midi >= 0 && midi < NAMES.length ? NAMES[midi] : NO_NOTE;
+    }
+
+    public static int pitchClass(int midi) {
+        return midi % 12;
+    }
+
+    public static int octave(int midi) {
+        return midi / 12 - 1;
+    }
+}
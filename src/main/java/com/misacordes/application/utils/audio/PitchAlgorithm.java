@@ -0,0 +1,37 @@
+package com.misacordes.application.utils.audio;
+
+/**
+ * Algoritmos disponibles; el cliente elige uno por sesión con ?algorithm=acf|mpm|yin.
+ */
+public enum PitchAlgorithm {
+    // Autocorrelación directa O(N·lags), el algoritmo original
+    ACF,
+    // McLeod (NSDF) con autocorrelación por FFT
+    MPM,
+    // YIN con la diferencia calculada por FFT
+    YIN;
+
+    public static final PitchAlgorithm DEFAULT = MPM;
+
+    public PitchDetector create() {
+        return switch (this) {
+            case ACF -> new AutocorrelationPitchDetector();
+            case MPM -> new McLeodPitchDetector();
+            case YIN -> new YinPitchDetector();
+        };
+    }
+
+    /**
+     * Algoritmo por nombre sin distinguir mayúsculas; DEFAULT si el nombre es nulo o desconocido.
+     */
+    public static PitchAlgorithm parse(String name) {
+        if (name != null) {
+            for (PitchAlgorithm algorithm : values()) {
+                if (algorithm.name().equalsIgnoreCase(name.trim())) {
+                    return algorithm;
+                }
+            }
+        }
+        return DEFAULT;
+    }
+}
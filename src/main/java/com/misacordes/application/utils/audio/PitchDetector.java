@@ -0,0 +1,19 @@
+package com.misacordes.application.utils.audio;
+
+/**
+ * Detector de frecuencia fundamental para el afinador.
+ *
+ * Las implementaciones guardan buffers de trabajo entre llamadas para no reservar memoria en cada trama,
+ * así que no son thread-safe: se usa una instancia por sesión.
+ */
+public interface PitchDetector {
+
+    // Rango de una guitarra: de E2 (82 Hz) a ~D6
+    double MIN_FREQUENCY = 82;
+    double MAX_FREQUENCY = 1200;
+
+    /**
+     * Frecuencia en Hz de las primeras length muestras (en [-1, 1]), o 0 si no hay tono claro.
+     */
+    double detect(float[] samples, int length, int sampleRate);
+}
@@ -0,0 +1,61 @@
+package com.misacordes.application.utils.audio;
+
+/**
+ * Suaviza las estimaciones de ventanas consecutivas con la mediana de las tres últimas, lo que elimina
+ * saltos sueltos (p. ej. un error de octava en una sola ventana) sin el retraso de una media.
+ *
+ * Un salto de más de un semitono respecto a la mediana se toma como nota nueva y reinicia el historial;
+ * hacen falta dos ventanas seguidas sin tono para devolver 0, así que un hueco aislado no parpadea.
+ */
+public final class PitchSmoother {
+
+    private static final double NEW_NOTE_CENTS = 100;
+    private static final int SILENT_WINDOWS = 2;
+
+    private final double[] recent = new double[3];
+    private int count;
+    private int next;
+    private int silentRun;
+
+    public double smooth(double frequency) {
+        if (frequency <= 0) {
+            if (++silentRun >= SILENT_WINDOWS) {
+                reset();
+                return 0;
+            }
+            return count > 0 ? median() : 0;
+        }
+        silentRun = 0;
+
+        if (count > 0 && Math.abs(1200 * Math.log(frequency / median()) / Math.log(2)) > NEW_NOTE_CENTS) {
+            reset();
+        }
+        recent[next] = frequency;
+        next = (next + 1) % recent.length;
+        if (count < recent.length) {
+            count++;
+        }
+        return median();
+    }
+
+    public void reset() {
+        count = 0;
+        next = 0;
+        silentRun = 0;
+    }
+
+    private double median() {
+        if (count == 1) {
+            return recent[(next + recent.length - 1) % recent.length];
+        }
+        if (count == 2) {
+            int last = (next + recent.length - 1) % recent.length;
+            int previous = (next + recent.length - 2) % recent.length;
+            return (recent[last] + recent[previous]) / 2;
+        }
+        double a = recent[0];
+        double b = recent[1];
+        double c = recent[2];
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+}
@@ -0,0 +1,64 @@
+package com.misacordes.application.utils.audio;
+
+/**
+ * YIN (de Cheveigné y Kawahara) con la función diferencia sobre una ventana fija W = N - maxLag:
+ * d(τ) = Σ_{i<W} (x[i] - x[i+τ])² = e(0) + e(τ) - 2·c(τ), con las energías e sacadas de sumas acumuladas
+ * y la correlación c por FFT. Se normaliza por la media acumulada y se toma el primer mínimo por debajo
+ * del umbral.
+ */
+public class YinPitchDetector implements PitchDetector {
+
+    private static final double THRESHOLD = 0.15;
+
+    private final Correlator correlator = new Correlator();
+    private double[] difference = new double[0];
+    private double[] energy = new double[0];
+
+    @Override
+    public double detect(float[] samples, int length, int sampleRate) {
+        if (length < Dsp.MIN_SAMPLES) return 0;
+        if (Dsp.rms(samples, length) < Dsp.SILENCE_RMS) return 0;
+
+        int minLag = Dsp.minLag(sampleRate);
+        int maxLag = Dsp.maxLag(sampleRate, length);
+        int window = length - maxLag - 1;
+        if (difference.length < maxLag + 2) {
+            difference = new double[maxLag + 2];
+        }
+        if (energy.length < length + 1) {
+            energy = new double[length + 1];
+        }
+
+        // energy[i] = Σ_{j<i} x[j]²
+        energy[0] = 0;
+        for (int i = 0; i < length; i++) {
+            energy[i + 1] = energy[i] + samples[i] * samples[i];
+        }
+
+        correlator.correlate(samples, length, window, maxLag + 1, difference);
+
+        double windowEnergy = energy[window];
+        for (int lag = 0; lag <= maxLag + 1; lag++) {
+            double shiftedEnergy = energy[lag + window] - energy[lag];
+            difference[lag] = Math.max(0, windowEnergy + shiftedEnergy - 2 * difference[lag]);
+        }
+
+        // Diferencia normalizada por su media acumulada
+        difference[0] = 1;
+        double runningSum = 0;
+        for (int lag = 1; lag <= maxLag + 1; lag++) {
+            runningSum += difference[lag];
+            difference[lag] = runningSum > 0 ? difference[lag] * lag / runningSum : 1;
+        }
+
+        for (int lag = minLag; lag <= maxLag; lag++) {
+            if (difference[lag] < THRESHOLD) {
+                while (lag < maxLag && difference[lag + 1] < difference[lag]) {
+                    lag++;
+                }
+                return sampleRate / Dsp.parabolicInterpolation(difference, lag, maxLag + 1);
+            }
+        }
+        return 0;
+    }
+}
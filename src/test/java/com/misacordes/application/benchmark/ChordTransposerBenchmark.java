@@ -0,0 +1,97 @@
+package com.misacordes.application.benchmark;
+
+import com.misacordes.application.utils.ChordTransposer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compara ChordTransposer con la implementación anterior (regex compilada en cada llamada y búsquedas
+ * lineales) sobre los acordes de una canción típica.
+ *
+ * Ejecutar: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.misacordes.application.benchmark.ChordTransposerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChordTransposerBenchmark {
+
+    // Unos 200 acordes con mucha repetición, como una canción real
+    private static final String[] SONG = buildSong();
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        for (String chord : SONG) {
+            blackhole.consume(LegacyChordTransposer.transpose(chord, 3));
+        }
+    }
+
+    @Benchmark
+    public void current(Blackhole blackhole) {
+        for (String chord : SONG) {
+            blackhole.consume(ChordTransposer.transpose(chord, 3, true));
+        }
+    }
+
+    private static String[] buildSong() {
+        String[] progression = {"G", "D/F#", "Em7", "Cadd9", "Am7", "D7sus4", "Bm", "C/G", "F#m7b5", "B7"};
+        String[] song = new String[200];
+        for (int i = 0; i < song.length; i++) {
+            song[i] = progression[i % progression.length];
+        }
+        return song;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ChordTransposerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    /**
+     * Implementación anterior, copiada tal cual como referencia.
+     */
+    static class LegacyChordTransposer {
+        private static final List<String> NOTES_SHARP = List.of("C", "C#", "D", "D#", "E", "F", "F#", "G", "G#", "A", "A#", "B");
+        private static final List<String> NOTES_FLAT = List.of("C", "Db", "D", "Eb", "E", "F", "Gb", "G", "Ab", "A", "Bb", "B");
+
+        static String transpose(String chordName, int semitones) {
+            if (chordName == null || semitones == 0) return chordName;
+
+            Pattern pattern = Pattern.compile("([A-G][b#]?)(.*)");
+            Matcher matcher = pattern.matcher(chordName);
+
+            if (!matcher.matches()) return chordName;
+
+            String rootNote = matcher.group(1);
+            String quality = matcher.group(2);
+
+            int rootIndex = NOTES_SHARP.indexOf(rootNote);
+            if (rootIndex == -1) rootIndex = NOTES_FLAT.indexOf(rootNote);
+            if (rootIndex == -1) return chordName;
+
+            int newIndex = (rootIndex + semitones % 12 + 12) % 12;
+
+            return NOTES_SHARP.get(newIndex) + quality;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.misacordes.application.benchmark;
+
+import com.misacordes.application.utils.audio.PitchAlgorithm;
+import com.misacordes.application.utils.audio.PitchDetector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo por trama de cada detector del afinador sobre una cuerda de guitarra sintetizada (La2, 110 Hz).
+ * La precisión se comprueba en utils/audio/PitchDetectorTest.
+ *
+ * Ejecutar: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.misacordes.application.benchmark.PitchDetectorBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PitchDetectorBenchmark {
+
+    private static final int SAMPLE_RATE = 44100;
+
+    @Param({"ACF", "MPM", "YIN"})
+    private PitchAlgorithm algorithm;
+
+    @Param({"2048", "4096"})
+    private int frameSize;
+
+    private PitchDetector detector;
+    private float[] frame;
+
+    @Setup
+    public void setUp() {
+        detector = algorithm.create();
+        frame = new float[frameSize];
+        for (int i = 0; i < frameSize; i++) {
+            double t = (double) i / SAMPLE_RATE;
+            frame[i] = (float) (0.25 * (Math.sin(2 * Math.PI * 110 * t)
+                    + 0.5 * Math.sin(2 * Math.PI * 220 * t)
+                    + 0.3 * Math.sin(2 * Math.PI * 330 * t)));
+        }
+    }
+
+    @Benchmark
+    public double detect() {
+        return detector.detect(frame, frameSize, SAMPLE_RATE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PitchDetectorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
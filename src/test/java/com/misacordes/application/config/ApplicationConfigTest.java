@@ -3,6 +3,7 @@ package com.misacordes.application.config;
 import com.misacordes.application.entities.Role;
 import com.misacordes.application.entities.User;
 import com.misacordes.application.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,6 +17,7 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -35,8 +37,14 @@ class ApplicationConfigTest {
 
     private User testUser;
 
+    private ThreadPoolTaskExecutor hashExecutor;
+
     @BeforeEach
     void setUp() {
+        hashExecutor = new ThreadPoolTaskExecutor();
+        hashExecutor.setCorePoolSize(2);
+        hashExecutor.initialize();
+
         testUser = User.builder()
                 .id(1L)
                 .username("testuser")
@@ -51,7 +59,7 @@ class ApplicationConfigTest {
     @Test
     void testPasswordEncoder() {
         // Act
-        PasswordEncoder passwordEncoder = applicationConfig.passwordEncoder();
+        PasswordEncoder passwordEncoder = applicationConfig.passwordEncoder(hashExecutor, 4);
 
         // Assert
         assertNotNull(passwordEncoder);
@@ -59,6 +67,23 @@ class ApplicationConfigTest {
         assertFalse(passwordEncoder.matches("wrongpassword", passwordEncoder.encode("password123")));
     }
 
+    @AfterEach
+    void tearDown() {
+        hashExecutor.shutdown();
+    }
+
+    @Test
+    void testUserDetailsPasswordService_StoresRehash() {
+        // Act
+        UserDetails updated = applicationConfig.userDetailsPasswordService()
+                .updatePassword(testUser, "$2a$12$rehashed");
+
+        // Assert
+        assertSame(testUser, updated);
+        assertEquals("$2a$12$rehashed", testUser.getPassword());
+        verify(userRepository).updatePassword("testuser", "$2a$12$rehashed");
+    }
+
     @Test
     void testUserDetailsService_UserExists() {
         // Arrange
@@ -118,7 +143,8 @@ class ApplicationConfigTest {
     @Test
     void testAuthenticationProvider() {
         // Act
-        AuthenticationProvider authenticationProvider = applicationConfig.authenticationProvider();
+        AuthenticationProvider authenticationProvider =
+                applicationConfig.authenticationProvider(applicationConfig.passwordEncoder(hashExecutor, 4));
 
         // Assert
         assertNotNull(authenticationProvider);
@@ -147,7 +173,7 @@ class ApplicationConfigTest {
     @Test
     void testPasswordEncoderConsistency() {
         // Act
-        PasswordEncoder passwordEncoder = applicationConfig.passwordEncoder();
+        PasswordEncoder passwordEncoder = applicationConfig.passwordEncoder(hashExecutor, 4);
         String encodedPassword = passwordEncoder.encode("testpassword");
 
         // Assert
@@ -160,7 +186,7 @@ class ApplicationConfigTest {
     @Test
     void testPasswordEncoderDifferentEncodings() {
         // Act
-        PasswordEncoder passwordEncoder = applicationConfig.passwordEncoder();
+        PasswordEncoder passwordEncoder = applicationConfig.passwordEncoder(hashExecutor, 4);
         String encodedPassword1 = passwordEncoder.encode("testpassword");
         String encodedPassword2 = passwordEncoder.encode("testpassword");
 
@@ -0,0 +1,70 @@
+package com.misacordes.application.config.security;
+
+import com.misacordes.application.config.GlobalExceptionHandler.ServiceBusyException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void testEncodeAndMatches() {
+        // Arrange
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(4, Runnable::run);
+
+        // Act
+        String encoded = encoder.encode("password123");
+
+        // Assert
+        assertEquals(4, BoundedPasswordEncoder.cost(encoded));
+        assertTrue(encoder.matches("password123", encoded));
+        assertFalse(encoder.matches("wrongpassword", encoded));
+    }
+
+    @Test
+    void testUpgradeEncoding_WhenCostChanges() {
+        // Arrange
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(5, Runnable::run);
+        String lowerCost = new BCryptPasswordEncoder(4).encode("password123");
+        String sameCost = new BCryptPasswordEncoder(5).encode("password123");
+        String higherCost = new BCryptPasswordEncoder(6).encode("password123");
+
+        // Act & Assert
+        assertTrue(encoder.upgradeEncoding(lowerCost));
+        assertFalse(encoder.upgradeEncoding(sameCost));
+        assertTrue(encoder.upgradeEncoding(higherCost));
+        assertFalse(encoder.upgradeEncoding("not-a-bcrypt-hash"));
+        assertFalse(encoder.upgradeEncoding(null));
+    }
+
+    @Test
+    void testSaturatedPool_FailsFast() throws Exception {
+        // Arrange: un hilo ocupado y sin cola
+        ExecutorService pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+        CountDownLatch release = new CountDownLatch(1);
+        pool.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(4, pool);
+
+        try {
+            // Act & Assert
+            assertThrows(ServiceBusyException.class, () -> encoder.encode("password123"));
+        } finally {
+            release.countDown();
+            pool.shutdown();
+            pool.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+}
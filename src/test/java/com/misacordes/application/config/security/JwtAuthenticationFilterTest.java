@@ -0,0 +1,87 @@
+package com.misacordes.application.config.security;
+
+import com.misacordes.application.entities.Role;
+import com.misacordes.application.entities.User;
+import com.misacordes.application.services.auth.JwtService;
+import com.misacordes.application.services.auth.UserCacheService;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private UserCacheService userCacheService;
+
+    @Mock
+    private Claims claims;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.clearContext();
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, userCacheService);
+        request = new MockHttpServletRequest("GET", "/api/songs/my");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+        when(jwtService.verify("token")).thenReturn(claims);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private User user(Role role) {
+        return User.builder().id(1L).username("testuser").role(role).credentialVersion(0).build();
+    }
+
+    @Test
+    void doFilter_ShouldAuthenticate_WhenClaimsMatchStoredUser() throws Exception {
+        // Arrange
+        when(jwtService.principalFromClaims(claims)).thenReturn(user(Role.ADMIN));
+        when(userCacheService.findById(1L)).thenReturn(Optional.of(user(Role.ADMIN)));
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilter_ShouldNotAuthenticate_WhenStoredRoleDiffersFromToken() throws Exception {
+        // Arrange
+        when(jwtService.principalFromClaims(claims)).thenReturn(user(Role.ADMIN));
+        when(userCacheService.findById(1L)).thenReturn(Optional.of(user(Role.USER)));
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+}
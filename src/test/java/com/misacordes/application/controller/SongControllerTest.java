@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.misacordes.application.dto.request.SongWithChordsRequest;
 import com.misacordes.application.dto.response.ChordInfo;
 import com.misacordes.application.dto.response.PageResponse;
+import com.misacordes.application.dto.response.SongSummaryResponse;
 import com.misacordes.application.dto.response.SongWithChordsResponse;
 import com.misacordes.application.dto.response.SongAnalyticsResponse;
 import com.misacordes.application.services.SongImportService;
@@ -46,6 +47,7 @@ class SongControllerTest {
     private SongWithChordsRequest testRequest;
     private SongWithChordsResponse testResponse;
     private PageResponse<SongWithChordsResponse> testPageResponse;
+    private PageResponse<SongSummaryResponse> testSummaryPageResponse;
 
     @BeforeEach
     void setUp() {
@@ -74,6 +76,20 @@ class SongControllerTest {
                 .first(true)
                 .last(true)
                 .build();
+
+        // Setup test summary page response
+        testSummaryPageResponse = PageResponse.<SongSummaryResponse>builder()
+                .content(Arrays.asList(SongSummaryResponse.builder()
+                        .id(1L)
+                        .title("Test Song")
+                        .artist("Test Artist")
+                        .build()))
+                .totalElements(1L)
+                .totalPages(1)
+                .numberOfElements(1)
+                .first(true)
+                .last(true)
+                .build();
     }
 
     @Test
@@ -137,10 +153,10 @@ class SongControllerTest {
     @Test
     void getMySongsPaginated_ShouldReturnPaginatedResponse() {
         // Arrange
-        when(songService.getMySongsWithChordsPaginated(any(Pageable.class))).thenReturn(testPageResponse);
+        when(songService.getMySongsPaginated(any(Pageable.class))).thenReturn(testSummaryPageResponse);
 
         // Act
-        ResponseEntity<PageResponse<SongWithChordsResponse>> response = songController.getMySongsPaginated(0, 10, new String[]{"createdAt", "desc"});
+        ResponseEntity<PageResponse<SongSummaryResponse>> response = songController.getMySongsPaginated(0, 10, new String[]{"createdAt", "desc"});
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -148,67 +164,67 @@ class SongControllerTest {
         assertEquals(1, response.getBody().getContent().size());
         assertEquals("Test Song", response.getBody().getContent().get(0).getTitle());
         assertEquals(1L, response.getBody().getTotalElements());
-        verify(songService).getMySongsWithChordsPaginated(any(Pageable.class));
+        verify(songService).getMySongsPaginated(any(Pageable.class));
     }
 
     @Test
     void getMySongsPaginated_ShouldLimitSizeToMax20() {
         // Arrange
-        when(songService.getMySongsWithChordsPaginated(any(Pageable.class))).thenReturn(testPageResponse);
+        when(songService.getMySongsPaginated(any(Pageable.class))).thenReturn(testSummaryPageResponse);
 
         // Act
-        ResponseEntity<PageResponse<SongWithChordsResponse>> response = songController.getMySongsPaginated(0, 50, new String[]{"createdAt", "desc"});
+        ResponseEntity<PageResponse<SongSummaryResponse>> response = songController.getMySongsPaginated(0, 50, new String[]{"createdAt", "desc"});
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(songService).getMySongsWithChordsPaginated(argThat(pageable -> 
+        verify(songService).getMySongsPaginated(argThat(pageable -> 
             pageable.getPageSize() == 20));
     }
 
     @Test
     void getMySongsPaginated_ShouldSetMinSizeTo1() {
         // Arrange
-        when(songService.getMySongsWithChordsPaginated(any(Pageable.class))).thenReturn(testPageResponse);
+        when(songService.getMySongsPaginated(any(Pageable.class))).thenReturn(testSummaryPageResponse);
 
         // Act
-        ResponseEntity<PageResponse<SongWithChordsResponse>> response = songController.getMySongsPaginated(0, 0, new String[]{"createdAt", "desc"});
+        ResponseEntity<PageResponse<SongSummaryResponse>> response = songController.getMySongsPaginated(0, 0, new String[]{"createdAt", "desc"});
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(songService).getMySongsWithChordsPaginated(argThat(pageable -> 
+        verify(songService).getMySongsPaginated(argThat(pageable -> 
             pageable.getPageSize() == 1));
     }
 
     @Test
     void getPublicSongsPaginated_ShouldReturnPaginatedResponse() {
         // Arrange
-        when(songService.getPublicSongsWithChordsPaginated(any(Pageable.class))).thenReturn(testPageResponse);
+        when(songService.getPublicSongsPaginated(any(Pageable.class))).thenReturn(testSummaryPageResponse);
 
         // Act
-        ResponseEntity<PageResponse<SongWithChordsResponse>> response = songController.getPublicSongsPaginated(0, 10, new String[]{"publishedAt", "desc"});
+        ResponseEntity<PageResponse<SongSummaryResponse>> response = songController.getPublicSongsPaginated(0, 10, new String[]{"publishedAt", "desc"});
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(1, response.getBody().getContent().size());
         assertEquals("Test Song", response.getBody().getContent().get(0).getTitle());
-        verify(songService).getPublicSongsWithChordsPaginated(any(Pageable.class));
+        verify(songService).getPublicSongsPaginated(any(Pageable.class));
     }
 
     @Test
     void searchSongsPaginated_ShouldReturnPaginatedResponse() {
         // Arrange
-        when(songService.searchPublicSongsWithChordsPaginated(eq("test"), any(Pageable.class))).thenReturn(testPageResponse);
+        when(songService.searchPublicSongsPaginated(eq("test"), any(Pageable.class))).thenReturn(testSummaryPageResponse);
 
         // Act
-        ResponseEntity<PageResponse<SongWithChordsResponse>> response = songController.searchSongsPaginated("test", 0, 10, new String[]{"title", "asc"});
+        ResponseEntity<PageResponse<SongSummaryResponse>> response = songController.searchSongsPaginated("test", 0, 10, new String[]{"title", "asc"});
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(1, response.getBody().getContent().size());
         assertEquals("Test Song", response.getBody().getContent().get(0).getTitle());
-        verify(songService).searchPublicSongsWithChordsPaginated("test", any(Pageable.class));
+        verify(songService).searchPublicSongsPaginated(eq("test"), any(Pageable.class));
     }
 
     @Test
@@ -324,14 +340,14 @@ class SongControllerTest {
     @Test
     void getMySongsPaginated_ShouldCreateCorrectPageable() {
         // Arrange
-        when(songService.getMySongsWithChordsPaginated(any(Pageable.class))).thenReturn(testPageResponse);
+        when(songService.getMySongsPaginated(any(Pageable.class))).thenReturn(testSummaryPageResponse);
 
         // Act
-        ResponseEntity<PageResponse<SongWithChordsResponse>> response = songController.getMySongsPaginated(1, 15, new String[]{"title", "asc"});
+        ResponseEntity<PageResponse<SongSummaryResponse>> response = songController.getMySongsPaginated(1, 15, new String[]{"title", "asc"});
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(songService).getMySongsWithChordsPaginated(argThat(pageable -> 
+        verify(songService).getMySongsPaginated(argThat(pageable -> 
             pageable.getPageNumber() == 1 && 
             pageable.getPageSize() == 15 &&
             pageable.getSort().iterator().next().getProperty().equals("title") &&
@@ -341,14 +357,14 @@ class SongControllerTest {
     @Test
     void getMySongsPaginated_ShouldHandleDefaultSort() {
         // Arrange
-        when(songService.getMySongsWithChordsPaginated(any(Pageable.class))).thenReturn(testPageResponse);
+        when(songService.getMySongsPaginated(any(Pageable.class))).thenReturn(testSummaryPageResponse);
 
         // Act
-        ResponseEntity<PageResponse<SongWithChordsResponse>> response = songController.getMySongsPaginated(0, 10, new String[]{});
+        ResponseEntity<PageResponse<SongSummaryResponse>> response = songController.getMySongsPaginated(0, 10, new String[]{});
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(songService).getMySongsWithChordsPaginated(argThat(pageable -> 
+        verify(songService).getMySongsPaginated(argThat(pageable -> 
             pageable.getPageNumber() == 0 && 
             pageable.getPageSize() == 10 &&
             pageable.getSort().iterator().next().getProperty().equals("createdAt") &&
@@ -0,0 +1,137 @@
+package com.misacordes.application.controller.ws;
+
+import com.misacordes.application.utils.audio.PitchAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TunerConnectionTest {
+
+    private static final int SAMPLE_RATE = 44100;
+
+    @Mock
+    private WebSocketSession session;
+
+    private final Queue<Runnable> dspTasks = new ArrayDeque<>();
+
+    private TunerConnection connection;
+
+    @BeforeEach
+    void setUp() {
+        connection = new TunerConnection(session, new TunerSession(PitchAlgorithm.MPM, false), SAMPLE_RATE,
+                dspTasks::add, Runnable::run);
+    }
+
+    private static ByteBuffer pcm(double frequency, int samples) {
+        ByteBuffer buffer = ByteBuffer.allocate(samples * 2).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < samples; i++) {
+            buffer.putShort((short) (8000 * Math.sin(2 * Math.PI * frequency * i / SAMPLE_RATE)));
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    @Test
+    void testOffer_OneTaskPerSessionAndOnlyLatestFrame() throws Exception {
+        // Arrange
+        when(session.isOpen()).thenReturn(true);
+
+        // Act
+        connection.offer(pcm(110, 2048));
+        connection.offer(pcm(220, 2048));
+        connection.offer(pcm(440, 2048));
+        int tasks = dspTasks.size();
+        dspTasks.poll().run();
+
+        // Assert
+        assertEquals(1, tasks);
+        assertEquals(2, connection.getDroppedFrames());
+        verify(session, times(1)).sendMessage(argThat(message ->
+                ((TextMessage) message).getPayload().contains("\"note\":\"A4\"")));
+    }
+
+    @Test
+    void testOffer_CopiesPayload() throws Exception {
+        // Arrange
+        when(session.isOpen()).thenReturn(true);
+        ByteBuffer payload = pcm(110, 2048);
+
+        // Act: el contenedor reutiliza su buffer antes de que se analice la trama
+        connection.offer(payload);
+        payload.clear();
+        while (payload.hasRemaining()) {
+            payload.put((byte) 0);
+        }
+        dspTasks.poll().run();
+
+        // Assert
+        verify(session).sendMessage(argThat(message ->
+                ((TextMessage) message).getPayload().contains("\"note\":\"A2\"")));
+    }
+
+    @Test
+    void testOffer_DropsWhenSessionHasTooManyPending() {
+        // Act
+        for (int i = 0; i < TunerConnection.MAX_PENDING_FRAMES; i++) {
+            assertTrue(connection.offer(pcm(110, 1024)));
+        }
+        boolean accepted = connection.offer(pcm(110, 1024));
+
+        // Assert
+        assertFalse(accepted);
+        assertEquals(1, connection.getDroppedFrames());
+        assertEquals(1, dspTasks.size());
+    }
+
+    @Test
+    void testOffer_DropsFramesWhenPoolRejects() throws Exception {
+        // Arrange
+        TunerConnection saturated = new TunerConnection(session, new TunerSession(PitchAlgorithm.MPM, false),
+                SAMPLE_RATE, task -> {
+                    throw new RejectedExecutionException("full");
+                }, Runnable::run);
+
+        // Act
+        saturated.offer(pcm(110, 2048));
+
+        // Assert
+        assertEquals(1, saturated.getDroppedFrames());
+        verify(session, never()).sendMessage(any());
+    }
+
+    @Test
+    void testSend_ClosesSlowClient() throws Exception {
+        // Arrange
+        when(session.isOpen()).thenReturn(true);
+        doThrow(new SessionLimitExceededException("slow", CloseStatus.SESSION_NOT_RELIABLE))
+                .when(session).sendMessage(any(WebSocketMessage.class));
+
+        // Act
+        connection.offer(pcm(110, 2048));
+        dspTasks.poll().run();
+        boolean acceptedAfterClose = connection.offer(pcm(110, 2048));
+
+        // Assert
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertFalse(acceptedAfterClose);
+        assertTrue(dspTasks.isEmpty());
+    }
+}
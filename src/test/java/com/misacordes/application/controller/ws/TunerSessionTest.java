@@ -0,0 +1,173 @@
+package com.misacordes.application.controller.ws;
+
+import com.misacordes.application.utils.audio.PitchAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TunerSessionTest {
+
+    private static final int SAMPLE_RATE = 44100;
+
+    private static ByteBuffer pcm(double frequency, int samples) {
+        ByteBuffer buffer = ByteBuffer.allocate(samples * 2).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < samples; i++) {
+            double t = (double) i / SAMPLE_RATE;
+            buffer.putShort((short) (8000 * (Math.sin(2 * Math.PI * frequency * t)
+                    + 0.5 * Math.sin(2 * Math.PI * 2 * frequency * t))));
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    @Test
+    void testJsonResponse() {
+        // Arrange
+        TunerSession tuner = new TunerSession(PitchAlgorithm.MPM, false);
+
+        // Act
+        double frequency = tuner.detect(pcm(110, 2048), SAMPLE_RATE);
+        WebSocketMessage<?> message = tuner.pitchMessage(frequency);
+
+        // Assert
+        assertInstanceOf(TextMessage.class, message);
+        String payload = ((TextMessage) message).getPayload();
+        assertTrue(payload.startsWith("{\"type\":\"pitch\",\"frequency\":110."), payload);
+        assertTrue(payload.contains("\"note\":\"A2\""), payload);
+    }
+
+    @Test
+    void testJsonResponse_NoPitch() {
+        // Arrange
+        TunerSession tuner = new TunerSession(PitchAlgorithm.MPM, false);
+
+        // Act
+        WebSocketMessage<?> message = tuner.pitchMessage(0);
+
+        // Assert
+        assertEquals("{\"type\":\"pitch\",\"frequency\":0.00,\"note\":\"--\",\"cents\":0.00}",
+                ((TextMessage) message).getPayload());
+    }
+
+    @Test
+    void testBinaryResponse() {
+        // Arrange
+        TunerSession tuner = new TunerSession(PitchAlgorithm.YIN, true);
+
+        // Act
+        double frequency = tuner.detect(pcm(196, 2048), SAMPLE_RATE);
+        WebSocketMessage<?> message = tuner.pitchMessage(frequency);
+
+        // Assert
+        assertInstanceOf(BinaryMessage.class, message);
+        ByteBuffer payload = ((BinaryMessage) message).getPayload().order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(TunerSession.BINARY_RESPONSE_SIZE, payload.remaining());
+        assertEquals(1, payload.get(0));
+        assertEquals(7, payload.get(1)); // G
+        assertEquals(3, payload.get(2));
+        assertEquals(196, payload.getFloat(4), 0.5);
+        assertEquals(0, payload.getFloat(8), 5);
+    }
+
+    @Test
+    void testSampleBufferReusedBetweenFrames() {
+        // Arrange
+        TunerSession tuner = new TunerSession(PitchAlgorithm.MPM, false);
+
+        // Act
+        double first = tuner.detect(pcm(329.63, 4096), SAMPLE_RATE);
+        double second = tuner.detect(pcm(146.83, 2048), SAMPLE_RATE);
+
+        // Assert
+        assertEquals(329.63, first, 0.5);
+        assertEquals(146.83, second, 0.5);
+    }
+
+    @Test
+    void testStreaming_WaitsForFullWindowThenEveryHop() {
+        // Arrange
+        long[] clock = {0};
+        TunerSession tuner = new TunerSession(PitchAlgorithm.MPM, false, 2048, 512, () -> clock[0]);
+        ByteBuffer audio = pcm(110, 4096);
+
+        // Act
+        double beforeWindow = tuner.process(audio.slice(0, 1024 * 2).order(ByteOrder.LITTLE_ENDIAN), SAMPLE_RATE);
+        double firstWindow = tuner.process(audio.slice(1024 * 2, 1024 * 2).order(ByteOrder.LITTLE_ENDIAN), SAMPLE_RATE);
+        clock[0] += 100_000_000L;
+        double partialHop = tuner.process(audio.slice(2048 * 2, 256 * 2).order(ByteOrder.LITTLE_ENDIAN), SAMPLE_RATE);
+        double fullHop = tuner.process(audio.slice(2304 * 2, 256 * 2).order(ByteOrder.LITTLE_ENDIAN), SAMPLE_RATE);
+
+        // Assert
+        assertTrue(Double.isNaN(beforeWindow));
+        assertEquals(110, firstWindow, 0.5);
+        assertTrue(Double.isNaN(partialHop));
+        assertEquals(110, fullHop, 0.5);
+    }
+
+    @Test
+    void testStreaming_CapsAnalysisRate() {
+        // Arrange
+        long[] clock = {0};
+        TunerSession tuner = new TunerSession(PitchAlgorithm.MPM, false, 2048, 512, () -> clock[0]);
+        tuner.process(pcm(110, 2048), SAMPLE_RATE);
+
+        // Act: llega otro hop sin que haya pasado tiempo
+        double tooSoon = tuner.process(pcm(110, 512), SAMPLE_RATE);
+        clock[0] += 10_000_000L;
+        double later = tuner.process(pcm(110, 512), SAMPLE_RATE);
+
+        // Assert
+        assertTrue(Double.isNaN(tooSoon));
+        assertFalse(Double.isNaN(later));
+    }
+
+    @Test
+    void testStreaming_OversizedFrameKeepsLatestWindow() {
+        // Arrange
+        TunerSession tuner = new TunerSession(PitchAlgorithm.YIN, false, 2048, 512, () -> 0);
+        ByteBuffer frame = ByteBuffer.allocate(6144 * 2).order(ByteOrder.LITTLE_ENDIAN);
+        frame.put(pcm(440, 4096)).put(pcm(196, 2048)).flip();
+
+        // Act
+        double frequency = tuner.process(frame, SAMPLE_RATE);
+
+        // Assert
+        assertEquals(196, frequency, 0.5);
+    }
+
+    @Test
+    void testStreaming_ClampsWindowAndHop() {
+        // Act
+        TunerSession tuner = new TunerSession(PitchAlgorithm.MPM, true, 100_000, 1);
+
+        // Assert
+        assertTrue(tuner.isStreaming());
+        assertEquals(TunerSession.MAX_WINDOW, tuner.getWindow());
+        assertEquals(TunerSession.MIN_HOP, tuner.getHop());
+        assertFalse(new TunerSession(PitchAlgorithm.MPM, true).isStreaming());
+    }
+
+    @Test
+    void testAppendFixed() {
+        // Arrange
+        StringBuilder out = new StringBuilder();
+
+        // Act
+        TunerSession.appendFixed(out, -12.346);
+        out.append(' ');
+        TunerSession.appendFixed(out, 0.05);
+        out.append(' ');
+        TunerSession.appendFixed(out, -0.001);
+        out.append(' ');
+        TunerSession.appendFixed(out, Double.NaN);
+
+        // Assert
+        assertEquals("-12.35 0.05 0.00 0", out.toString());
+    }
+}
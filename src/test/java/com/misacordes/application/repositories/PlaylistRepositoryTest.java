@@ -0,0 +1,100 @@
+package com.misacordes.application.repositories;
+
+import com.misacordes.application.entities.Playlist;
+import com.misacordes.application.entities.PlaylistSong;
+import com.misacordes.application.entities.Role;
+import com.misacordes.application.entities.Song;
+import com.misacordes.application.entities.User;
+import com.misacordes.application.utils.SongStatus;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PlaylistRepositoryTest {
+
+    private static final int PLAYLISTS = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlaylistRepository playlistRepository;
+
+    private User testUser;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        testUser = entityManager.persistAndFlush(User.builder()
+                .username("testuser")
+                .firstname("Test")
+                .lastname("User")
+                .password("password")
+                .role(Role.USER)
+                .failedAttempts(0)
+                .build());
+
+        Song song = entityManager.persistAndFlush(Song.builder()
+                .title("Song One")
+                .artist("Artist One")
+                .createdBy(testUser)
+                .status(SongStatus.APPROVED)
+                .isPublic(true)
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        for (int i = 0; i < PLAYLISTS; i++) {
+            Playlist playlist = entityManager.persist(Playlist.builder()
+                    .name("Playlist " + i)
+                    .user(testUser)
+                    .isDefault(false)
+                    .isPublic(false)
+                    .build());
+            // La playlist i tiene i canciones (la misma canción repetida basta para el conteo)
+            for (int j = 0; j < i; j++) {
+                entityManager.persist(PlaylistSong.builder()
+                        .playlist(playlist)
+                        .song(song)
+                        .orderIndex((j + 1) * 1024)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void userListing_ShouldRunTwoStatementsRegardlessOfPlaylistCount() {
+        // Act
+        List<Playlist> playlists = playlistRepository.findByUserIdOrderByCreatedAtDesc(testUser.getId());
+        Map<Long, Long> songCounts = new HashMap<>();
+        for (PlaylistSongCount count : playlistRepository.countSongsByPlaylistIds(
+                playlists.stream().map(Playlist::getId).toList())) {
+            songCounts.put(count.playlistId(), count.songCount());
+        }
+        // Lo que lee el mapeo a PlaylistSummaryResponse: el propietario no debe disparar más consultas
+        playlists.forEach(playlist -> playlist.getUser().getUsername());
+
+        // Assert
+        assertEquals(PLAYLISTS, playlists.size());
+        assertEquals(PLAYLISTS - 1, songCounts.size());
+        assertEquals(PLAYLISTS - 1, songCounts.values().stream().mapToLong(Long::longValue).max().orElse(0));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
@@ -15,6 +15,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -156,36 +157,45 @@ class SongRepositoryTest {
     }
 
     @Test
-    void findByIsPublicTrueAndStatusAndTitleContainingIgnoreCaseOrArtistContainingIgnoreCase_ShouldReturnMatchingSongs() {
+    void searchPublicSummaries_ShouldReturnMatchingSongs() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
 
         // Act
-        Page<Song> result = songRepository.findByIsPublicTrueAndStatusAndTitleContainingIgnoreCaseOrArtistContainingIgnoreCase(
-                SongStatus.APPROVED, "One", "One", pageable);
+        Page<SongSummaryView> result = songRepository.searchPublicSummaries(SongStatus.APPROVED, "One", pageable);
 
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         assertEquals(1, result.getContent().size());
-        assertEquals("Song One", result.getContent().get(0).getTitle());
-        assertTrue(result.getContent().get(0).getTitle().contains("One") || 
-                  result.getContent().get(0).getArtist().contains("One"));
+        assertEquals("Song One", result.getContent().get(0).title());
     }
 
     @Test
-    void findByIsPublicTrueAndStatusAndTitleContainingIgnoreCaseOrArtistContainingIgnoreCase_ShouldBeCaseInsensitive() {
+    void searchPublicSummaries_ShouldBeCaseInsensitive() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
 
         // Act
-        Page<Song> result = songRepository.findByIsPublicTrueAndStatusAndTitleContainingIgnoreCaseOrArtistContainingIgnoreCase(
-                SongStatus.APPROVED, "song", "song", pageable);
+        Page<SongSummaryView> result = songRepository.searchPublicSummaries(SongStatus.APPROVED, "song", pageable);
 
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        assertEquals("Song One", result.getContent().get(0).getTitle());
+        assertEquals("Song One", result.getContent().get(0).title());
+    }
+
+    @Test
+    void searchPublicSummaries_ShouldNotReturnUnpublishedArtistMatches() {
+        // Arrange: "Another Song" (DRAFT) comparte artista con "Song One"
+        Pageable pageable = PageRequest.of(0, 10);
+
+        // Act
+        Page<SongSummaryView> result = songRepository.searchPublicSummaries(SongStatus.APPROVED, "Artist One", pageable);
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        assertEquals(SongStatus.APPROVED, result.getContent().get(0).status());
     }
 
     @Test
@@ -271,4 +281,50 @@ class SongRepositoryTest {
         assertEquals(1, result.getTotalElements());
         assertEquals("Song One", result.getContent().get(0).getTitle());
     }
+
+    @Test
+    void findPublicSummaries_ShouldReturnProjectionWithoutLyrics() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "title"));
+
+        // Act
+        Page<SongSummaryView> result = songRepository.findPublicSummaries(SongStatus.APPROVED, pageable);
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        SongSummaryView summary = result.getContent().get(0);
+        assertEquals("Song One", summary.title());
+        assertEquals(testUser.getUsername(), summary.createdByUsername());
+    }
+
+    @Test
+    void findSummariesByCreatedById_ShouldPaginateAndSort() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "title"));
+
+        // Act
+        Page<SongSummaryView> result = songRepository.findSummariesByCreatedById(testUser.getId(), pageable);
+
+        // Assert
+        assertEquals(3, result.getTotalElements());
+        assertEquals(2, result.getContent().size());
+        assertEquals("Another Song", result.getContent().get(0).title());
+    }
+
+    @Test
+    void findIndexViewsAfter_ShouldReturnPublicApprovedSongsAfterLastId() {
+        // Arrange
+        Pageable limit = PageRequest.of(0, 10);
+
+        // Act
+        List<SongIndexView> first = songRepository.findIndexViewsAfter(SongStatus.APPROVED, 0L, limit);
+        List<SongIndexView> next = songRepository.findIndexViewsAfter(SongStatus.APPROVED,
+                first.get(first.size() - 1).id(), limit);
+
+        // Assert
+        assertEquals(1, first.size());
+        assertEquals("Song One", first.get(0).title());
+        assertEquals("{\"title\":\"Song One\",\"lyrics\":[]}", first.get(0).chordsMap());
+        assertTrue(next.isEmpty());
+    }
 }
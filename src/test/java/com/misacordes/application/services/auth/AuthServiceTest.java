@@ -6,6 +6,7 @@ import com.misacordes.application.dto.response.AuthResponse;
 import com.misacordes.application.entities.Role;
 import com.misacordes.application.entities.User;
 import com.misacordes.application.repositories.UserRepository;
+import com.misacordes.application.services.LoginAttemptService;
 import com.misacordes.application.services.PlaylistService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -42,7 +43,7 @@ class AuthServiceTest {
     private PlaylistService playlistService;
     
     @Mock(lenient = true)
-    private com.misacordes.application.services.LoginAttemptService loginAttemptService;
+    private LoginAttemptService loginAttemptService;
 
     @InjectMocks
     private AuthService authService;
@@ -66,7 +67,8 @@ class AuthServiceTest {
                 .build();
         
         // Setup default mock behavior for login attempt service
-        when(loginAttemptService.isAccountLocked(anyString())).thenReturn(false);
+        when(loginAttemptService.getStatus(anyString()))
+                .thenReturn(new LoginAttemptService.LoginStatus(false, 0, 5));
 
         loginRequest = LoginRequest.builder()
                 .username("testuser")
@@ -104,7 +106,8 @@ class AuthServiceTest {
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(userRepository).findByUsername(loginRequest.getUsername());
         verify(jwtService).getToken(testUser);
-        verify(loginAttemptService).loginSucceeded(loginRequest.getUsername());
+        verify(loginAttemptService).getStatus(loginRequest.getUsername());
+        verify(loginAttemptService).loginSucceeded(testUser);
     }
 
     @Test
@@ -206,8 +209,8 @@ class AuthServiceTest {
     @Test
     void testLogin_AccountLocked() {
         // Arrange
-        when(loginAttemptService.isAccountLocked(loginRequest.getUsername())).thenReturn(true);
-        when(loginAttemptService.getLockTimeRemaining(loginRequest.getUsername())).thenReturn(10L);
+        when(loginAttemptService.getStatus(loginRequest.getUsername()))
+                .thenReturn(new LoginAttemptService.LoginStatus(true, 10, 0));
 
         // Act & Assert
         org.springframework.security.authentication.LockedException exception = assertThrows(
@@ -216,6 +219,7 @@ class AuthServiceTest {
         );
         
         assertTrue(exception.getMessage().contains("bloqueada"));
+        assertTrue(exception.getMessage().contains("10 minutos"));
         verify(authenticationManager, never()).authenticate(any());
     }
     
@@ -224,7 +228,8 @@ class AuthServiceTest {
         // Arrange
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenThrow(new org.springframework.security.authentication.BadCredentialsException("Bad credentials"));
-        when(loginAttemptService.getAttemptsRemaining(loginRequest.getUsername())).thenReturn(3);
+        when(loginAttemptService.loginFailed(loginRequest.getUsername()))
+                .thenReturn(new LoginAttemptService.LoginStatus(false, 0, 3));
 
         // Act & Assert
         org.springframework.security.authentication.BadCredentialsException exception = assertThrows(
@@ -233,6 +238,25 @@ class AuthServiceTest {
         );
         
         assertTrue(exception.getMessage().contains("Credenciales inválidas"));
+        assertTrue(exception.getMessage().contains("3 intentos"));
         verify(loginAttemptService).loginFailed(loginRequest.getUsername());
     }
+
+    @Test
+    void testLogin_LastFailedAttemptLocksAccount() {
+        // Arrange
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new org.springframework.security.authentication.BadCredentialsException("Bad credentials"));
+        when(loginAttemptService.loginFailed(loginRequest.getUsername()))
+                .thenReturn(new LoginAttemptService.LoginStatus(true, 15, 0));
+
+        // Act & Assert
+        org.springframework.security.authentication.LockedException exception = assertThrows(
+                org.springframework.security.authentication.LockedException.class,
+                () -> authService.login(loginRequest)
+        );
+
+        assertTrue(exception.getMessage().contains("15 minutos"));
+        verify(userRepository, never()).findByUsername(anyString());
+    }
 }
@@ -0,0 +1,121 @@
+package com.misacordes.application.services.auth;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.misacordes.application.repositories.RateLimitBucketRepository;
+import com.misacordes.application.repositories.RateLimitBucketState;
+import com.misacordes.application.services.JdbcRateLimitBackend;
+import com.misacordes.application.services.RateLimitService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcRateLimitBackendTest {
+
+    @Mock
+    private RateLimitBucketRepository rateLimitBucketRepository;
+
+    private JdbcRateLimitBackend backend;
+
+    private final RateLimitService.BucketKey apiKey =
+            RateLimitService.BucketKey.of(RateLimitService.Scope.API, "10.0.0.1");
+    private final RateLimitService.BucketKey loginKey =
+            RateLimitService.BucketKey.of(RateLimitService.Scope.LOGIN, "10.0.0.1");
+
+    @BeforeEach
+    void setUp() {
+        backend = new JdbcRateLimitBackend(rateLimitBucketRepository, Caffeine.newBuilder().build(), 10, 60_000);
+    }
+
+    @Test
+    void testTryConsume_ApiRequestsServedFromLocalBatch() {
+        // Arrange
+        when(rateLimitBucketRepository.findState(anyString())).thenReturn(Optional.empty());
+        when(rateLimitBucketRepository.insertIfAbsent(anyString(), anyLong(), anyLong())).thenReturn(1);
+
+        // Act
+        for (int i = 0; i < 6; i++) {
+            assertTrue(backend.tryConsume(apiKey));
+        }
+
+        // Assert: un lote de 6 (10% de 60) con una sola escritura
+        verify(rateLimitBucketRepository, times(1)).findState(anyString());
+        verify(rateLimitBucketRepository).insertIfAbsent(anyString(), eq(54L), anyLong());
+    }
+
+    @Test
+    void testTryConsume_LoginTakesOneTokenAtATime() {
+        // Arrange
+        long now = System.currentTimeMillis();
+        when(rateLimitBucketRepository.findState(anyString()))
+                .thenReturn(Optional.of(new RateLimitBucketState(3, now, 7)));
+        when(rateLimitBucketRepository.compareAndSet(anyString(), anyLong(), anyLong(), anyLong())).thenReturn(1);
+
+        // Act
+        boolean allowed = backend.tryConsume(loginKey);
+
+        // Assert
+        assertTrue(allowed);
+        verify(rateLimitBucketRepository).compareAndSet(anyString(), eq(7L), eq(2L), eq(now));
+    }
+
+    @Test
+    void testTryConsume_RetriesWhenVersionChanged() {
+        // Arrange
+        long now = System.currentTimeMillis();
+        when(rateLimitBucketRepository.findState(anyString()))
+                .thenReturn(Optional.of(new RateLimitBucketState(5, now, 1)))
+                .thenReturn(Optional.of(new RateLimitBucketState(4, now, 2)));
+        when(rateLimitBucketRepository.compareAndSet(anyString(), eq(1L), anyLong(), anyLong())).thenReturn(0);
+        when(rateLimitBucketRepository.compareAndSet(anyString(), eq(2L), anyLong(), anyLong())).thenReturn(1);
+
+        // Act
+        boolean allowed = backend.tryConsume(loginKey);
+
+        // Assert
+        assertTrue(allowed);
+        verify(rateLimitBucketRepository).compareAndSet(anyString(), eq(2L), eq(3L), eq(now));
+    }
+
+    @Test
+    void testTryConsume_EmptyBucketIsNotQueriedUntilRefill() {
+        // Arrange
+        long now = System.currentTimeMillis();
+        when(rateLimitBucketRepository.findState(anyString()))
+                .thenReturn(Optional.of(new RateLimitBucketState(0, now, 3)));
+
+        // Act
+        boolean first = backend.tryConsume(loginKey);
+        boolean second = backend.tryConsume(loginKey);
+
+        // Assert
+        assertFalse(first);
+        assertFalse(second);
+        verify(rateLimitBucketRepository, times(1)).findState(anyString());
+        verify(rateLimitBucketRepository, never()).compareAndSet(anyString(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void testTryConsume_RefillsAfterPeriod() {
+        // Arrange
+        long longAgo = System.currentTimeMillis() - 3 * 60_000 - 1_000;
+        when(rateLimitBucketRepository.findState(anyString()))
+                .thenReturn(Optional.of(new RateLimitBucketState(0, longAgo, 9)));
+        when(rateLimitBucketRepository.compareAndSet(anyString(), anyLong(), anyLong(), anyLong())).thenReturn(1);
+
+        // Act
+        boolean allowed = backend.tryConsume(loginKey);
+
+        // Assert: lleno de nuevo y recarga alineada al periodo
+        assertTrue(allowed);
+        verify(rateLimitBucketRepository).compareAndSet(anyString(), eq(9L), eq(4L), eq(longAgo + 3 * 60_000));
+    }
+}
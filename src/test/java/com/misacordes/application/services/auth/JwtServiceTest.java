@@ -1,17 +1,24 @@
 package com.misacordes.application.services.auth;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.misacordes.application.entities.Role;
 import com.misacordes.application.entities.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
 // import io.jsonwebtoken.ExpiredJwtException; // No utilizado
 // import io.jsonwebtoken.MalformedJwtException; // No utilizado
 // import io.jsonwebtoken.security.SignatureException; // No utilizado
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Date;
 import java.util.HashMap;
@@ -23,13 +30,21 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class JwtServiceTest {
 
-    @InjectMocks
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
     private JwtService jwtService;
 
+    private Cache<String, Claims> verifiedTokenCache;
+
     private User testUser;
 
     @BeforeEach
     void setUp() {
+        verifiedTokenCache = Caffeine.newBuilder().recordStats().build();
+        jwtService = new JwtService(verifiedTokenCache);
+        ReflectionTestUtils.setField(jwtService, "SECRET_KEY", SECRET);
+        ReflectionTestUtils.setField(jwtService, "expirationHours", 168L);
+
         testUser = User.builder()
                 .id(1L)
                 .username("testuser")
@@ -249,4 +264,82 @@ class JwtServiceTest {
         // Act & Assert
         assertThrows(Exception.class, () -> jwtService.getToken(nullUser));
     }
+
+    @Test
+    void testVerify_SameTokenIsVerifiedOnce() {
+        // Arrange
+        String token = jwtService.getToken(testUser);
+
+        // Act
+        Claims first = jwtService.verify(token);
+        Claims second = jwtService.verify(token);
+        jwtService.getUsernameFromToken(token);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, verifiedTokenCache.stats().missCount());
+        assertEquals(2, verifiedTokenCache.stats().hitCount());
+    }
+
+    @Test
+    void testVerify_InvalidTokenIsNotCached() {
+        // Arrange
+        String invalidToken = "invalid.token.here";
+
+        // Act & Assert
+        assertThrows(Exception.class, () -> jwtService.verify(invalidToken));
+        assertEquals(0, verifiedTokenCache.estimatedSize());
+    }
+
+    @Test
+    void testVerify_ExpiredToken() {
+        // Arrange
+        String expiredToken = Jwts.builder()
+                .setSubject("testuser")
+                .setIssuedAt(new Date(System.currentTimeMillis() - 7200_000L))
+                .setExpiration(new Date(System.currentTimeMillis() - 3600_000L))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+
+        // Act & Assert
+        assertThrows(ExpiredJwtException.class, () -> jwtService.verify(expiredToken));
+        assertEquals(0, verifiedTokenCache.estimatedSize());
+    }
+
+    @Test
+    void testIsTokenValid_WithClaims() {
+        // Arrange
+        Claims claims = jwtService.verify(jwtService.getToken(testUser));
+
+        // Act & Assert
+        assertTrue(jwtService.isTokenValid(claims, testUser));
+    }
+
+    @Test
+    void testPrincipalFromClaims_UserToken() {
+        // Arrange
+        testUser.setCredentialVersion(3);
+        Claims claims = jwtService.verify(jwtService.getToken(testUser));
+
+        // Act
+        User principal = jwtService.principalFromClaims(claims);
+
+        // Assert
+        assertNotNull(principal);
+        assertEquals(1L, principal.getId());
+        assertEquals("testuser", principal.getUsername());
+        assertEquals(Role.USER, principal.getRole());
+        assertEquals(3, principal.currentCredentialVersion());
+    }
+
+    @Test
+    void testPrincipalFromClaims_TokenWithoutUserClaims() {
+        // Arrange
+        UserDetails mockUserDetails = mock(UserDetails.class);
+        when(mockUserDetails.getUsername()).thenReturn("testuser");
+        Claims claims = jwtService.verify(jwtService.getToken(mockUserDetails));
+
+        // Act & Assert
+        assertNull(jwtService.principalFromClaims(claims));
+    }
 }
@@ -0,0 +1,104 @@
+package com.misacordes.application.services.auth;
+
+import com.misacordes.application.entities.User;
+import com.misacordes.application.repositories.UserRepository;
+import com.misacordes.application.services.LoginAttemptService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginAttemptServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private LoginAttemptService loginAttemptService;
+
+    @BeforeEach
+    void setUp() {
+        loginAttemptService = new LoginAttemptService(userRepository);
+    }
+
+    @Test
+    void testLoginFailed_CountsInMemoryWithoutWrites() {
+        // Act
+        LoginAttemptService.LoginStatus status = null;
+        for (int i = 0; i < 4; i++) {
+            status = loginAttemptService.loginFailed("testuser");
+        }
+
+        // Assert
+        assertFalse(status.locked());
+        assertEquals(1, status.attemptsRemaining());
+        assertEquals(1, loginAttemptService.getStatus("testuser").attemptsRemaining());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void testLoginFailed_FifthFailureLocksAndPersistsOnce() {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            loginAttemptService.loginFailed("testuser");
+        }
+
+        // Act
+        LoginAttemptService.LoginStatus status = loginAttemptService.loginFailed("testuser");
+
+        // Assert
+        assertTrue(status.locked());
+        assertEquals(15, status.minutesRemaining());
+        assertTrue(loginAttemptService.getStatus("testuser").locked());
+        assertFalse(loginAttemptService.getStatus("otheruser").locked());
+        verify(userRepository, times(1)).lockAccount(eq("testuser"), any(), eq(5));
+    }
+
+    @Test
+    void testLoginSucceeded_ClearsFailuresWithoutWriteWhenNotPersisted() {
+        // Arrange
+        User user = User.builder().username("testuser").failedAttempts(0).accountLocked(false).build();
+        loginAttemptService.loginFailed("testuser");
+
+        // Act
+        loginAttemptService.loginSucceeded(user);
+
+        // Assert
+        assertEquals(5, loginAttemptService.getStatus("testuser").attemptsRemaining());
+        verify(userRepository, never()).unlockAccount(anyString());
+    }
+
+    @Test
+    void testLoginSucceeded_ClearsExpiredPersistedLock() {
+        // Arrange
+        User user = User.builder().username("testuser").failedAttempts(5).accountLocked(true).build();
+
+        // Act
+        loginAttemptService.loginSucceeded(user);
+
+        // Assert
+        assertFalse(user.getAccountLocked());
+        assertEquals(0, user.getFailedAttempts());
+        verify(userRepository).unlockAccount("testuser");
+    }
+
+    @Test
+    void testUnlockAccount_ClearsMemoryAndRow() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            loginAttemptService.loginFailed("testuser");
+        }
+
+        // Act
+        loginAttemptService.unlockAccount("testuser");
+
+        // Assert
+        assertFalse(loginAttemptService.getStatus("testuser").locked());
+        verify(userRepository).unlockAccount("testuser");
+    }
+}
@@ -0,0 +1,486 @@
+package com.misacordes.application.services.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.misacordes.application.config.GlobalExceptionHandler.BusinessException;
+import com.misacordes.application.dto.request.AddSongToPlaylistRequest;
+import com.misacordes.application.dto.request.CreatePlaylistRequest;
+import com.misacordes.application.dto.request.PlaylistSongsPatchRequest;
+import com.misacordes.application.dto.request.PlaylistSongsPatchRequest.Operation;
+import com.misacordes.application.dto.request.PlaylistSongsPatchRequest.OperationType;
+import com.misacordes.application.dto.response.CursorPageResponse;
+import com.misacordes.application.dto.response.PlaylistResponse;
+import com.misacordes.application.dto.response.PlaylistSongChangeResponse;
+import com.misacordes.application.dto.response.PlaylistSongsPatchResponse;
+import com.misacordes.application.dto.response.PlaylistSummaryResponse;
+import com.misacordes.application.entities.Playlist;
+import com.misacordes.application.entities.PlaylistSong;
+import com.misacordes.application.entities.Role;
+import com.misacordes.application.entities.Song;
+import com.misacordes.application.entities.User;
+import com.misacordes.application.repositories.PlaylistRepository;
+import com.misacordes.application.repositories.PlaylistSongCount;
+import com.misacordes.application.repositories.PlaylistSongRepository;
+import com.misacordes.application.repositories.SongRepository;
+import com.misacordes.application.repositories.SongSummaryView;
+import com.misacordes.application.services.PlaylistService;
+import com.misacordes.application.services.PlaylistTransposeAsyncService;
+import com.misacordes.application.services.SongLyricsService;
+import com.misacordes.application.utils.KeysetCursor;
+import com.misacordes.application.utils.SongStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlaylistServiceTest {
+
+    @Mock
+    private PlaylistRepository playlistRepository;
+
+    @Mock
+    private PlaylistSongRepository playlistSongRepository;
+
+    @Mock
+    private SongRepository songRepository;
+
+    @Mock
+    private SongLyricsService songLyricsService;
+
+    @Mock
+    private PlaylistTransposeAsyncService playlistTransposeAsyncService;
+
+    @Mock
+    private UserCacheService userCacheService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private SecurityContext securityContext;
+
+    @Mock
+    private Authentication authentication;
+
+    private Cache<String, List<PlaylistSummaryResponse>> publicPlaylistsCache;
+
+    private PlaylistService playlistService;
+
+    private User testUser;
+    private User otherUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = User.builder()
+                .id(1L)
+                .username("testuser")
+                .firstname("Test")
+                .role(Role.USER)
+                .build();
+        otherUser = User.builder()
+                .id(2L)
+                .username("otheruser")
+                .firstname("Other")
+                .role(Role.USER)
+                .build();
+
+        lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
+        lenient().when(authentication.getPrincipal()).thenReturn(testUser);
+        SecurityContextHolder.setContext(securityContext);
+
+        publicPlaylistsCache = Caffeine.newBuilder().build();
+        playlistService = new PlaylistService(playlistRepository, playlistSongRepository, songRepository,
+                songLyricsService, playlistTransposeAsyncService, userCacheService, publicPlaylistsCache, jdbcTemplate);
+    }
+
+    private Playlist playlist(long id, User owner) {
+        return Playlist.builder()
+                .id(id)
+                .name("Playlist " + id)
+                .user(owner)
+                .isDefault(false)
+                .isPublic(true)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(1000 - id))
+                .build();
+    }
+
+    private PlaylistSong entry(Playlist playlist, long songId, int orderIndex) {
+        return PlaylistSong.builder()
+                .id(100 + songId)
+                .playlist(playlist)
+                .song(Song.builder().id(songId).build())
+                .orderIndex(orderIndex)
+                .build();
+    }
+
+    @Test
+    void getPublicPlaylists_FirstPage_ShouldCountAllSongsInOneQueryAndCache() {
+        // Arrange
+        List<Playlist> playlists = List.of(playlist(10L, otherUser), playlist(11L, otherUser), playlist(12L, otherUser));
+        when(playlistRepository.findNewestPublicPlaylists(any())).thenReturn(playlists);
+        when(playlistRepository.countSongsByPlaylistIds(List.of(10L, 11L, 12L)))
+                .thenReturn(List.of(new PlaylistSongCount(10L, 3), new PlaylistSongCount(12L, 7)));
+
+        // Act
+        CursorPageResponse<PlaylistSummaryResponse> result = playlistService.getPublicPlaylists(null, 20);
+        CursorPageResponse<PlaylistSummaryResponse> cached = playlistService.getPublicPlaylists(null, 20);
+
+        // Assert
+        assertEquals(3, result.getNumberOfElements());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        assertEquals(3L, result.getContent().get(0).getSongCount());
+        assertEquals(0L, result.getContent().get(1).getSongCount());
+        assertEquals(7L, result.getContent().get(2).getSongCount());
+        assertEquals("otheruser", result.getContent().get(0).getCreatedBy().getUsername());
+        assertEquals(3, cached.getNumberOfElements());
+        verify(playlistRepository, times(1)).findNewestPublicPlaylists(any());
+        verify(playlistRepository, times(1)).countSongsByPlaylistIds(anyCollection());
+        verifyNoMoreInteractions(playlistRepository);
+        verifyNoInteractions(playlistSongRepository);
+    }
+
+    @Test
+    void getPublicPlaylists_FirstPage_ShouldSkipOwnPlaylistsAndReturnCursor() {
+        // Arrange
+        List<Playlist> playlists = List.of(playlist(10L, testUser), playlist(11L, otherUser),
+                playlist(12L, otherUser), playlist(13L, otherUser));
+        when(playlistRepository.findNewestPublicPlaylists(any())).thenReturn(playlists);
+        when(playlistRepository.countSongsByPlaylistIds(anyCollection())).thenReturn(List.of());
+
+        // Act
+        CursorPageResponse<PlaylistSummaryResponse> result = playlistService.getPublicPlaylists(null, 2);
+
+        // Assert
+        assertEquals(List.of(11L, 12L), result.getContent().stream().map(PlaylistSummaryResponse::getId).toList());
+        assertTrue(result.isHasNext());
+        KeysetCursor next = KeysetCursor.decode(result.getNextCursor());
+        assertEquals(12L, next.id());
+        assertEquals(playlists.get(2).getCreatedAt(), next.createdAt());
+    }
+
+    @Test
+    void getPublicPlaylists_WithCursor_ShouldUseKeysetQuery() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123456000);
+        String cursor = new KeysetCursor(createdAt, 40L).encode();
+        when(playlistRepository.findPublicPlaylistsExcludingUserAfter(1L, createdAt, 40L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(playlist(39L, otherUser), playlist(38L, otherUser)));
+        when(playlistRepository.countSongsByPlaylistIds(anyCollection())).thenReturn(List.of());
+
+        // Act
+        CursorPageResponse<PlaylistSummaryResponse> result = playlistService.getPublicPlaylists(cursor, 2);
+
+        // Assert
+        assertEquals(2, result.getNumberOfElements());
+        assertFalse(result.isHasNext());
+        verify(playlistRepository, never()).findNewestPublicPlaylists(any());
+    }
+
+    @Test
+    void getPublicPlaylists_InvalidCursor_ShouldThrow() {
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> playlistService.getPublicPlaylists("no-es-un-cursor", 20));
+    }
+
+    @Test
+    void searchPublicPlaylists_ShouldSearchNormalizedEscapedPrefix() {
+        // Act
+        CursorPageResponse<PlaylistSummaryResponse> result =
+                playlistService.searchPublicPlaylists("  Canción 100%_!", null, 20);
+
+        // Assert
+        assertTrue(result.getContent().isEmpty());
+        verify(playlistRepository).findPublicPlaylistsByNamePrefix("cancion 100!%!_!!%", PageRequest.of(0, 21));
+        verifyNoMoreInteractions(playlistRepository);
+    }
+
+    @Test
+    void getMyPlaylists_ShouldUseConstantQueriesRegardlessOfSize() {
+        // Arrange
+        List<Playlist> playlists = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            playlists.add(playlist(id, testUser));
+        }
+        when(playlistRepository.findByUserIdOrderByCreatedAtDesc(1L)).thenReturn(playlists);
+        when(playlistRepository.countSongsByPlaylistIds(anyCollection())).thenReturn(List.of());
+
+        // Act
+        List<PlaylistSummaryResponse> result = playlistService.getMyPlaylists();
+
+        // Assert
+        assertEquals(50, result.size());
+        verify(playlistRepository).findByUserIdOrderByCreatedAtDesc(1L);
+        verify(playlistRepository, times(1)).countSongsByPlaylistIds(anyCollection());
+        verify(playlistRepository, never()).countSongsInPlaylist(anyLong());
+        verifyNoMoreInteractions(playlistRepository);
+    }
+
+    @Test
+    void createPlaylist_ShouldNotCountSongs() {
+        // Arrange
+        CreatePlaylistRequest request = new CreatePlaylistRequest();
+        request.setName("Nueva");
+        when(userCacheService.getUser(1L)).thenReturn(testUser);
+        when(playlistRepository.existsByUserIdAndName(1L, "Nueva")).thenReturn(false);
+        when(playlistRepository.save(any(Playlist.class))).thenAnswer(invocation -> {
+            Playlist saved = invocation.getArgument(0);
+            saved.setId(20L);
+            return saved;
+        });
+
+        // Act
+        PlaylistResponse response = playlistService.createPlaylist(request);
+
+        // Assert
+        assertEquals(0L, response.getSongCount());
+        assertEquals("testuser", response.getCreatedBy().getUsername());
+        verify(playlistRepository, never()).countSongsInPlaylist(anyLong());
+    }
+
+    @Test
+    void createPlaylist_Public_ShouldEvictPublicPlaylistsCache() {
+        // Arrange
+        publicPlaylistsCache.put("newest", List.of());
+        CreatePlaylistRequest request = new CreatePlaylistRequest("Pública", null, true);
+        when(userCacheService.getUser(1L)).thenReturn(testUser);
+        when(playlistRepository.save(any(Playlist.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        playlistService.createPlaylist(request);
+
+        // Assert
+        assertEquals(0, publicPlaylistsCache.estimatedSize());
+    }
+
+    @Test
+    void getPlaylistById_Default_ShouldReturnSongsWithoutLyrics() {
+        // Arrange
+        Playlist own = playlist(5L, testUser);
+        SongSummaryView view = new SongSummaryView(7L, "Song", "Artist", null, 2024, "G", 90, null, null,
+                SongStatus.APPROVED, true, null, LocalDateTime.now(), null, 2L, "otheruser", "Other");
+        when(playlistRepository.findByIdAndUserId(5L, 1L)).thenReturn(Optional.of(own));
+        when(playlistSongRepository.findSongSummariesByPlaylistId(5L)).thenReturn(List.of(view));
+
+        // Act
+        PlaylistResponse response = playlistService.getPlaylistById(5L, false);
+
+        // Assert
+        assertEquals(1L, response.getSongCount());
+        assertEquals("Song", response.getSongs().get(0).getTitle());
+        assertNull(response.getSongs().get(0).getLyrics());
+        verify(playlistSongRepository, never()).findByPlaylistIdWithSongDetails(anyLong());
+        verifyNoInteractions(songLyricsService);
+    }
+
+    @Test
+    void getPlaylistById_IncludeLyrics_ShouldReadLyrics() {
+        // Arrange
+        Playlist own = playlist(5L, testUser);
+        Song song = Song.builder().id(7L).title("Song").createdBy(otherUser).build();
+        when(playlistRepository.findByIdAndUserId(5L, 1L)).thenReturn(Optional.of(own));
+        when(playlistSongRepository.findByPlaylistIdWithSongDetails(5L))
+                .thenReturn(List.of(PlaylistSong.builder().playlist(own).song(song).orderIndex(1).build()));
+        when(songLyricsService.readLyrics(song)).thenReturn(List.of());
+
+        // Act
+        PlaylistResponse response = playlistService.getPlaylistById(5L, true);
+
+        // Assert
+        assertEquals(List.of(), response.getSongs().get(0).getLyrics());
+        verify(playlistSongRepository, never()).findSongSummariesByPlaylistId(anyLong());
+    }
+
+    @Test
+    void addSongToPlaylist_ShouldReturnDeltaWithoutReloadingPlaylist() {
+        // Arrange
+        Playlist own = playlist(5L, testUser);
+        own.setIsPublic(false);
+        Song song = Song.builder().id(7L).isPublic(true).createdBy(otherUser).build();
+        when(playlistRepository.findWithLockByIdAndUserId(5L, 1L)).thenReturn(Optional.of(own));
+        when(songRepository.findById(7L)).thenReturn(Optional.of(song));
+        when(playlistSongRepository.findByPlaylistIdAndSongId(5L, 7L)).thenReturn(Optional.empty());
+        when(playlistSongRepository.getMaxOrderIndex(5L)).thenReturn(3072);
+        when(playlistRepository.countSongsInPlaylist(5L)).thenReturn(4L);
+
+        // Act
+        PlaylistSongChangeResponse response =
+                playlistService.addSongToPlaylist(5L, new AddSongToPlaylistRequest(7L, null));
+
+        // Assert
+        assertEquals(5L, response.getPlaylistId());
+        assertEquals(7L, response.getSongId());
+        assertEquals(4096, response.getOrderIndex());
+        assertEquals(4L, response.getSongCount());
+        verify(playlistSongRepository).save(any(PlaylistSong.class));
+        verify(playlistSongRepository, never()).findByPlaylistIdWithSongDetails(anyLong());
+        verifyNoInteractions(songLyricsService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void addSongToPlaylist_WithPosition_ShouldKeyBetweenNeighbours() {
+        // Arrange
+        Playlist own = playlist(5L, testUser);
+        own.setIsPublic(false);
+        Song song = Song.builder().id(7L).isPublic(true).createdBy(otherUser).build();
+        when(playlistRepository.findWithLockByIdAndUserId(5L, 1L)).thenReturn(Optional.of(own));
+        when(songRepository.findById(7L)).thenReturn(Optional.of(song));
+        when(playlistSongRepository.findByPlaylistIdAndSongId(5L, 7L)).thenReturn(Optional.empty());
+        when(playlistSongRepository.findByPlaylistIdOrderByOrderIndexAsc(5L))
+                .thenReturn(List.of(entry(own, 10L, 1024), entry(own, 11L, 2048), entry(own, 12L, 3072)));
+        when(playlistRepository.countSongsInPlaylist(5L)).thenReturn(4L);
+
+        // Act
+        PlaylistSongChangeResponse response =
+                playlistService.addSongToPlaylist(5L, new AddSongToPlaylistRequest(7L, 2));
+
+        // Assert
+        assertEquals(2560, response.getOrderIndex());
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertEquals(1, rows.getValue().size());
+        assertEquals(2560, rows.getValue().get(0)[3]);
+        verify(playlistSongRepository, never()).getMaxOrderIndex(anyLong());
+    }
+
+    @Test
+    void addSongToPlaylist_AtEndOfMaxKey_ShouldRenumberInsteadOfOverflowing() {
+        // Arrange
+        Playlist own = playlist(5L, testUser);
+        own.setIsPublic(false);
+        Song song = Song.builder().id(7L).isPublic(true).createdBy(otherUser).build();
+        PlaylistSong first = entry(own, 10L, 1024);
+        PlaylistSong last = entry(own, 11L, Integer.MAX_VALUE);
+        when(playlistRepository.findWithLockByIdAndUserId(5L, 1L)).thenReturn(Optional.of(own));
+        when(songRepository.findById(7L)).thenReturn(Optional.of(song));
+        when(playlistSongRepository.findByPlaylistIdAndSongId(5L, 7L)).thenReturn(Optional.empty());
+        when(playlistSongRepository.getMaxOrderIndex(5L)).thenReturn(Integer.MAX_VALUE);
+        when(playlistSongRepository.findByPlaylistIdOrderByOrderIndexAsc(5L)).thenReturn(List.of(first, last));
+        when(playlistRepository.countSongsInPlaylist(5L)).thenReturn(3L);
+
+        // Act
+        PlaylistSongChangeResponse response =
+                playlistService.addSongToPlaylist(5L, new AddSongToPlaylistRequest(7L, null));
+
+        // Assert
+        assertEquals(3072, response.getOrderIndex());
+        assertEquals(1024, first.getOrderIndex());
+        assertEquals(2048, last.getOrderIndex());
+        verify(playlistSongRepository, never()).save(any(PlaylistSong.class));
+    }
+
+    @Test
+    void patchSongs_MoveIntoGap_ShouldWriteOnlyMovedSong() {
+        // Arrange
+        Playlist own = playlist(5L, testUser);
+        PlaylistSong first = entry(own, 10L, 1024);
+        PlaylistSong second = entry(own, 11L, 2048);
+        PlaylistSong third = entry(own, 12L, 3072);
+        when(playlistRepository.findWithLockByIdAndUserId(5L, 1L)).thenReturn(Optional.of(own));
+        when(playlistSongRepository.findByPlaylistIdOrderByOrderIndexAsc(5L)).thenReturn(List.of(first, second, third));
+
+        // Act
+        PlaylistSongsPatchResponse response = playlistService.patchSongs(5L, new PlaylistSongsPatchRequest(
+                List.of(new Operation(OperationType.MOVE, 12L, 10L, null))));
+
+        // Assert
+        assertEquals(1, response.getOrderChanges().size());
+        assertEquals(12L, response.getOrderChanges().get(0).getSongId());
+        assertEquals(1536, response.getOrderChanges().get(0).getOrderIndex());
+        assertEquals(1536, third.getOrderIndex());
+        assertEquals(1024, first.getOrderIndex());
+        assertEquals(2048, second.getOrderIndex());
+        assertEquals(3L, response.getSongCount());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void patchSongs_WithoutGap_ShouldRenumberOnce() {
+        // Arrange
+        Playlist own = playlist(5L, testUser);
+        PlaylistSong first = entry(own, 10L, 1);
+        PlaylistSong second = entry(own, 11L, 2);
+        PlaylistSong third = entry(own, 12L, 3);
+        when(playlistRepository.findWithLockByIdAndUserId(5L, 1L)).thenReturn(Optional.of(own));
+        when(playlistSongRepository.findByPlaylistIdOrderByOrderIndexAsc(5L)).thenReturn(List.of(first, second, third));
+
+        // Act
+        PlaylistSongsPatchResponse response = playlistService.patchSongs(5L, new PlaylistSongsPatchRequest(
+                List.of(new Operation(OperationType.MOVE, 12L, 10L, null))));
+
+        // Assert
+        assertEquals(1024, first.getOrderIndex());
+        assertEquals(2048, third.getOrderIndex());
+        assertEquals(3072, second.getOrderIndex());
+        assertEquals(3, response.getOrderChanges().size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void patchSongs_AddAndRemove_ShouldInsertAddsInOneBatch() {
+        // Arrange
+        Playlist own = playlist(5L, testUser);
+        PlaylistSong first = entry(own, 10L, 1024);
+        PlaylistSong second = entry(own, 11L, 2048);
+        when(playlistRepository.findWithLockByIdAndUserId(5L, 1L)).thenReturn(Optional.of(own));
+        when(playlistSongRepository.findByPlaylistIdOrderByOrderIndexAsc(5L)).thenReturn(List.of(first, second));
+        when(songRepository.findAddableIds(any(), eq(1L))).thenReturn(List.of(20L, 21L));
+
+        // Act
+        PlaylistSongsPatchResponse response = playlistService.patchSongs(5L, new PlaylistSongsPatchRequest(List.of(
+                new Operation(OperationType.REMOVE, 10L, null, null),
+                new Operation(OperationType.ADD, 20L, null, null),
+                new Operation(OperationType.ADD, 21L, null, 11L))));
+
+        // Assert
+        assertEquals(List.of(10L), response.getRemovedSongIds());
+        assertEquals(3L, response.getSongCount());
+        assertEquals(21L, response.getOrderChanges().get(0).getSongId());
+        assertEquals(1024, response.getOrderChanges().get(0).getOrderIndex());
+        assertEquals(20L, response.getOrderChanges().get(1).getSongId());
+        assertEquals(3072, response.getOrderChanges().get(1).getOrderIndex());
+        verify(playlistSongRepository).deleteAll(argThat((Iterable<? extends PlaylistSong> removed) ->
+                removed.iterator().next() == first));
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertEquals(2, rows.getValue().size());
+        assertEquals(21L, rows.getValue().get(0)[1]);
+        assertEquals(20L, rows.getValue().get(1)[1]);
+        verify(playlistSongRepository, never()).save(any(PlaylistSong.class));
+    }
+
+    @Test
+    void patchSongs_InvalidOperation_ShouldNotWriteAnything() {
+        // Arrange
+        Playlist own = playlist(5L, testUser);
+        when(playlistRepository.findWithLockByIdAndUserId(5L, 1L)).thenReturn(Optional.of(own));
+        when(playlistSongRepository.findByPlaylistIdOrderByOrderIndexAsc(5L))
+                .thenReturn(List.of(entry(own, 10L, 1024)));
+        when(songRepository.findAddableIds(any(), eq(1L))).thenReturn(List.of());
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> playlistService.patchSongs(5L, new PlaylistSongsPatchRequest(
+                List.of(new Operation(OperationType.REMOVE, 10L, null, null),
+                        new Operation(OperationType.ADD, 30L, null, null)))));
+        verify(playlistSongRepository, never()).deleteAll(any());
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,95 @@
+package com.misacordes.application.services.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.misacordes.application.dto.response.RateLimitStatsResponse;
+import com.misacordes.application.services.InMemoryRateLimitBackend;
+import com.misacordes.application.services.RateLimitService;
+import io.github.bucket4j.Bucket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitServiceTest {
+
+    private Cache<RateLimitService.BucketKey, Bucket> buckets;
+    private RateLimitService rateLimitService;
+
+    @BeforeEach
+    void setUp() {
+        buckets = Caffeine.newBuilder().recordStats().build();
+        rateLimitService = new RateLimitService(new InMemoryRateLimitBackend(buckets));
+    }
+
+    @Test
+    void testLoginLimit_RejectsAfterCapacity() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            assertTrue(rateLimitService.isLoginAllowed("10.0.0.1"));
+        }
+
+        // Act
+        boolean allowed = rateLimitService.isLoginAllowed("10.0.0.1");
+
+        // Assert
+        assertFalse(allowed);
+        assertEquals(0, rateLimitService.getLoginAttemptsRemaining("10.0.0.1"));
+        assertTrue(rateLimitService.isLoginAllowed("10.0.0.2"));
+    }
+
+    @Test
+    void testIpv6_SamePrefixSharesBucket() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            rateLimitService.isLoginAllowed("2001:db8:1:2::" + (i + 1));
+        }
+
+        // Act & Assert
+        assertFalse(rateLimitService.isLoginAllowed("2001:db8:1:2:ffff::9"));
+        assertTrue(rateLimitService.isLoginAllowed("2001:db8:1:3::1"));
+    }
+
+    @Test
+    void testBucketKey_Ipv4MappedMatchesIpv4() {
+        // Act & Assert
+        assertEquals(RateLimitService.BucketKey.of(RateLimitService.Scope.API, "1.2.3.4"),
+                RateLimitService.BucketKey.of(RateLimitService.Scope.API, "::ffff:1.2.3.4"));
+        assertNotEquals(RateLimitService.BucketKey.of(RateLimitService.Scope.API, "1.2.3.4"),
+                RateLimitService.BucketKey.of(RateLimitService.Scope.LOGIN, "1.2.3.4"));
+    }
+
+    @Test
+    void testReset_RestoresAttempts() {
+        // Arrange
+        for (int i = 0; i < 6; i++) {
+            rateLimitService.isLoginAllowed("10.0.0.1");
+        }
+
+        // Act
+        rateLimitService.reset("10.0.0.1");
+
+        // Assert
+        assertEquals(5, rateLimitService.getLoginAttemptsRemaining("10.0.0.1"));
+        assertTrue(rateLimitService.isLoginAllowed("10.0.0.1"));
+    }
+
+    @Test
+    void testGetStats_CountsAllowedAndRejected() {
+        // Arrange
+        for (int i = 0; i < 6; i++) {
+            rateLimitService.isLoginAllowed("10.0.0.1");
+        }
+        rateLimitService.isApiRequestAllowed("10.0.0.1");
+
+        // Act
+        RateLimitStatsResponse stats = rateLimitService.getStats();
+
+        // Assert
+        assertEquals(2, stats.getLiveBuckets());
+        assertEquals(5L, stats.getAllowed().get("LOGIN"));
+        assertEquals(1L, stats.getRejected().get("LOGIN"));
+        assertEquals(1L, stats.getAllowed().get("API"));
+        assertEquals(0L, stats.getRejected().get("API"));
+    }
+}
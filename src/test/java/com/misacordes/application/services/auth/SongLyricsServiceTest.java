@@ -0,0 +1,256 @@
+package com.misacordes.application.services.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.misacordes.application.config.GlobalExceptionHandler.BusinessException;
+import com.misacordes.application.dto.request.ChordPositionInfo;
+import com.misacordes.application.dto.request.LineWithChords;
+import com.misacordes.application.entities.Song;
+import com.misacordes.application.services.SongChordsMigrationService;
+import com.misacordes.application.services.SongLyricsService;
+import com.misacordes.application.utils.SongChordsCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class SongLyricsServiceTest {
+
+    @Mock
+    private SongChordsMigrationService songChordsMigrationService;
+
+    private Cache<SongLyricsService.SongVersionKey, SongLyricsService.CachedLyrics> cache;
+    private Cache<SongLyricsService.TransposedKey, SongLyricsService.TransposedLyrics> transpositionCache;
+    private SongLyricsService songLyricsService;
+
+    @BeforeEach
+    void setUp() {
+        cache = Caffeine.newBuilder().recordStats().build();
+        transpositionCache = Caffeine.newBuilder().recordStats().build();
+        songLyricsService = new SongLyricsService(new ObjectMapper(), songChordsMigrationService, cache,
+                transpositionCache);
+    }
+
+    private Song songWithLyrics(long id, LocalDateTime updatedAt) {
+        List<LineWithChords> lyrics = Arrays.asList(
+                new LineWithChords(0, "Amazing grace", Arrays.asList(new ChordPositionInfo(0, "G", 8L))));
+        Song song = new Song();
+        song.setId(id);
+        song.setUpdatedAt(updatedAt);
+        song.setChordsData(SongChordsCodec.encode(lyrics));
+        return song;
+    }
+
+    @Test
+    void testReadLyrics_SameVersionIsServedFromCache() {
+        // Arrange
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        Song song = songWithLyrics(1L, updatedAt);
+
+        // Act
+        List<LineWithChords> first = songLyricsService.readLyrics(song);
+        List<LineWithChords> second = songLyricsService.readLyrics(songWithLyrics(1L, updatedAt));
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, cache.stats().missCount());
+        assertEquals(1, cache.stats().hitCount());
+    }
+
+    @Test
+    void testReadLyrics_NewVersionIsDecodedAgain() {
+        // Arrange
+        Song original = songWithLyrics(1L, LocalDateTime.of(2024, 1, 1, 10, 0));
+        Song edited = songWithLyrics(1L, LocalDateTime.of(2024, 1, 2, 10, 0));
+
+        // Act
+        songLyricsService.readLyrics(original);
+        songLyricsService.readLyrics(edited);
+
+        // Assert
+        assertEquals(2, cache.stats().missCount());
+        assertEquals(2, cache.estimatedSize());
+    }
+
+    @Test
+    void testEvict_RemovesAllVersionsOfSong() {
+        // Arrange
+        songLyricsService.readLyrics(songWithLyrics(1L, LocalDateTime.of(2024, 1, 1, 10, 0)));
+        songLyricsService.readLyrics(songWithLyrics(1L, LocalDateTime.of(2024, 1, 2, 10, 0)));
+        songLyricsService.readLyrics(songWithLyrics(2L, LocalDateTime.of(2024, 1, 1, 10, 0)));
+
+        // Act
+        songLyricsService.evict(1L);
+
+        // Assert
+        assertEquals(1, cache.asMap().size());
+        assertTrue(cache.asMap().keySet().stream().allMatch(key -> key.songId() == 2L));
+    }
+
+    @Test
+    void testEvict_RemovesTransposedVersionsOfSong() {
+        // Arrange
+        songLyricsService.readTransposed(songWithLyrics(1L, LocalDateTime.of(2024, 1, 1, 10, 0)), 2);
+        songLyricsService.readTransposed(songWithLyrics(2L, LocalDateTime.of(2024, 1, 1, 10, 0)), 2);
+
+        // Act
+        songLyricsService.evict(1L);
+
+        // Assert
+        assertEquals(1, transpositionCache.asMap().size());
+        assertTrue(transpositionCache.asMap().keySet().stream().allMatch(key -> key.songId() == 2L));
+    }
+
+    @Test
+    void testEvict_RepeatsAfterCommit() {
+        // Arrange
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+        // Act
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            songLyricsService.evict(List.of(1L));
+            // Lectura concurrente de la fila anterior entre el evict y el commit
+            songLyricsService.readLyrics(songWithLyrics(1L, updatedAt));
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertEquals(0, cache.asMap().size());
+    }
+
+    @Test
+    void testPrime_RolledBackUpdateKeepsCommittedLyrics() {
+        // Arrange
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        List<LineWithChords> committed = songLyricsService.readLyrics(songWithLyrics(1L, updatedAt));
+        Song edited = songWithLyrics(1L, updatedAt);
+        List<LineWithChords> newLyrics = List.of(
+                new LineWithChords(0, "Letra nueva", List.of(new ChordPositionInfo(0, "D", null))));
+
+        // Act
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            songLyricsService.prime(edited, newLyrics);
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertSame(committed, songLyricsService.readLyrics(songWithLyrics(1L, updatedAt)));
+    }
+
+    @Test
+    void testPrime_CommittedUpdateIsCachedUnderFlushedVersion() {
+        // Arrange
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        LocalDateTime flushedAt = LocalDateTime.of(2024, 1, 2, 10, 0);
+        Song edited = songWithLyrics(1L, updatedAt);
+        List<LineWithChords> newLyrics = List.of(
+                new LineWithChords(0, "Letra nueva", List.of(new ChordPositionInfo(0, "D", null))));
+
+        // Act
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            songLyricsService.prime(edited, newLyrics);
+            edited.setUpdatedAt(flushedAt); // @PreUpdate al hacer flush
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertNull(cache.getIfPresent(new SongLyricsService.SongVersionKey(1L, updatedAt)));
+        assertEquals("Letra nueva", cache.getIfPresent(new SongLyricsService.SongVersionKey(1L, flushedAt))
+                .lyrics().get(0).getText());
+    }
+
+    @Test
+    void testReadTransposed_SameSemitonesModuloOctaveIsServedFromCache() {
+        // Arrange
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        Song song = songWithLyrics(1L, updatedAt);
+        song.setKey("G");
+
+        // Act
+        SongLyricsService.TransposedLyrics first = songLyricsService.readTransposed(song, 3);
+        SongLyricsService.TransposedLyrics second = songLyricsService.readTransposed(songWithLyrics(1L, updatedAt), -9);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals("Bb", first.key());
+        assertEquals("Bb", first.lyrics().get(0).getChords().get(0).getName());
+        assertEquals(1, transpositionCache.stats().hitCount());
+    }
+
+    @Test
+    void testReadTransposed_ZeroSemitonesReturnsOriginalLyrics() {
+        // Arrange
+        Song song = songWithLyrics(1L, LocalDateTime.of(2024, 1, 1, 10, 0));
+
+        // Act
+        SongLyricsService.TransposedLyrics result = songLyricsService.readTransposed(song, 12);
+
+        // Assert
+        assertSame(songLyricsService.readLyrics(song), result.lyrics());
+        assertEquals(0, transpositionCache.estimatedSize());
+    }
+
+    @Test
+    void testNormalize_CapitalizesRootNote() {
+        // Arrange
+        List<LineWithChords> lyrics = List.of(new LineWithChords(0, "Amazing grace", Arrays.asList(
+                new ChordPositionInfo(0, " am7 ", null), new ChordPositionInfo(4, "bb", null),
+                new ChordPositionInfo(8, "dim", null))));
+
+        // Act
+        List<LineWithChords> normalized = songLyricsService.normalize(lyrics);
+
+        // Assert
+        List<ChordPositionInfo> chords = normalized.get(0).getChords();
+        assertEquals("Am7", chords.get(0).getName());
+        assertEquals("Bb", chords.get(1).getName());
+        assertEquals("dim", chords.get(2).getName());
+    }
+
+    @Test
+    void testNormalize_RejectsNamesDifferingOnlyInCase() {
+        // Arrange
+        List<LineWithChords> lyrics = List.of(
+                new LineWithChords(0, "uno", List.of(new ChordPositionInfo(0, "Dsus4", null))),
+                new LineWithChords(1, "dos", List.of(new ChordPositionInfo(0, "dsus4", null))));
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> songLyricsService.normalize(lyrics));
+    }
+
+    @Test
+    void testNormalize_RejectsTooLongChordName() {
+        // Arrange
+        List<LineWithChords> lyrics = List.of(new LineWithChords(0, "uno",
+                List.of(new ChordPositionInfo(0, "C" + "add9".repeat(10), null))));
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> songLyricsService.normalize(lyrics));
+    }
+}
@@ -1,31 +1,52 @@
 package com.misacordes.application.services.auth;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.misacordes.application.config.GlobalExceptionHandler.BusinessException;
+import com.misacordes.application.dto.request.ProposedChordRequest;
 import com.misacordes.application.dto.request.SongWithChordsRequest;
+import com.misacordes.application.dto.response.BulkApproveSongsResponse;
+import com.misacordes.application.dto.response.PlayableSongResponse;
+import com.misacordes.application.dto.response.SongSummaryResponse;
 import com.misacordes.application.dto.response.SongWithChordsResponse;
+import com.misacordes.application.entities.ChordCatalog;
+import com.misacordes.application.entities.ChordCategory;
+import com.misacordes.application.entities.ProposalStatus;
+import com.misacordes.application.entities.ProposedChord;
 import com.misacordes.application.entities.Role;
 import com.misacordes.application.entities.Song;
 import com.misacordes.application.entities.User;
+import com.misacordes.application.entities.SongAnalytics;
+import com.misacordes.application.repositories.ChordCatalogRepository;
+import com.misacordes.application.repositories.ProposedChordRepository;
+import com.misacordes.application.repositories.SongAnalyticsRepository;
 import com.misacordes.application.repositories.SongRepository;
+import com.misacordes.application.repositories.SongSummaryView;
 import com.misacordes.application.repositories.UserRepository;
 import com.misacordes.application.services.SongAnalyticsService;
 import com.misacordes.application.services.SongAnalyticsAsyncService;
+import com.misacordes.application.services.SongLyricsService;
+import com.misacordes.application.services.SongSearchService;
 import com.misacordes.application.services.SongService;
+import com.misacordes.application.utils.ChordSetIndex;
+import com.misacordes.application.utils.SongSearchIndex;
 import com.misacordes.application.utils.SongStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -53,7 +74,25 @@ class SongServiceTest {
     private SongAnalyticsAsyncService songAnalyticsAsyncService;
     
     @Mock
-    private ObjectMapper objectMapper;
+    private SongLyricsService songLyricsService;
+
+    @Mock
+    private SongAnalyticsRepository songAnalyticsRepository;
+
+    @Mock
+    private SongSearchService songSearchService;
+
+    @Mock
+    private UserCacheService userCacheService;
+
+    @Mock
+    private ProposedChordRepository proposedChordRepository;
+
+    @Mock
+    private ChordCatalogRepository chordCatalogRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
 
     @Mock
     private SecurityContext securityContext;
@@ -108,13 +147,21 @@ class SongServiceTest {
         SecurityContextHolder.setContext(securityContext);
     }
 
+    private SongSummaryView summaryOf(Song song) {
+        return new SongSummaryView(song.getId(), song.getTitle(), song.getArtist(), song.getAlbum(), song.getYear(),
+                song.getKey(), song.getTempo(), song.getCoverImageUrl(), song.getCoverColor(), song.getStatus(),
+                song.getIsPublic(), song.getRejectionReason(), song.getCreatedAt(), song.getPublishedAt(),
+                song.getCreatedBy().getId(), song.getCreatedBy().getUsername(), song.getCreatedBy().getFirstname());
+    }
+
     @Test
     void createSongWithChords_ShouldCreateSongSuccessfully() throws Exception {
         // Arrange
-        String jsonString = "{\"title\":\"Test Song\",\"lyrics\":[]}";
-        when(objectMapper.writeValueAsString(any())).thenReturn(jsonString);
-        when(songAnalyticsService.validateChordsMap(jsonString)).thenReturn(true);
+        SongAnalytics analytics = SongAnalytics.builder().songId(1L).build();
+        when(songAnalyticsService.validateLyrics(any())).thenReturn(true);
+        when(userCacheService.getUser(1L)).thenReturn(testUser);
         when(songRepository.save(any(Song.class))).thenReturn(testSong);
+        when(songAnalyticsService.computeAnalytics(eq(testSong), any())).thenReturn(analytics);
 
         // Act
         SongWithChordsResponse response = songService.createSongWithChords(testRequest);
@@ -126,15 +173,13 @@ class SongServiceTest {
         assertEquals(SongStatus.DRAFT, response.getStatus());
         
         verify(songRepository).save(any(Song.class));
-        verify(songAnalyticsAsyncService).processSongAnalyticsAsync(1L);
+        verify(songAnalyticsRepository).save(analytics);
     }
 
     @Test
     void createSongWithChords_ShouldThrowException_WhenInvalidChordsMap() throws Exception {
         // Arrange
-        String jsonString = "{\"title\":\"Test Song\",\"lyrics\":[]}";
-        when(objectMapper.writeValueAsString(any())).thenReturn(jsonString);
-        when(songAnalyticsService.validateChordsMap(jsonString)).thenReturn(false);
+        when(songAnalyticsService.validateLyrics(any())).thenReturn(false);
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> {
@@ -172,10 +217,8 @@ class SongServiceTest {
     @Test
     void updateSongWithChords_ShouldUpdateSongSuccessfully() throws Exception {
         // Arrange
-        String jsonString = "{\"title\":\"Updated Song\",\"lyrics\":[]}";
         when(songRepository.findByIdAndCreatedById(1L, 1L)).thenReturn(Optional.of(testSong));
-        when(objectMapper.writeValueAsString(any())).thenReturn(jsonString);
-        when(songAnalyticsService.validateChordsMap(jsonString)).thenReturn(true);
+        when(songAnalyticsService.validateLyrics(any())).thenReturn(true);
         when(songRepository.save(any(Song.class))).thenReturn(testSong);
 
         // Act
@@ -184,7 +227,8 @@ class SongServiceTest {
         // Assert
         assertNotNull(response);
         verify(songRepository).save(any(Song.class));
-        verify(songAnalyticsAsyncService).processSongAnalyticsAsync(1L);
+        verify(songAnalyticsRepository).save(any());
+        assertEquals(1, testSong.getContentVersion());
     }
 
     @Test
@@ -199,15 +243,14 @@ class SongServiceTest {
     }
 
     @Test
-    void getMySongsWithChordsPaginated_ShouldReturnUserSongsPaginated() {
+    void getMySongsPaginated_ShouldReturnUserSongsPaginated() {
         // Arrange
-        List<Song> songs = Arrays.asList(testSong);
-        Page<Song> songPage = new PageImpl<>(songs);
+        Page<SongSummaryView> songPage = new PageImpl<>(Arrays.asList(summaryOf(testSong)));
         Pageable pageable = PageRequest.of(0, 10);
-        when(songRepository.findByCreatedById(1L, pageable)).thenReturn(songPage);
+        when(songRepository.findSummariesByCreatedById(1L, pageable)).thenReturn(songPage);
 
         // Act
-        PageResponse<SongWithChordsResponse> response = songService.getMySongsWithChordsPaginated(pageable);
+        PageResponse<SongSummaryResponse> response = songService.getMySongsPaginated(pageable);
 
         // Assert
         assertNotNull(response);
@@ -215,51 +258,106 @@ class SongServiceTest {
         assertEquals("Test Song", response.getContent().get(0).getTitle());
         assertEquals(1, response.getTotalElements());
         assertEquals(1, response.getTotalPages());
-        verify(songRepository).findByCreatedById(1L, pageable);
+        assertEquals("testuser", response.getContent().get(0).getCreatedBy().getUsername());
+        verify(songRepository).findSummariesByCreatedById(1L, pageable);
+        verifyNoInteractions(songLyricsService);
     }
 
     @Test
-    void getPublicSongsWithChordsPaginated_ShouldReturnPublicSongsPaginated() {
+    void getPublicSongsPaginated_ShouldReturnPublicSongsPaginated() {
         // Arrange
         testSong.setStatus(SongStatus.APPROVED);
         testSong.setIsPublic(true);
-        List<Song> songs = Arrays.asList(testSong);
-        Page<Song> songPage = new PageImpl<>(songs);
+        Page<SongSummaryView> songPage = new PageImpl<>(Arrays.asList(summaryOf(testSong)));
         Pageable pageable = PageRequest.of(0, 10);
-        when(songRepository.findByIsPublicTrueAndStatus(SongStatus.APPROVED, pageable)).thenReturn(songPage);
+        when(songRepository.findPublicSummaries(SongStatus.APPROVED, pageable)).thenReturn(songPage);
 
         // Act
-        PageResponse<SongWithChordsResponse> response = songService.getPublicSongsWithChordsPaginated(pageable);
+        PageResponse<SongSummaryResponse> response = songService.getPublicSongsPaginated(pageable);
 
         // Assert
         assertNotNull(response);
         assertEquals(1, response.getContent().size());
         assertEquals("Test Song", response.getContent().get(0).getTitle());
         assertEquals(1, response.getTotalElements());
-        verify(songRepository).findByIsPublicTrueAndStatus(SongStatus.APPROVED, pageable);
+        verify(songRepository).findPublicSummaries(SongStatus.APPROVED, pageable);
     }
 
     @Test
-    void searchPublicSongsWithChordsPaginated_ShouldReturnMatchingSongsPaginated() {
+    void searchPublicSongsPaginated_ShouldUseIndexRanking() {
         // Arrange
         testSong.setStatus(SongStatus.APPROVED);
         testSong.setIsPublic(true);
-        List<Song> songs = Arrays.asList(testSong);
-        Page<Song> songPage = new PageImpl<>(songs);
+        Song second = Song.builder().id(2L).title("Second Song").createdBy(testUser)
+                .status(SongStatus.APPROVED).isPublic(true).build();
         Pageable pageable = PageRequest.of(0, 10);
-        when(songRepository.findByIsPublicTrueAndStatusAndTitleContainingIgnoreCaseOrArtistContainingIgnoreCase(
-                eq(SongStatus.APPROVED), eq("test"), eq("test"), eq(pageable))).thenReturn(songPage);
+        when(songSearchService.search("test", 0, 10)).thenReturn(Optional.of(new SongSearchIndex.Result(
+                List.of(new SongSearchIndex.Hit(2L, 3.5f), new SongSearchIndex.Hit(1L, 1.2f)), 2)));
+        when(songRepository.findPublicSummariesByIdIn(List.of(2L, 1L), SongStatus.APPROVED))
+                .thenReturn(List.of(summaryOf(testSong), summaryOf(second)));
 
         // Act
-        PageResponse<SongWithChordsResponse> response = songService.searchPublicSongsWithChordsPaginated("test", pageable);
+        PageResponse<SongSummaryResponse> response = songService.searchPublicSongsPaginated("test", pageable);
+
+        // Assert
+        assertEquals(2, response.getTotalElements());
+        assertEquals("Second Song", response.getContent().get(0).getTitle());
+        assertEquals("Test Song", response.getContent().get(1).getTitle());
+        verify(songRepository, never()).searchPublicSummaries(any(), any(), any());
+    }
+
+    @Test
+    void searchPublicSongsPaginated_ShouldFallBackToDatabase_WhenIndexNotReady() {
+        // Arrange
+        testSong.setStatus(SongStatus.APPROVED);
+        testSong.setIsPublic(true);
+        Page<SongSummaryView> songPage = new PageImpl<>(Arrays.asList(summaryOf(testSong)));
+        Pageable pageable = PageRequest.of(0, 10);
+        when(songSearchService.search("test", 0, 10)).thenReturn(Optional.empty());
+        when(songRepository.searchPublicSummaries(SongStatus.APPROVED, "test", pageable)).thenReturn(songPage);
+
+        // Act
+        PageResponse<SongSummaryResponse> response = songService.searchPublicSongsPaginated("test", pageable);
 
         // Assert
         assertNotNull(response);
         assertEquals(1, response.getContent().size());
         assertEquals("Test Song", response.getContent().get(0).getTitle());
         assertEquals(1, response.getTotalElements());
-        verify(songRepository).findByIsPublicTrueAndStatusAndTitleContainingIgnoreCaseOrArtistContainingIgnoreCase(
-                SongStatus.APPROVED, "test", "test", pageable);
+        verify(songRepository).searchPublicSummaries(SongStatus.APPROVED, "test", pageable);
+    }
+
+    @Test
+    void getPlayableSongs_ShouldKeepIndexOrderAndCapMaxMissing() {
+        // Arrange
+        testSong.setStatus(SongStatus.APPROVED);
+        testSong.setIsPublic(true);
+        Song second = Song.builder().id(2L).title("Second Song").createdBy(testUser)
+                .status(SongStatus.APPROVED).isPublic(true).build();
+        Pageable pageable = PageRequest.of(0, 10);
+        List<String> chords = List.of("G", "C", "D");
+        when(songSearchService.findPlayable(chords, 2, 0, 10)).thenReturn(Optional.of(new ChordSetIndex.Result(
+                List.of(new ChordSetIndex.Match(2L, List.of()), new ChordSetIndex.Match(1L, List.of("Em"))), 2)));
+        when(songRepository.findPublicSummariesByIdIn(List.of(2L, 1L), SongStatus.APPROVED))
+                .thenReturn(List.of(summaryOf(testSong), summaryOf(second)));
+
+        // Act
+        PageResponse<PlayableSongResponse> response = songService.getPlayableSongs(chords, 5, pageable);
+
+        // Assert
+        assertEquals(2, response.getTotalElements());
+        assertEquals("Second Song", response.getContent().get(0).getSong().getTitle());
+        assertEquals(List.of("Em"), response.getContent().get(1).getMissingChords());
+    }
+
+    @Test
+    void getPlayableSongs_ShouldThrowException_WhenIndexNotReady() {
+        // Arrange
+        when(songSearchService.findPlayable(anyCollection(), anyInt(), anyInt(), anyInt())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(BusinessException.class,
+                () -> songService.getPlayableSongs(List.of("G"), 0, PageRequest.of(0, 10)));
     }
 
     @Test
@@ -311,6 +409,8 @@ class SongServiceTest {
                 .title("Test Song")
                 .totalChords(5)
                 .build();
+        when(songAnalyticsRepository.findById(1L)).thenReturn(Optional.empty());
+        when(songAnalyticsAsyncService.tryReserve(1L)).thenReturn(true);
         when(songAnalyticsService.analyzeSongChords(testSong)).thenReturn(mockAnalytics);
 
         // Act
@@ -320,53 +420,210 @@ class SongServiceTest {
         assertNotNull(response);
         assertEquals(1L, response.getSongId());
         verify(songAnalyticsService).analyzeSongChords(testSong);
+        verify(songAnalyticsAsyncService).processSongAnalyticsAsync(1L);
+    }
+
+    @Test
+    void getSongAnalytics_ShouldServeStoredAnalytics_WhenVersionMatches() {
+        // Arrange
+        testSong.setContentVersion(3);
+        SongAnalytics stored = SongAnalytics.builder()
+                .songId(1L)
+                .contentVersion(3)
+                .totalChords(5)
+                .build();
+        var storedResponse = com.misacordes.application.dto.response.SongAnalyticsResponse.builder()
+                .songId(1L)
+                .totalChords(5)
+                .build();
+        when(songRepository.findById(1L)).thenReturn(Optional.of(testSong));
+        when(songAnalyticsRepository.findById(1L)).thenReturn(Optional.of(stored));
+        when(songAnalyticsService.toResponse(testSong, stored)).thenReturn(storedResponse);
+
+        // Act
+        var response = songService.getSongAnalytics(1L);
+
+        // Assert
+        assertEquals(5, response.getTotalChords());
+        verify(songAnalyticsService, never()).analyzeSongChords(any());
+        verify(songAnalyticsAsyncService, never()).processSongAnalyticsAsync(anyLong());
+    }
+
+    @Test
+    void getSongAnalytics_ShouldRecompute_WhenStoredVersionIsStale() {
+        // Arrange
+        testSong.setContentVersion(4);
+        SongAnalytics stale = SongAnalytics.builder().songId(1L).contentVersion(3).build();
+        var inlineResponse = com.misacordes.application.dto.response.SongAnalyticsResponse.builder()
+                .songId(1L)
+                .build();
+        when(songRepository.findById(1L)).thenReturn(Optional.of(testSong));
+        when(songAnalyticsRepository.findById(1L)).thenReturn(Optional.of(stale));
+        when(songAnalyticsAsyncService.tryReserve(1L)).thenReturn(false);
+        when(songAnalyticsService.analyzeSongChords(testSong)).thenReturn(inlineResponse);
+
+        // Act
+        songService.getSongAnalytics(1L);
+
+        // Assert
+        verify(songAnalyticsService).analyzeSongChords(testSong);
+        verify(songAnalyticsAsyncService, never()).processSongAnalyticsAsync(anyLong());
     }
 
     @Test
     void getPendingSongsPaginated_ShouldReturnPendingSongsPaginated() {
         // Arrange
         testSong.setStatus(SongStatus.PENDING);
-        List<Song> songs = Arrays.asList(testSong);
-        Page<Song> songPage = new PageImpl<>(songs);
+        Page<SongSummaryView> songPage = new PageImpl<>(Arrays.asList(summaryOf(testSong)));
         Pageable pageable = PageRequest.of(0, 10);
-        when(songRepository.findByStatus(SongStatus.PENDING, pageable)).thenReturn(songPage);
+        when(songRepository.findSummariesByStatus(SongStatus.PENDING, pageable)).thenReturn(songPage);
         
         // Mock admin user
         testUser.setRole(Role.ADMIN);
         when(authentication.getPrincipal()).thenReturn(testUser);
 
         // Act
-        PageResponse<SongWithChordsResponse> response = songService.getPendingSongsPaginated(pageable);
+        PageResponse<SongSummaryResponse> response = songService.getPendingSongsPaginated(pageable);
 
         // Assert
         assertNotNull(response);
         assertEquals(1, response.getContent().size());
         assertEquals("Test Song", response.getContent().get(0).getTitle());
         assertEquals(1, response.getTotalElements());
-        verify(songRepository).findByStatus(SongStatus.PENDING, pageable);
+        verify(songRepository).findSummariesByStatus(SongStatus.PENDING, pageable);
     }
 
     @Test
     void getAllSongsAdminPaginated_ShouldReturnAllSongsPaginated() {
         // Arrange
-        List<Song> songs = Arrays.asList(testSong);
-        Page<Song> songPage = new PageImpl<>(songs);
+        Page<SongSummaryView> songPage = new PageImpl<>(Arrays.asList(summaryOf(testSong)));
         Pageable pageable = PageRequest.of(0, 10);
-        when(songRepository.findAll(pageable)).thenReturn(songPage);
+        when(songRepository.findAllSummaries(pageable)).thenReturn(songPage);
         
         // Mock admin user
         testUser.setRole(Role.ADMIN);
         when(authentication.getPrincipal()).thenReturn(testUser);
 
         // Act
-        PageResponse<SongWithChordsResponse> response = songService.getAllSongsAdminPaginated(pageable);
+        PageResponse<SongSummaryResponse> response = songService.getAllSongsAdminPaginated(pageable);
 
         // Assert
         assertNotNull(response);
         assertEquals(1, response.getContent().size());
         assertEquals("Test Song", response.getContent().get(0).getTitle());
         assertEquals(1, response.getTotalElements());
-        verify(songRepository).findAll(pageable);
+        verify(songRepository).findAllSummaries(pageable);
+    }
+
+    private ProposedChord proposal(String name) {
+        return ProposedChord.builder().name(name).category(ChordCategory.MAJOR).build();
+    }
+
+    @Test
+    void approveSong_ShouldLinkExistingChordsWithoutPerProposalLookups() {
+        // Arrange
+        testUser.setRole(Role.ADMIN);
+        testSong.setStatus(SongStatus.PENDING);
+        when(songRepository.findById(1L)).thenReturn(Optional.of(testSong));
+        when(songRepository.save(any(Song.class))).thenReturn(testSong);
+        when(proposedChordRepository.findBySongIdInAndStatus(List.of(1L), ProposalStatus.PENDING))
+                .thenReturn(List.of(proposal("G")));
+        when(chordCatalogRepository.findByNameIn(Set.of("G")))
+                .thenReturn(List.of(ChordCatalog.builder().id(3L).name("G").build()));
+
+        // Act
+        SongWithChordsResponse response = songService.approveSong(1L);
+
+        // Assert
+        assertEquals(SongStatus.APPROVED, response.getStatus());
+        verify(proposedChordRepository).reviewBySongIds(eq(List.of(1L)), eq(ProposalStatus.PENDING),
+                eq(ProposalStatus.APPROVED), eq(testUser), any(LocalDateTime.class));
+        verify(chordCatalogRepository, never()).findByName(anyString());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void approveSongs_ShouldApprovePendingSongsAndInsertNewChordsInOneBatch() {
+        // Arrange
+        testUser.setRole(Role.ADMIN);
+        testSong.setStatus(SongStatus.PENDING);
+        Song draft = Song.builder().id(2L).createdBy(testUser).status(SongStatus.DRAFT).isPublic(false).build();
+        when(songRepository.findAllById(Set.of(1L, 2L, 3L))).thenReturn(List.of(testSong, draft));
+        when(proposedChordRepository.findBySongIdInAndStatus(Set.of(1L), ProposalStatus.PENDING))
+                .thenReturn(List.of(proposal("Cadd9"), proposal("Am"), proposal("cadd9")));
+        when(chordCatalogRepository.findByNameIn(any()))
+                .thenReturn(List.of(ChordCatalog.builder().id(4L).name("Am").build()));
+
+        // Act
+        BulkApproveSongsResponse response = songService.approveSongs(List.of(1L, 2L, 3L));
+
+        // Assert
+        assertEquals(List.of(1L), response.getApprovedSongIds());
+        assertEquals(List.of(2L, 3L), response.getSkippedSongIds());
+        assertEquals(1, response.getChordsAddedToCatalog());
+        assertEquals(SongStatus.APPROVED, testSong.getStatus());
+        assertTrue(testSong.getIsPublic());
+        assertEquals(SongStatus.DRAFT, draft.getStatus());
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertEquals(1, rows.getValue().size());
+        assertEquals("Cadd9", rows.getValue().get(0)[0]);
+        verify(proposedChordRepository).reviewBySongIds(eq(Set.of(1L)), eq(ProposalStatus.PENDING),
+                eq(ProposalStatus.APPROVED), eq(testUser), any(LocalDateTime.class));
+        verify(songSearchService).indexSong(testSong);
+        verify(songRepository, never()).save(any(Song.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void approveSongs_ShouldSkipProposalsThatDoNotFitTheCatalog() {
+        // Arrange
+        testUser.setRole(Role.ADMIN);
+        testSong.setStatus(SongStatus.PENDING);
+        when(songRepository.findAllById(Set.of(1L))).thenReturn(List.of(testSong));
+        when(proposedChordRepository.findBySongIdInAndStatus(Set.of(1L), ProposalStatus.PENDING))
+                .thenReturn(List.of(proposal("Cmaj7add9sus"), proposal("Dm9")));
+        when(chordCatalogRepository.findByNameIn(Set.of("Dm9"))).thenReturn(List.of());
+
+        // Act
+        BulkApproveSongsResponse response = songService.approveSongs(List.of(1L));
+
+        // Assert
+        assertEquals(List.of(1L), response.getApprovedSongIds());
+        assertEquals(1, response.getChordsAddedToCatalog());
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertEquals(1, rows.getValue().size());
+        assertEquals("Dm9", rows.getValue().get(0)[0]);
+    }
+
+    @Test
+    void createSongWithChords_ShouldRejectProposalLongerThanCatalogName() {
+        // Arrange
+        when(songAnalyticsService.validateLyrics(any())).thenReturn(true);
+        when(userCacheService.getUser(1L)).thenReturn(testUser);
+        when(songRepository.save(any(Song.class))).thenReturn(testSong);
+        testRequest.setProposedChords(List.of(
+                new ProposedChordRequest("Cmaj7add9sus", "Do mayor séptima", "MAJOR", null, null)));
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> songService.createSongWithChords(testRequest));
+        verify(proposedChordRepository, never()).save(any(ProposedChord.class));
+    }
+
+    @Test
+    void approveSongs_ShouldThrowException_WhenTooManySongs() {
+        // Arrange
+        testUser.setRole(Role.ADMIN);
+        List<Long> songIds = new ArrayList<>();
+        for (long id = 1; id <= SongService.MAX_BULK_APPROVALS + 1; id++) {
+            songIds.add(id);
+        }
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> songService.approveSongs(songIds));
+        verify(songRepository, never()).findAllById(any());
     }
 
     @Test
@@ -383,7 +640,7 @@ class SongServiceTest {
             songService.getPendingSongsPaginated(pageable);
         });
         
-        verify(songRepository, never()).findByStatus(any(), any());
+        verify(songRepository, never()).findSummariesByStatus(any(), any());
     }
 
     @Test
@@ -400,6 +657,6 @@ class SongServiceTest {
             songService.getAllSongsAdminPaginated(pageable);
         });
         
-        verify(songRepository, never()).findAll(any(Pageable.class));
+        verify(songRepository, never()).findAllSummaries(any(Pageable.class));
     }
 }
\ No newline at end of file
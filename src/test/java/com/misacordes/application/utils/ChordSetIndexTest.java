@@ -0,0 +1,82 @@
+package com.misacordes.application.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChordSetIndexTest {
+
+    private ChordSetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ChordSetIndex(Map.of("G", 1, "C", 2, "D", 3, "Em", 4, "Am", 70));
+        index.put(1L, List.of("G", "C", "D"));
+        index.put(2L, List.of("G", "Em", "C", "D"));
+        index.put(3L, List.of("G", "C", "Am"));
+        index.put(4L, List.of("G", "Cadd9", "Dsus4"));
+    }
+
+    private List<Long> ids(ChordSetIndex.Result result) {
+        return result.matches().stream().map(ChordSetIndex.Match::songId).toList();
+    }
+
+    @Test
+    void testFindPlayable_SubsetOfKnownChords() {
+        // Act
+        ChordSetIndex.Result result = index.findPlayable(List.of("G", "C", "D", "Em"), 0, 0, 10);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), ids(result));
+        assertEquals(2, result.totalMatches());
+        assertTrue(result.matches().get(0).missingChords().isEmpty());
+    }
+
+    @Test
+    void testFindPlayable_AllowsMissingChordsOutsideCatalogWord() {
+        // Act
+        ChordSetIndex.Result result = index.findPlayable(List.of("G", "C", "D", "Em"), 1, 0, 10);
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), ids(result));
+        assertEquals(List.of("Am"), result.matches().get(2).missingChords());
+    }
+
+    @Test
+    void testFindPlayable_ChordsNotInCatalog() {
+        // Act
+        ChordSetIndex.Result result = index.findPlayable(List.of("G"), 2, 0, 10);
+
+        // Assert
+        assertEquals(List.of(1L, 3L, 4L), ids(result));
+        assertEquals(List.of("Cadd9", "Dsus4"), result.matches().get(2).missingChords());
+    }
+
+    @Test
+    void testFindPlayable_Paginates() {
+        // Act
+        ChordSetIndex.Result result = index.findPlayable(List.of("G", "C", "D", "Em"), 1, 1, 1);
+
+        // Assert
+        assertEquals(List.of(2L), ids(result));
+        assertEquals(3, result.totalMatches());
+    }
+
+    @Test
+    void testPutAndRemove_ReplaceSongChords() {
+        // Arrange
+        index.put(1L, List.of("G", "Am"));
+        index.remove(2L);
+
+        // Act
+        ChordSetIndex.Result result = index.findPlayable(List.of("G", "C", "D", "Em"), 0, 0, 10);
+
+        // Assert
+        assertTrue(result.matches().isEmpty());
+        assertEquals(3, index.size());
+    }
+}
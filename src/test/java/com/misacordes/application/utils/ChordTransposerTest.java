@@ -0,0 +1,73 @@
+package com.misacordes.application.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChordTransposerTest {
+
+    @Test
+    void testTranspose_RootAndQuality() {
+        // Act & Assert
+        assertEquals("D", ChordTransposer.transpose("C", 2));
+        assertEquals("Cm7", ChordTransposer.transpose("Bbm7", 2));
+        assertEquals("C", ChordTransposer.transpose("G", -7));
+        assertEquals("C", ChordTransposer.transpose("Cb", 1));
+    }
+
+    @Test
+    void testTranspose_SlashChordMovesBass() {
+        // Act & Assert
+        assertEquals("E/G#", ChordTransposer.transpose("D/F#", 2));
+        assertEquals("E/Ab", ChordTransposer.transpose("D/F#", 2, true));
+        assertEquals("D6/9", ChordTransposer.transpose("C6/9", 2));
+    }
+
+    @Test
+    void testTranspose_SpellingByFlag() {
+        // Act & Assert
+        assertEquals("A#m", ChordTransposer.transpose("Am", 1));
+        assertEquals("Bbm", ChordTransposer.transpose("Am", 1, true));
+        assertEquals("Gbmaj7", ChordTransposer.transpose("Fmaj7", 1, true));
+    }
+
+    @Test
+    void testTranspose_LeavesUnknownNamesUnchanged() {
+        // Act & Assert
+        assertNull(ChordTransposer.transpose(null, 3));
+        assertEquals("N.C.", ChordTransposer.transpose("N.C.", 3));
+        assertEquals("Am", ChordTransposer.transpose("Am", 12));
+    }
+
+    @Test
+    void testTranspose_ReturnsSameInstanceForRepeatedChord() {
+        // Act
+        String first = ChordTransposer.transpose("Dsus4/A", 5);
+        String second = ChordTransposer.transpose("Dsus4/A", 17);
+
+        // Assert
+        assertEquals("Gsus4/D", first);
+        assertSame(first, second);
+    }
+
+    @Test
+    void testTransposeKey_UsesFlatsForFlatKeys() {
+        // Act & Assert
+        assertEquals("Bb", ChordTransposer.transposeKey("G", 3));
+        assertEquals("Bbm", ChordTransposer.transposeKey("Am", 1));
+        assertEquals("Eb", ChordTransposer.transposeKey("E", -1));
+        assertEquals("A", ChordTransposer.transposeKey("F", 4));
+    }
+
+    @Test
+    void testPrefersFlats() {
+        // Act & Assert
+        assertTrue(ChordTransposer.prefersFlats("F"));
+        assertTrue(ChordTransposer.prefersFlats("Dm"));
+        assertTrue(ChordTransposer.prefersFlats("Gb"));
+        assertFalse(ChordTransposer.prefersFlats("F#"));
+        assertFalse(ChordTransposer.prefersFlats("Am"));
+        assertFalse(ChordTransposer.prefersFlats("Cmaj7"));
+        assertFalse(ChordTransposer.prefersFlats("Do mayor"));
+    }
+}
@@ -0,0 +1,23 @@
+package com.misacordes.application.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ClientIpTest {
+
+    @Test
+    void resolve_ShouldIgnoreClientSuppliedForwardedFor() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("203.0.113.7");
+        request.addHeader("X-Forwarded-For", "1.2.3.4, 203.0.113.7");
+
+        // Act
+        String ip = ClientIp.resolve(request);
+
+        // Assert
+        assertEquals("203.0.113.7", ip);
+    }
+}
@@ -0,0 +1,46 @@
+package com.misacordes.application.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IpAddressesTest {
+
+    @Test
+    void testParseIpv4() {
+        // Act & Assert
+        assertEquals(0xC0A80101L, IpAddresses.parseIpv4("192.168.1.1"));
+        assertEquals(0xFFFFFFFFL, IpAddresses.parseIpv4("255.255.255.255"));
+        assertEquals(-1, IpAddresses.parseIpv4("256.1.1.1"));
+        assertEquals(-1, IpAddresses.parseIpv4("1.2.3"));
+        assertEquals(-1, IpAddresses.parseIpv4("1..2.3"));
+        assertEquals(-1, IpAddresses.parseIpv4("example.com"));
+        assertEquals(-1, IpAddresses.parseIpv4(null));
+    }
+
+    @Test
+    void testParseIpv6Prefix() {
+        // Act & Assert
+        assertEquals(0x20010DB800000000L, IpAddresses.parseIpv6Prefix("2001:db8::1"));
+        assertEquals(0x20010DB885A30000L, IpAddresses.parseIpv6Prefix("2001:0db8:85a3:0000:0000:8a2e:0370:7334"));
+        assertEquals(0xFE80000000000000L, IpAddresses.parseIpv6Prefix("[fe80::1%eth0]"));
+        assertEquals(0L, IpAddresses.parseIpv6Prefix("::1"));
+    }
+
+    @Test
+    void testParseIpv6Prefix_Invalid() {
+        // Act & Assert
+        assertNull(IpAddresses.parseIpv6Prefix("1::2::3"));
+        assertNull(IpAddresses.parseIpv6Prefix("1:2:3:4:5:6:7:8:9"));
+        assertNull(IpAddresses.parseIpv6Prefix("12345::"));
+        assertNull(IpAddresses.parseIpv6Prefix("1.2.3.4"));
+        assertNull(IpAddresses.parseIpv6Prefix("unknown"));
+    }
+
+    @Test
+    void testParseIpv4Mapped() {
+        // Act & Assert
+        assertEquals(0x01020304L, IpAddresses.parseIpv4Mapped("::ffff:1.2.3.4"));
+        assertEquals(-1, IpAddresses.parseIpv4Mapped("2001:db8::1"));
+    }
+}
@@ -0,0 +1,42 @@
+package com.misacordes.application.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void testRoundTrip_KeepsFullPrecision() {
+        // Arrange
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2024, 3, 9, 18, 5, 0, 123456000), 987654321L);
+
+        // Act
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+        // Assert
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void testEncode_IsUrlSafe() {
+        // Act
+        String encoded = new KeysetCursor(LocalDateTime.of(2024, 1, 1, 0, 0), 1L).encode();
+
+        // Assert
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+    }
+
+    @Test
+    void testDecode_RejectsMalformedCursor() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("no es base64"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(
+                Base64.getUrlEncoder().encodeToString("2024-01-01T00:00|abc".getBytes())));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(
+                Base64.getUrlEncoder().encodeToString("ayer|12".getBytes())));
+    }
+}
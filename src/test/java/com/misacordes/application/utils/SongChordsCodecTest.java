@@ -0,0 +1,128 @@
+package com.misacordes.application.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.misacordes.application.dto.request.ChordPositionInfo;
+import com.misacordes.application.dto.request.LineWithChords;
+import com.misacordes.application.dto.request.SongWithChordsRequest;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SongChordsCodecTest {
+
+    private List<LineWithChords> sampleLyrics() {
+        return Arrays.asList(
+                new LineWithChords(0, "Amazing grace how sweet the sound", Arrays.asList(
+                        new ChordPositionInfo(0, "G", 8L),
+                        new ChordPositionInfo(14, "C", 1L),
+                        new ChordPositionInfo(25, "G", 8L))),
+                new LineWithChords(1, "", new ArrayList<>()),
+                new LineWithChords(2, "Canción de cuna, ñandú", Arrays.asList(
+                        new ChordPositionInfo(3, "D/F#", null),
+                        new ChordPositionInfo(null, "Em", 17L)))
+        );
+    }
+
+    @Test
+    void testEncodeDecode_RoundTrip() {
+        // Arrange
+        List<LineWithChords> lyrics = sampleLyrics();
+
+        // Act
+        byte[] encoded = SongChordsCodec.encode(lyrics);
+        List<LineWithChords> decoded = SongChordsCodec.decode(encoded);
+
+        // Assert
+        assertTrue(SongChordsCodec.isEncoded(encoded));
+        assertEquals(lyrics, decoded);
+    }
+
+    @Test
+    void testEncodeDecode_PreservesNulls() {
+        // Arrange
+        List<LineWithChords> lyrics = Arrays.asList(
+                new LineWithChords(null, null, null),
+                new LineWithChords(1, "Solo texto", Arrays.asList(new ChordPositionInfo(2, null, null)))
+        );
+
+        // Act
+        List<LineWithChords> decoded = SongChordsCodec.decode(SongChordsCodec.encode(lyrics));
+
+        // Assert
+        assertEquals(lyrics, decoded);
+        assertNull(decoded.get(0).getChords());
+    }
+
+    @Test
+    void testEncode_EmptyLyrics() {
+        // Act
+        byte[] encoded = SongChordsCodec.encode(List.of());
+
+        // Assert
+        assertEquals(0, SongChordsCodec.lineCount(encoded));
+        assertTrue(SongChordsCodec.decode(encoded).isEmpty());
+    }
+
+    @Test
+    void testDecodeLine_ReturnsOnlyRequestedLine() {
+        // Arrange
+        List<LineWithChords> lyrics = sampleLyrics();
+        byte[] encoded = SongChordsCodec.encode(lyrics);
+
+        // Act & Assert
+        assertEquals(3, SongChordsCodec.lineCount(encoded));
+        assertEquals(lyrics.get(2), SongChordsCodec.decodeLine(encoded, 2));
+        assertEquals(lyrics.get(0), SongChordsCodec.decodeLine(encoded, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> SongChordsCodec.decodeLine(encoded, 3));
+    }
+
+    @Test
+    void testEncode_IsSmallerThanLegacyJson() throws Exception {
+        // Arrange
+        SongWithChordsRequest request = new SongWithChordsRequest();
+        request.setTitle("Amazing Grace");
+        request.setArtist("John Newton");
+        request.setLyrics(sampleLyrics());
+        String legacyJson = new ObjectMapper().writeValueAsString(request);
+
+        // Act
+        byte[] encoded = SongChordsCodec.encode(request.getLyrics());
+
+        // Assert
+        assertTrue(encoded.length * 2 < legacyJson.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void testDecode_RejectsInvalidData() {
+        // Arrange
+        byte[] json = "{\"lyrics\":[]}".getBytes(StandardCharsets.UTF_8);
+        byte[] truncated = Arrays.copyOf(SongChordsCodec.encode(sampleLyrics()), 12);
+        byte[] futureVersion = SongChordsCodec.encode(sampleLyrics());
+        futureVersion[1] = 99;
+
+        // Act & Assert
+        assertFalse(SongChordsCodec.isEncoded(json));
+        assertThrows(IllegalArgumentException.class, () -> SongChordsCodec.decode(json));
+        assertThrows(IllegalArgumentException.class, () -> SongChordsCodec.decode(truncated));
+        assertThrows(IllegalArgumentException.class, () -> SongChordsCodec.decode(futureVersion));
+        assertThrows(IllegalArgumentException.class, () -> SongChordsCodec.decode(null));
+    }
+
+    @Test
+    void testDecode_RejectsCountsLargerThanData() {
+        // Arrange
+        byte[] hugeLineCount = {SongChordsCodec.MAGIC, SongChordsCodec.VERSION_1,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        byte[] hugeChordCount = {SongChordsCodec.MAGIC, SongChordsCodec.VERSION_1, 1, 0, 7,
+                0, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> SongChordsCodec.decode(hugeLineCount));
+        assertThrows(IllegalArgumentException.class, () -> SongChordsCodec.decode(hugeChordCount));
+    }
+}
@@ -0,0 +1,126 @@
+package com.misacordes.application.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SongSearchIndexTest {
+
+    private SongSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SongSearchIndex();
+        index.add(new SongSearchIndex.Document(1L, "Canción de cuna", "Juan Pérez", "Nanas",
+                "Duérmete niña\nduérmete ya", List.of("Am", "F#m", "D/F#")));
+        index.add(new SongSearchIndex.Document(2L, "Otra noche", "Cuna Band", "Directo",
+                "una canción cualquiera", List.of("C", "G")));
+        index.add(new SongSearchIndex.Document(3L, "Nada", "Sin Nombre", "Demo",
+                "nada que ver", List.of("G")));
+    }
+
+    private List<Long> ids(SongSearchIndex.Result result) {
+        return result.hits().stream().map(SongSearchIndex.Hit::songId).toList();
+    }
+
+    @Test
+    void testSearch_FoldsAccentsAndCase() {
+        // Act & Assert
+        assertEquals(List.of(1L), ids(index.search("NIÑA", 0, 10)));
+        assertEquals(List.of(1L), ids(index.search("nina", 0, 10)));
+        assertEquals(List.of(1L), ids(index.search("perez", 0, 10)));
+    }
+
+    @Test
+    void testSearch_RanksTitleAboveLyrics() {
+        // Act
+        SongSearchIndex.Result result = index.search("cancion", 0, 10);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), ids(result));
+        assertTrue(result.hits().get(0).score() > result.hits().get(1).score());
+    }
+
+    @Test
+    void testSearch_MatchesLastTermAsPrefix() {
+        // Act & Assert
+        assertEquals(List.of(1L, 2L), ids(index.search("canc", 0, 10)));
+        assertEquals(List.of(1L), ids(index.search("cancion duer", 0, 10)));
+    }
+
+    @Test
+    void testSearch_ExpandsEveryTermOfThePrefix() {
+        // Arrange
+        for (int i = 0; i < 100; i++) {
+            index.add(new SongSearchIndex.Document(100L + i, String.format("zeta%03d", i), null, null, null, null));
+        }
+
+        // Act
+        SongSearchIndex.Result result = index.search("zeta", 0, 200);
+
+        // Assert
+        assertEquals(100, result.totalHits());
+        assertTrue(ids(result).contains(199L));
+    }
+
+    @Test
+    void testSearch_RequiresAllTerms() {
+        // Act & Assert
+        assertEquals(List.of(2L), ids(index.search("cuna noche", 0, 10)));
+        assertEquals(0, index.search("cuna inexistente", 0, 10).totalHits());
+    }
+
+    @Test
+    void testSearch_MatchesChordNames() {
+        // Act & Assert
+        assertEquals(List.of(1L), ids(index.search("F#m", 0, 10)));
+        assertEquals(List.of(2L, 3L), ids(index.search("g", 0, 10)).stream().sorted().toList());
+    }
+
+    @Test
+    void testSearch_Paginates() {
+        // Act
+        SongSearchIndex.Result firstPage = index.search("cancion", 0, 1);
+        SongSearchIndex.Result secondPage = index.search("cancion", 1, 1);
+
+        // Assert
+        assertEquals(2, firstPage.totalHits());
+        assertEquals(List.of(1L), ids(firstPage));
+        assertEquals(List.of(2L), ids(secondPage));
+    }
+
+    @Test
+    void testAddAndRemove_KeepIndexUpToDate() {
+        // Act
+        index.remove(1L);
+        index.add(new SongSearchIndex.Document(3L, "Nada nuevo", "Sin Nombre", "Demo", "", List.of()));
+
+        // Assert
+        assertEquals(List.of(2L), ids(index.search("cancion", 0, 10)));
+        assertEquals(List.of(3L), ids(index.search("nuevo", 0, 10)));
+        assertEquals(0, index.search("ver", 0, 10).totalHits());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testRemove_CompactsAfterManyDeletions() {
+        // Arrange
+        for (long id = 100; id < 3100; id++) {
+            index.add(new SongSearchIndex.Document(id, "Tema " + id, "Banda", "", "hola mundo", List.of()));
+        }
+
+        // Act
+        for (long id = 100; id < 3000; id++) {
+            index.remove(id);
+        }
+
+        // Assert
+        assertEquals(103, index.size());
+        assertEquals(100, index.search("hola", 0, 10).totalHits());
+        assertEquals(List.of(3050L), ids(index.search("3050", 0, 10)));
+        assertEquals(0, index.search("2000", 0, 10).totalHits());
+    }
+}
@@ -0,0 +1,122 @@
+package com.misacordes.application.utils.audio;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Precisión de los detectores sobre cuerdas de guitarra sintetizadas: fundamental más armónicos que decaen,
+ * con ruido. Las latencias se comparan en benchmark/PitchDetectorBenchmark.
+ */
+class PitchDetectorTest {
+
+    private static final int SAMPLE_RATE = 44100;
+    private static final int FRAME = 2048;
+
+    // Cuerdas al aire en afinación estándar y un par de notas agudas
+    private static final double[] STRINGS = {82.41, 110.00, 146.83, 196.00, 246.94, 329.63, 440.00, 659.26};
+
+    static float[] guitarString(double frequency, int length, long seed) {
+        Random random = new Random(seed);
+        float[] samples = new float[length];
+        double[] harmonics = {1.0, 0.6, 0.45, 0.3, 0.2, 0.12};
+        for (int i = 0; i < length; i++) {
+            double t = (double) i / SAMPLE_RATE;
+            double value = 0;
+            for (int h = 0; h < harmonics.length; h++) {
+                double partial = frequency * (h + 1);
+                if (partial < SAMPLE_RATE / 2.0) {
+                    value += harmonics[h] * Math.exp(-t * (1 + h)) * Math.sin(2 * Math.PI * partial * t + h);
+                }
+            }
+            samples[i] = (float) (0.25 * value + 0.01 * random.nextGaussian());
+        }
+        return samples;
+    }
+
+    static double centsBetween(double detected, double expected) {
+        return 1200 * Math.log(detected / expected) / Math.log(2);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = PitchAlgorithm.class, names = {"MPM", "YIN"})
+    void testFftDetectors_WithinTwoCentsOnGuitarStrings(PitchAlgorithm algorithm) {
+        // Arrange
+        PitchDetector detector = algorithm.create();
+
+        for (double expected : STRINGS) {
+            float[] samples = guitarString(expected, FRAME, 42);
+
+            // Act
+            double detected = detector.detect(samples, samples.length, SAMPLE_RATE);
+
+            // Assert
+            assertTrue(detected > 0, algorithm + " no detecta " + expected + " Hz");
+            assertEquals(0, centsBetween(detected, expected), 2.0, algorithm + " en " + expected + " Hz");
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = PitchAlgorithm.class, names = {"MPM", "YIN"})
+    void testFftDetectors_AtLeastAsAccurateAsAutocorrelation(PitchAlgorithm algorithm) {
+        // Arrange
+        PitchDetector reference = PitchAlgorithm.ACF.create();
+        PitchDetector detector = algorithm.create();
+        double referenceError = 0;
+        double error = 0;
+
+        // Act
+        for (double expected : STRINGS) {
+            float[] samples = guitarString(expected, FRAME, 7);
+            double referenceHz = reference.detect(samples, samples.length, SAMPLE_RATE);
+            double detectedHz = detector.detect(samples, samples.length, SAMPLE_RATE);
+            referenceError += referenceHz > 0 ? Math.abs(centsBetween(referenceHz, expected)) : 1200;
+            error += Math.abs(centsBetween(detectedHz, expected));
+        }
+
+        // Assert
+        assertTrue(error <= referenceError, algorithm + ": " + error + " cents frente a " + referenceError);
+    }
+
+    @ParameterizedTest
+    @EnumSource(PitchAlgorithm.class)
+    void testSilenceAndShortFrames_ReturnZero(PitchAlgorithm algorithm) {
+        // Arrange
+        PitchDetector detector = algorithm.create();
+        float[] silence = new float[FRAME];
+        float[] tone = guitarString(110, FRAME, 1);
+
+        // Act & Assert
+        assertEquals(0, detector.detect(silence, silence.length, SAMPLE_RATE));
+        assertEquals(0, detector.detect(tone, 512, SAMPLE_RATE));
+    }
+
+    @Test
+    void testBuffersReusedAcrossFrameSizes() {
+        // Arrange
+        PitchDetector detector = PitchAlgorithm.MPM.create();
+        float[] large = guitarString(196, 4096, 3);
+        float[] small = guitarString(329.63, FRAME, 3);
+
+        // Act
+        double first = detector.detect(large, large.length, SAMPLE_RATE);
+        double second = detector.detect(small, small.length, SAMPLE_RATE);
+
+        // Assert
+        assertEquals(0, centsBetween(first, 196), 2.0);
+        assertEquals(0, centsBetween(second, 329.63), 2.0);
+    }
+
+    @Test
+    void testParseAlgorithm() {
+        // Act & Assert
+        assertEquals(PitchAlgorithm.YIN, PitchAlgorithm.parse("yin"));
+        assertEquals(PitchAlgorithm.ACF, PitchAlgorithm.parse(" ACF "));
+        assertEquals(PitchAlgorithm.DEFAULT, PitchAlgorithm.parse("fourier"));
+        assertEquals(PitchAlgorithm.DEFAULT, PitchAlgorithm.parse(null));
+    }
+}
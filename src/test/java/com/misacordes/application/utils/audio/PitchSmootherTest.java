@@ -0,0 +1,55 @@
+package com.misacordes.application.utils.audio;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PitchSmootherTest {
+
+    @Test
+    void testMedianDropsSingleOctaveError() {
+        // Arrange
+        PitchSmoother smoother = new PitchSmoother();
+        smoother.smooth(110.0);
+        smoother.smooth(110.2);
+
+        // Act
+        double result = smoother.smooth(110.1);
+        double afterGlitch = smoother.smooth(112.0);
+
+        // Assert
+        assertEquals(110.1, result, 1e-9);
+        assertEquals(110.2, afterGlitch, 1e-9);
+    }
+
+    @Test
+    void testNewNoteResetsHistory() {
+        // Arrange
+        PitchSmoother smoother = new PitchSmoother();
+        smoother.smooth(110.0);
+        smoother.smooth(110.0);
+
+        // Act
+        double result = smoother.smooth(146.83);
+
+        // Assert
+        assertEquals(146.83, result, 1e-9);
+    }
+
+    @Test
+    void testSilenceNeedsTwoWindows() {
+        // Arrange
+        PitchSmoother smoother = new PitchSmoother();
+        smoother.smooth(196.0);
+
+        // Act
+        double firstGap = smoother.smooth(0);
+        double secondGap = smoother.smooth(0);
+        double resumed = smoother.smooth(220.0);
+
+        // Assert
+        assertEquals(196.0, firstGap, 1e-9);
+        assertEquals(0, secondGap);
+        assertEquals(220.0, resumed, 1e-9);
+    }
+}